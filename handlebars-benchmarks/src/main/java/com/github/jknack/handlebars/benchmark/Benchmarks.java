@@ -0,0 +1,44 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run benchmarks with the GC profiler on, so results include allocation rates (<code>
+ * gc.alloc.rate.norm</code> is bytes allocated per operation). Accepts the standard JMH command
+ * line options:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar Render -rf json -rff render.json
+ * </pre>
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public final class Benchmarks {
+
+  /** Not used. */
+  private Benchmarks() {}
+
+  /**
+   * Run benchmarks.
+   *
+   * @param args JMH command line options.
+   * @throws Exception If something goes wrong.
+   */
+  public static void main(final String[] args) throws Exception {
+    new Runner(
+            new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+}
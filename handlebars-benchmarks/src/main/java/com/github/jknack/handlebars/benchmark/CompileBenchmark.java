@@ -0,0 +1,89 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.StringTemplateSource;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * Compile (lexer, parser and template builder) throughput by template size. No template cache is
+ * involved.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompileBenchmark {
+
+  /** A template section with text, variables, blocks and comments. */
+  private static final String SECTION =
+      "<section id=\"{{id}}\">\n"
+          + "  {{! a comment }}\n"
+          + "  <h2>{{title}}</h2>\n"
+          + "  {{#if items}}\n"
+          + "  <ul>\n"
+          + "    {{#each items}}<li class=\"{{@odd}}\">{{name}}: {{{price}}}</li>{{/each}}\n"
+          + "  </ul>\n"
+          + "  {{else}}\n"
+          + "  <p>{{lookup labels 'empty'}}</p>\n"
+          + "  {{/if}}\n"
+          + "  {{#with user}}{{firstName}} {{lastName}}{{/with}}\n"
+          + "</section>\n";
+
+  /** Number of sections: small, medium or large. */
+  @Param({"1", "10", "100"})
+  private int sections;
+
+  /** Template to compile. */
+  private TemplateSource source;
+
+  /** Handlebars object without template cache. */
+  private Handlebars handlebars;
+
+  /** Creates the template. */
+  @Setup
+  public void setup() {
+    StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < sections; i++) {
+      buffer.append(SECTION);
+    }
+    source = new StringTemplateSource("compile.hbs", buffer.toString());
+    handlebars = new Handlebars();
+  }
+
+  /**
+   * Compile a template.
+   *
+   * @return The template.
+   * @throws IOException If something goes wrong.
+   */
+  @Benchmark
+  public Template compile() throws IOException {
+    return handlebars.compile(source);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jknack.handlebars.EscapingStrategy;
+
+/**
+ * Cost of each {@link EscapingStrategy} for text without special characters (the common case)
+ * and for text full of them. Escaping to a new {@link CharSequence} is measured next to
+ * streaming escaping into a reused buffer, which is what templates do while rendering.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EscapingStrategyBenchmark {
+
+  /** The escaping strategy. */
+  @Param({"HTML_ENTITY", "HBS3", "CSV", "XML", "JS", "NOOP"})
+  private String strategy;
+
+  /** The input: plain text or markup. */
+  @Param({"plain", "markup"})
+  private String input;
+
+  /** The escaping strategy. */
+  private EscapingStrategy escapingStrategy;
+
+  /** The text to escape. */
+  private String text;
+
+  /** The output buffer of the streaming benchmark, reset on every call. */
+  private StringBuilder out;
+
+  /** Creates the escaping strategy and the text. */
+  @Setup
+  public void setup() {
+    switch (strategy) {
+      case "HTML_ENTITY":
+        escapingStrategy = EscapingStrategy.HTML_ENTITY;
+        break;
+      case "HBS3":
+        escapingStrategy = EscapingStrategy.HBS3;
+        break;
+      case "CSV":
+        escapingStrategy = EscapingStrategy.CSV;
+        break;
+      case "XML":
+        escapingStrategy = EscapingStrategy.XML;
+        break;
+      case "JS":
+        escapingStrategy = EscapingStrategy.JS;
+        break;
+      case "NOOP":
+        escapingStrategy = EscapingStrategy.NOOP;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown strategy: " + strategy);
+    }
+    String line =
+        "plain".equals(input)
+            ? "The quick brown fox jumps over the lazy dog. "
+            : "<a href=\"/q?a=1&b='2'\">`fox` & \"dog\"</a> ";
+    StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < 10; i++) {
+      buffer.append(line);
+    }
+    text = buffer.toString();
+    out = new StringBuilder(text.length() * 2);
+  }
+
+  /**
+   * Escape the text.
+   *
+   * @return The escaped text.
+   */
+  @Benchmark
+  public CharSequence escape() {
+    return escapingStrategy.escape(text);
+  }
+
+  /**
+   * Escape the text into a reused buffer.
+   *
+   * @return The buffer.
+   * @throws IOException If the text can't be written.
+   */
+  @Benchmark
+  public Appendable escapeTo() throws IOException {
+    out.setLength(0);
+    escapingStrategy.escape(text, out);
+    return out;
+  }
+}
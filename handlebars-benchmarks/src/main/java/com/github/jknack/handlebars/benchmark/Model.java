@@ -0,0 +1,132 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark data: maps for the page and JavaBeans for the items, so renders exercise both the map
+ * and the JavaBean value resolvers.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public final class Model {
+
+  /** An item, exposed as a JavaBean. */
+  public static class Item {
+
+    /** Item id. */
+    private final int id;
+
+    /** Item name. */
+    private final String name;
+
+    /** Item price. */
+    private final double price;
+
+    /** True, if the item is available. */
+    private final boolean available;
+
+    /** Item tags. */
+    private final List<String> tags;
+
+    /**
+     * Creates a new item.
+     *
+     * @param id Item id.
+     */
+    public Item(final int id) {
+      this.id = id;
+      this.name = "Item <" + id + ">";
+      this.price = id * 1.25;
+      this.available = id % 3 != 0;
+      this.tags = Arrays.asList("tag" + id % 5, "tag" + id % 7);
+    }
+
+    /**
+     * @return Item id.
+     */
+    public int getId() {
+      return id;
+    }
+
+    /**
+     * @return Item name.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return Item price.
+     */
+    public double getPrice() {
+      return price;
+    }
+
+    /**
+     * @return True, if the item is available.
+     */
+    public boolean isAvailable() {
+      return available;
+    }
+
+    /**
+     * @return Item tags.
+     */
+    public List<String> getTags() {
+      return tags;
+    }
+  }
+
+  /** Not used. */
+  private Model() {}
+
+  /**
+   * Creates the page model.
+   *
+   * @param items Number of items.
+   * @return The page model.
+   */
+  public static Map<String, Object> page(final int items) {
+    Map<String, Object> address = new HashMap<>();
+    address.put("street", "742 Evergreen Terrace");
+    address.put("city", "Springfield");
+    address.put("zip", "49007");
+    address.put("country", "US");
+
+    Map<String, Object> user = new HashMap<>();
+    user.put("firstName", "Edgar");
+    user.put("lastName", "Espina");
+    user.put("email", "edgar@example.com");
+    user.put("company", "Handlebars & Co.");
+    user.put("phone", "+1 555 0100");
+    user.put("address", address);
+    user.put("balance", 1234.56);
+    user.put("age", 42);
+    user.put("bio", "<p>Writes <b>templates</b>.</p>");
+    user.put("motto", "Logic-less <templates>");
+    user.put("registered", "2012-01-01");
+    user.put("tags", Arrays.asList("java", "handlebars", "mustache"));
+
+    List<Item> list = new ArrayList<>();
+    for (int i = 0; i < items; i++) {
+      list.add(new Item(i));
+    }
+
+    Map<String, Object> page = new HashMap<>();
+    page.put("title", "Benchmark");
+    page.put("footer", "Copyright (c) 2012 Edgar Espina");
+    page.put("user", user);
+    page.put("items", list);
+    return page;
+  }
+}
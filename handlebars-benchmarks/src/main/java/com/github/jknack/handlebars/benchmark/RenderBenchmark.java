@@ -0,0 +1,98 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.LinkingParserFactory;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+
+/**
+ * Render throughput of precompiled templates:
+ *
+ * <ul>
+ *   <li>variables: many variables and nested paths, no blocks.
+ *   <li>each: a table with nested <code>each</code> and <code>if</code> blocks.
+ *   <li>partials: a layout with a partial block and partials per item.
+ * </ul>
+ *
+ * Each template is compiled with the default parser (<code>hbs</code>) and with the {@link
+ * LinkingParserFactory} (<code>linking</code>).
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+  /** Template name, under <code>/templates</code>. */
+  @Param({"variables", "each", "partials"})
+  private String template;
+
+  /** Parser factory: <code>hbs</code> or <code>linking</code>. */
+  @Param({"hbs", "linking"})
+  private String parser;
+
+  /** Number of items. */
+  @Param({"50"})
+  private int items;
+
+  /** The template to render. */
+  private Template compiled;
+
+  /** The model. */
+  private Map<String, Object> model;
+
+  /**
+   * Compile the template.
+   *
+   * @throws IOException If the template can't be compiled.
+   */
+  @Setup
+  public void setup() throws IOException {
+    Handlebars handlebars =
+        new Handlebars(new ClassPathTemplateLoader("/templates"))
+            .with(new ConcurrentMapTemplateCache());
+    if ("linking".equals(parser)) {
+      handlebars.with(new LinkingParserFactory());
+    }
+    compiled = handlebars.compile(template);
+    model = Model.page(items);
+  }
+
+  /**
+   * Render a template.
+   *
+   * @return The output.
+   * @throws IOException If something goes wrong.
+   */
+  @Benchmark
+  public String render() throws IOException {
+    return compiled.apply(model);
+  }
+}
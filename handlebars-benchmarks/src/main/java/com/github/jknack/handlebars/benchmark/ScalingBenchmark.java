@@ -0,0 +1,110 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+
+/**
+ * Multi-threaded scaling: 1, 4 and 16 threads rendering the same template and sharing the same
+ * {@link Handlebars} object, template cache and model. Compare the per-thread score of each run
+ * to spot contention.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScalingBenchmark {
+
+  /** Template name, under <code>/templates</code>. */
+  @Param({"each", "partials"})
+  private String template;
+
+  /** Shared handlebars object. */
+  private Handlebars handlebars;
+
+  /** The model. */
+  private Map<String, Object> model;
+
+  /** Creates the handlebars object. */
+  @Setup
+  public void setup() {
+    handlebars =
+        new Handlebars(new ClassPathTemplateLoader("/templates"))
+            .with(new ConcurrentMapTemplateCache());
+    model = Model.page(50);
+  }
+
+  /**
+   * Render with 1 thread.
+   *
+   * @return The output.
+   * @throws IOException If something goes wrong.
+   */
+  @Benchmark
+  @Threads(1)
+  public String threads1() throws IOException {
+    return render();
+  }
+
+  /**
+   * Render with 4 threads.
+   *
+   * @return The output.
+   * @throws IOException If something goes wrong.
+   */
+  @Benchmark
+  @Threads(4)
+  public String threads4() throws IOException {
+    return render();
+  }
+
+  /**
+   * Render with 16 threads.
+   *
+   * @return The output.
+   * @throws IOException If something goes wrong.
+   */
+  @Benchmark
+  @Threads(16)
+  public String threads16() throws IOException {
+    return render();
+  }
+
+  /**
+   * Get the template from the cache and render it.
+   *
+   * @return The output.
+   * @throws IOException If something goes wrong.
+   */
+  private String render() throws IOException {
+    return handlebars.compile(template).apply(model);
+  }
+}
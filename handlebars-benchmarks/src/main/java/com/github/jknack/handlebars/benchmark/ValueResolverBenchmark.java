@@ -0,0 +1,177 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.context.FieldValueResolver;
+import com.github.jknack.handlebars.context.FieldValueResolver.FieldWrapper;
+import com.github.jknack.handlebars.context.JavaBeanValueResolver;
+import com.github.jknack.handlebars.context.MapValueResolver;
+import com.github.jknack.handlebars.context.MethodValueResolver;
+import com.github.jknack.handlebars.context.RecordValueResolver;
+import com.github.jknack.handlebars.jackson.JsonNodeValueResolver;
+
+/**
+ * Cost of resolving a property with each {@link ValueResolver}, after the accessor of the
+ * property has been cached by the resolver. The <code>reflectiveMethod</code> and
+ * <code>reflectiveField</code> resolvers override <code>invokeMember</code>, which makes them
+ * call {@link Method#invoke(Object, Object...)} and {@link Field#get(Object)} instead of a method
+ * handle: they are the reflective baseline of the <code>method</code> and <code>field</code>
+ * resolvers.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueResolverBenchmark {
+
+  /** A JavaBean. */
+  public static class Bean {
+
+    /**
+     * @return A name.
+     */
+    public String getName() {
+      return "edgar";
+    }
+  }
+
+  /** An object with a public field. */
+  public static class Fields {
+
+    /** A name. */
+    public String name = "edgar";
+  }
+
+  /** An object with a method. */
+  public static class Methods {
+
+    /**
+     * @return A name.
+     */
+    public String name() {
+      return "edgar";
+    }
+  }
+
+  /**
+   * A record.
+   *
+   * @param name A name.
+   */
+  public record Person(String name) {}
+
+  /** The value resolver. */
+  @Param({
+    "map",
+    "javaBean",
+    "field",
+    "method",
+    "record",
+    "jsonNode",
+    "reflectiveMethod",
+    "reflectiveField"
+  })
+  private String resolver;
+
+  /** The value resolver. */
+  private ValueResolver valueResolver;
+
+  /** The context object. */
+  private Object context;
+
+  /** Creates the resolver and its context. */
+  @Setup
+  public void setup() {
+    switch (resolver) {
+      case "map":
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "edgar");
+        valueResolver = MapValueResolver.INSTANCE;
+        context = map;
+        break;
+      case "javaBean":
+        valueResolver = JavaBeanValueResolver.INSTANCE;
+        context = new Bean();
+        break;
+      case "field":
+        valueResolver = FieldValueResolver.INSTANCE;
+        context = new Fields();
+        break;
+      case "method":
+        valueResolver = MethodValueResolver.INSTANCE;
+        context = new Methods();
+        break;
+      case "record":
+        valueResolver = RecordValueResolver.INSTANCE;
+        context = new Person("edgar");
+        break;
+      case "jsonNode":
+        valueResolver = JsonNodeValueResolver.INSTANCE;
+        context = new ObjectMapper().createObjectNode().put("name", "edgar");
+        break;
+      case "reflectiveMethod":
+        valueResolver =
+            new MethodValueResolver() {
+              @Override
+              protected Object invokeMember(final Method member, final Object context) {
+                return super.invokeMember(member, context);
+              }
+            };
+        context = new Methods();
+        break;
+      case "reflectiveField":
+        valueResolver =
+            new FieldValueResolver() {
+              @Override
+              protected Object invokeMember(final FieldWrapper field, final Object context) {
+                return super.invokeMember(field, context);
+              }
+            };
+        context = new Fields();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown resolver: " + resolver);
+    }
+    if (!"edgar".equals(String.valueOf(valueResolver.resolve(context, "name")))) {
+      throw new IllegalStateException("Unable to resolve name with: " + resolver);
+    }
+  }
+
+  /**
+   * Resolve a property.
+   *
+   * @return The property value.
+   */
+  @Benchmark
+  public Object resolve() {
+    return valueResolver.resolve(context, "name");
+  }
+}
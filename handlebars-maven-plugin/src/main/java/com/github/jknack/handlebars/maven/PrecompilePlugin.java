@@ -13,15 +13,31 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import org.apache.maven.plugin.MojoFailureException;
@@ -54,6 +70,12 @@ import com.google.javascript.jscomp.SourceFile;
 /**
  * Compile Handlebars templates to JavaScript using Rhino.
  *
+ * <p>Precompiled templates are saved in a cache directory along with a manifest of template
+ * content hashes, so next builds only precompile templates that changed. Changed templates are
+ * precompiled in parallel, on the JavaScript engine pool of the handlebars object (see {@link
+ * Handlebars#scriptEngines(int)}). Engines are created up front, before any template is
+ * precompiled (see {@link Handlebars#prestartScriptEngines()}).
+ *
  * @author edgar.espina
  * @since 1.1.0
  */
@@ -93,6 +115,20 @@ public class PrecompilePlugin extends HandlebarsPlugin {
   /** The encoding char set. Default is: UTF-8. */
   @Parameter private String encoding = "UTF-8";
 
+  /** True, if unchanged templates must be skipped. Default is: true. */
+  @Parameter(defaultValue = "true")
+  private boolean incremental = true;
+
+  /** Directory for precompiled templates and the content hash manifest. */
+  @Parameter(defaultValue = "${project.build.directory}/handlebars-precompile")
+  private String cacheDir;
+
+  /** Number of threads (and JavaScript engines) used to precompile. Default is: processors. */
+  @Parameter private int threads;
+
+  /** The manifest file name. */
+  private static final String MANIFEST = "manifest.properties";
+
   @Override
   protected void doExecute() throws Exception {
     notNull(prefix, "The prefix parameter is required.");
@@ -163,6 +199,7 @@ public class PrecompilePlugin extends HandlebarsPlugin {
         writer.append("(function () {\n");
       }
       Context nullContext = Context.newContext(null);
+      List<String> templateNames = new ArrayList<>();
       for (File file : files) {
         String templateName = file.getPath().replace(realPrefix, "").replace(suffix, "");
         if (templateName.startsWith(File.separator)) {
@@ -172,19 +209,11 @@ public class PrecompilePlugin extends HandlebarsPlugin {
         getLog().debug("compiling: " + templateName);
 
         handlebars.compile(templateName).apply(nullContext);
-
-        Template template = handlebars.compileInline("{{precompile \"" + templateName + "\"}}");
-        Map<String, Object> hash = new HashMap<String, Object>();
-        hash.put("wrapper", amd ? "amd" : "none");
-        Options opts =
-            new Options.Builder(
-                    handlebars, PrecompileHelper.NAME, TagType.VAR, nullContext, template)
-                .setHash(hash)
-                .build();
-
-        writer
-            .append(PrecompileHelper.INSTANCE.apply(templateName, opts).toString())
-            .append("\n\n");
+        templateNames.add(templateName);
+      }
+      Map<String, String> precompiled = precompile(handlebars, templateNames);
+      for (String templateName : templateNames) {
+        writer.append(precompiled.get(templateName)).append("\n\n");
       }
       // extras
       for (CharSequence extra : extras) {
@@ -213,6 +242,150 @@ public class PrecompilePlugin extends HandlebarsPlugin {
     }
   }
 
+  /**
+   * Precompile templates to JavaScript. Templates found in the cache directory are reused, the
+   * others are precompiled in parallel and saved in the cache directory.
+   *
+   * @param handlebars The handlebars object.
+   * @param templateNames The templates to precompile.
+   * @return Precompiled templates by name.
+   * @throws Exception If something goes wrong.
+   */
+  private Map<String, String> precompile(
+      final Handlebars handlebars, final List<String> templateNames) throws Exception {
+    Charset charset = Charset.forName(encoding);
+    Path cache = incremental && cacheDir != null ? Paths.get(cacheDir) : null;
+    Properties manifest = new Properties();
+    if (cache != null && Files.exists(cache.resolve(MANIFEST))) {
+      try (Reader reader = Files.newBufferedReader(cache.resolve(MANIFEST), charset)) {
+        manifest.load(reader);
+      }
+    }
+
+    Map<String, String> precompiled = new ConcurrentHashMap<>();
+    Properties hashes = new Properties();
+    List<String> changed = new ArrayList<>();
+    for (String templateName : templateNames) {
+      String hash = hash(handlebars, templateName);
+      hashes.setProperty(templateName, hash);
+      Path fragment = cache == null ? null : cache.resolve(hash + ".js");
+      if (fragment != null
+          && hash.equals(manifest.getProperty(templateName))
+          && Files.exists(fragment)) {
+        getLog().debug("unchanged: " + templateName);
+        precompiled.put(templateName, new String(Files.readAllBytes(fragment), charset));
+      } else {
+        changed.add(templateName);
+      }
+    }
+    getLog().info("  " + changed.size() + " of " + templateNames.size() + " template(s) changed");
+
+    if (changed.size() > 0) {
+      int threads =
+          Math.min(
+              this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors(),
+              changed.size());
+      // up to one JavaScript engine per thread
+      handlebars.scriptEngines(threads);
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        // create the engines and load handlebars.js in parallel, before precompiling
+        List<Future<?>> warmup = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+          warmup.add(executor.submit(handlebars::prestartScriptEngines));
+        }
+        await(warmup);
+        List<Future<?>> futures = new ArrayList<>();
+        for (String templateName : changed) {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    getLog().debug("precompiling: " + templateName);
+                    precompiled.put(templateName, precompile(handlebars, templateName));
+                    return null;
+                  }));
+        }
+        await(futures);
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+
+    if (cache != null) {
+      Files.createDirectories(cache);
+      for (String templateName : changed) {
+        Path fragment = cache.resolve(hashes.getProperty(templateName) + ".js");
+        Files.write(fragment, precompiled.get(templateName).getBytes(charset));
+      }
+      Set<Object> live = new HashSet<>(hashes.values());
+      for (Object hash : manifest.values()) {
+        if (!live.contains(hash)) {
+          Files.deleteIfExists(cache.resolve(hash + ".js"));
+        }
+      }
+      try (Writer writer = Files.newBufferedWriter(cache.resolve(MANIFEST), charset)) {
+        hashes.store(writer, null);
+      }
+    }
+    return precompiled;
+  }
+
+  /**
+   * Wait for all the tasks to complete.
+   *
+   * @param futures The tasks.
+   * @throws Exception The failure of the first task that failed.
+   */
+  private static void await(final List<Future<?>> futures) throws Exception {
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        throw cause instanceof Exception ? (Exception) cause : ex;
+      }
+    }
+  }
+
+  /**
+   * Precompile a template to JavaScript.
+   *
+   * @param handlebars The handlebars object.
+   * @param templateName The template's name.
+   * @return JavaScript.
+   * @throws IOException If the template can't be read.
+   */
+  private String precompile(final Handlebars handlebars, final String templateName)
+      throws IOException {
+    Template template = handlebars.compileInline("{{precompile \"" + templateName + "\"}}");
+    Map<String, Object> hash = new HashMap<String, Object>();
+    hash.put("wrapper", amd ? "amd" : "none");
+    Options opts =
+        new Options.Builder(
+                handlebars, PrecompileHelper.NAME, TagType.VAR, Context.newContext(null), template)
+            .setHash(hash)
+            .build();
+    return PrecompileHelper.INSTANCE.apply(templateName, opts).toString();
+  }
+
+  /**
+   * Compute the content hash of a template. The hash includes the options that change the
+   * precompiled output.
+   *
+   * @param handlebars The handlebars object.
+   * @param templateName The template's name.
+   * @return A hex encoded SHA-256 hash.
+   * @throws Exception If the template can't be read.
+   */
+  private String hash(final Handlebars handlebars, final String templateName) throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    String options = handlebarsJsFile + "\0" + amd + "\0" + suffix + "\0" + templateName + "\0";
+    digest.update(options.getBytes(StandardCharsets.UTF_8));
+    String content = handlebars.getLoader().sourceAt(templateName).content(handlebars.getCharset());
+    digest.update(content.getBytes(StandardCharsets.UTF_8));
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
   /**
    * Silent any missing helper.
    *
@@ -338,6 +511,27 @@ public class PrecompilePlugin extends HandlebarsPlugin {
     }
   }
 
+  /**
+   * @param incremental True, if unchanged templates must be skipped. Default is: true.
+   */
+  public void setIncremental(final boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  /**
+   * @param cacheDir Directory for precompiled templates and the content hash manifest.
+   */
+  public void setCacheDir(final String cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * @param threads Number of threads (and JavaScript engines) used to precompile.
+   */
+  public void setThreads(final int threads) {
+    this.threads = threads;
+  }
+
   /**
    * @param runtime Location of the handlebars.js runtime.
    */
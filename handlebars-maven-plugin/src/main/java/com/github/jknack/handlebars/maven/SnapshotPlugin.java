@@ -0,0 +1,185 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.maven;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.HelperRegistry;
+import com.github.jknack.handlebars.LinkingParserFactory;
+import com.github.jknack.handlebars.ParserFactory;
+import com.github.jknack.handlebars.PrecompileReport;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.cache.SnapshotParserFactory;
+import com.github.jknack.handlebars.internal.HbsParserFactory;
+import com.github.jknack.handlebars.io.FileTemplateLoader;
+
+/**
+ * Parse Handlebars templates at build time and save them as binary snapshots. The build fails if
+ * a template has syntax errors. At runtime, snapshots are loaded from the classpath without
+ * running the template parser:
+ *
+ * <pre>
+ * Handlebars handlebars = new Handlebars()
+ *     .with(SnapshotParserFactory.classpath("/META-INF/handlebars/snapshots"));
+ * </pre>
+ *
+ * Snapshots are keyed by template content, so templates without a snapshot (or modified after the
+ * build) are parsed as usual.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@Mojo(name = "snapshot", defaultPhase = LifecyclePhase.PROCESS_RESOURCES, threadSafe = true)
+public class SnapshotPlugin extends HandlebarsPlugin {
+
+  /** A prefix location, default is ${basedir}/src/main/resources. */
+  @Parameter(defaultValue = "${basedir}/src/main/resources")
+  private String prefix;
+
+  /** The file extension, default is: .hbs. */
+  @Parameter(defaultValue = ".hbs")
+  private String suffix = ".hbs";
+
+  /** The templates to parse. Default is: all. */
+  @Parameter private List<String> templates;
+
+  /** The output directory. */
+  @Parameter(defaultValue = "${project.build.outputDirectory}/META-INF/handlebars/snapshots")
+  private String output;
+
+  /**
+   * True, if templates must be parsed with the <code>LinkingParserFactory</code>. Must match
+   * the parser factory used at runtime. Default is: false.
+   */
+  @Parameter private boolean link;
+
+  /** True, if templates must be parsed with pretty print on. Default is: false. */
+  @Parameter private boolean prettyPrint;
+
+  /** The encoding char set. Default is: UTF-8. */
+  @Parameter private String encoding = "UTF-8";
+
+  @Override
+  protected void doExecute() throws Exception {
+    notNull(prefix, "The prefix parameter is required.");
+    notNull(output, "The output parameter is required.");
+
+    File basedir = new File(prefix);
+    isTrue(basedir.isDirectory(), "Directory not found: %s", basedir);
+    Path output = Paths.get(this.output);
+
+    ParserFactory parserFactory = link ? new LinkingParserFactory() : new HbsParserFactory();
+    SnapshotParserFactory snapshots = new SnapshotParserFactory(parserFactory, output);
+
+    FileTemplateLoader loader = new FileTemplateLoader(basedir, suffix);
+    Handlebars handlebars =
+        new Handlebars(loader)
+            .with(snapshots)
+            .with(new ConcurrentMapTemplateCache())
+            .prettyPrint(prettyPrint);
+    handlebars.setCharset(Charset.forName(encoding));
+    /** Silent any missing helper. */
+    handlebars.registerHelper(HelperRegistry.HELPER_MISSING, (context, options) -> null);
+
+    getLog().info("Parsing templates...");
+    getLog().debug("Options:");
+    getLog().debug("  output: " + output);
+    getLog().debug("  prefix: " + basedir);
+    getLog().debug("  suffix: " + suffix);
+    getLog().debug("  link: " + link);
+
+    PrecompileReport report =
+        handlebars.precompileAll(
+            loader, location -> templates == null || templates.contains(location));
+    getLog().debug(report.toString());
+    if (report.hasFailures()) {
+      throw new MojoFailureException(report.toString());
+    }
+
+    for (String location : report.templates()) {
+      String content = loader.sourceAt(location).content(handlebars.getCharset());
+      String snapshot =
+          snapshots.snapshotName(
+              handlebars, handlebars.getStartDelimiter(), handlebars.getEndDelimiter(), content);
+      if (!Files.exists(output.resolve(snapshot))) {
+        throw new MojoFailureException("Unable to save snapshot of: " + location);
+      }
+      getLog().debug("  " + location + " -> " + snapshot);
+    }
+    if (report.templates().size() > 0) {
+      getLog().info("  " + report.templates().size() + " snapshots were saved in: " + output);
+    } else {
+      getLog().warn("  no templates were found");
+    }
+  }
+
+  /**
+   * @param prefix A prefix location, default is ${basedir}/src/main/resources.
+   */
+  public void setPrefix(final String prefix) {
+    this.prefix = prefix;
+  }
+
+  /**
+   * @param suffix The file extension, default is: .hbs.
+   */
+  public void setSuffix(final String suffix) {
+    this.suffix = suffix;
+  }
+
+  /**
+   * @param output The output directory.
+   */
+  public void setOutput(final String output) {
+    this.output = output;
+  }
+
+  /**
+   * @param link True, if templates must be parsed with the <code>LinkingParserFactory</code>.
+   */
+  public void setLink(final boolean link) {
+    this.link = link;
+  }
+
+  /**
+   * @param prettyPrint True, if templates must be parsed with pretty print on.
+   */
+  public void setPrettyPrint(final boolean prettyPrint) {
+    this.prettyPrint = prettyPrint;
+  }
+
+  /**
+   * @param encoding The encoding char set. Default is: UTF-8.
+   */
+  public void setEncoding(final String encoding) {
+    this.encoding = encoding;
+  }
+
+  /**
+   * @param template the template filename
+   */
+  public void addTemplate(final String template) {
+    if (templates == null) {
+      this.templates = new ArrayList<String>();
+    }
+    this.templates.add(template);
+  }
+}
@@ -11,6 +11,14 @@ import static org.mockito.Mockito.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -19,6 +27,7 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.FileUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.google.common.collect.Lists;
 
@@ -219,6 +228,87 @@ public class PrecompilePluginTest {
     equalsToIgnoreBlanks("src/test/resources/helpers.expected", "target/helpers.js");
   }
 
+  @Test
+  public void parallelOutputMustBeEqualsToSequentialOutput() throws Exception {
+    PrecompilePlugin sequential = new PrecompilePlugin();
+    sequential.setPrefix("src/test/resources/templates");
+    sequential.setSuffix(".hbs");
+    sequential.setOutput("target/sequential.js");
+    sequential.setThreads(1);
+    sequential.setProject(newProject());
+    sequential.setHandlebarsJsFile("/handlebars-v4.7.9.js");
+
+    sequential.execute();
+
+    PrecompilePlugin parallel = new PrecompilePlugin();
+    parallel.setPrefix("src/test/resources/templates");
+    parallel.setSuffix(".hbs");
+    parallel.setOutput("target/parallel.js");
+    parallel.setThreads(4);
+    parallel.setProject(newProject());
+    parallel.setHandlebarsJsFile("/handlebars-v4.7.9.js");
+
+    parallel.execute();
+
+    assertEquals(
+        FileUtils.fileRead("target/sequential.js"), FileUtils.fileRead("target/parallel.js"));
+  }
+
+  @Test
+  public void incrementalMustSkipUnchangedTemplates(@TempDir final Path dir) throws Exception {
+    Path templates = Files.createDirectories(dir.resolve("templates"));
+    for (String name : new String[] {"a", "b", "c"}) {
+      Files.copy(
+          Paths.get("src/test/resources/templates", name + ".hbs"),
+          templates.resolve(name + ".hbs"));
+    }
+    Path cache = dir.resolve("cache");
+
+    PrecompilePlugin plugin = new PrecompilePlugin();
+    plugin.setPrefix(templates.toString());
+    plugin.setSuffix(".hbs");
+    plugin.setOutput(dir.resolve("full.js").toString());
+    plugin.setCacheDir(cache.toString());
+    plugin.setProject(newProject());
+    plugin.setHandlebarsJsFile("/handlebars-v4.7.9.js");
+
+    plugin.execute();
+
+    Map<Path, FileTime> fragments = fragments(cache);
+    assertEquals(3, fragments.size());
+
+    plugin.setOutput(dir.resolve("incremental.js").toString());
+    plugin.execute();
+
+    // nothing changed: same output, fragments untouched
+    assertEquals(
+        FileUtils.fileRead(dir.resolve("full.js").toFile()),
+        FileUtils.fileRead(dir.resolve("incremental.js").toFile()));
+    assertEquals(fragments, fragments(cache));
+
+    Files.write(templates.resolve("a.hbs"), "changed {{a}}".getBytes(StandardCharsets.UTF_8));
+    plugin.setOutput(dir.resolve("changed.js").toString());
+    plugin.execute();
+
+    assertTrue(FileUtils.fileRead(dir.resolve("changed.js").toFile()).contains("changed"));
+    Map<Path, FileTime> changed = fragments(cache);
+    assertEquals(3, changed.size());
+    fragments.keySet().retainAll(changed.keySet());
+    assertEquals(2, fragments.size());
+  }
+
+  private Map<Path, FileTime> fragments(final Path cache) throws IOException {
+    Map<Path, FileTime> fragments = new HashMap<>();
+    try (Stream<Path> files = Files.list(cache)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        if (file.toString().endsWith(".js")) {
+          fragments.put(file, Files.getLastModifiedTime(file));
+        }
+      }
+    }
+    return fragments;
+  }
+
   private MavenProject newProject(final String... classpath)
       throws DependencyResolutionRequiredException {
     MavenProject project = spy(new MavenProject());
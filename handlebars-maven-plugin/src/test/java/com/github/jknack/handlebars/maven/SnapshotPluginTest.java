@@ -0,0 +1,88 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.maven;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.cache.SnapshotParserFactory;
+import com.github.jknack.handlebars.io.FileTemplateLoader;
+
+public class SnapshotPluginTest {
+
+  @Test
+  public void snapshots(@TempDir final Path output) throws Exception {
+    SnapshotPlugin plugin = new SnapshotPlugin();
+    plugin.setPrefix("src/test/resources/templates");
+    plugin.setSuffix(".hbs");
+    plugin.setOutput(output.toString());
+
+    plugin.execute();
+
+    SnapshotParserFactory snapshots = new SnapshotParserFactory(output);
+    Handlebars handlebars =
+        new Handlebars(new FileTemplateLoader("src/test/resources/templates")).with(snapshots);
+    for (String name : new String[] {"a", "b", "c"}) {
+      String content = FileUtils.fileRead("src/test/resources/templates/" + name + ".hbs");
+      assertTrue(
+          Files.exists(output.resolve(snapshots.snapshotName(handlebars, "{{", "}}", content))),
+          name);
+    }
+    assertEquals(3, Files.list(output).count());
+  }
+
+  @Test
+  public void chooseSpecificFiles(@TempDir final Path output) throws Exception {
+    SnapshotPlugin plugin = new SnapshotPlugin();
+    plugin.setPrefix("src/test/resources/templates");
+    plugin.setOutput(output.toString());
+    plugin.addTemplate("a");
+
+    plugin.execute();
+
+    assertEquals(1, Files.list(output).count());
+  }
+
+  @Test
+  public void mustFailOnSyntaxError(@TempDir final Path output) throws Exception {
+    MojoFailureException x =
+        Assertions.assertThrows(
+            MojoFailureException.class,
+            () -> {
+              SnapshotPlugin plugin = new SnapshotPlugin();
+              plugin.setPrefix("src/test/resources/syntax-error");
+              plugin.setOutput(output.toString());
+
+              plugin.execute();
+            });
+    assertTrue(x.getMessage().contains("broken"), x.getMessage());
+  }
+
+  @Test
+  public void mustFailOnInvalidInputDirectory() throws Exception {
+    Assertions.assertThrows(
+        MojoExecutionException.class,
+        () -> {
+          SnapshotPlugin plugin = new SnapshotPlugin();
+          plugin.setPrefix("src/test/resources/missing");
+          plugin.setOutput(new File("target/snapshots").getPath());
+
+          plugin.execute();
+        });
+  }
+}
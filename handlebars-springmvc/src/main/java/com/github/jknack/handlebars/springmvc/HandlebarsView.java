@@ -8,6 +8,7 @@ package com.github.jknack.handlebars.springmvc;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Locale;
 import java.util.Map;
 
@@ -19,6 +20,7 @@ import org.springframework.web.servlet.view.AbstractTemplateView;
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.helper.FlushHelper;
 
 /**
  * A handlebars view implementation.
@@ -34,6 +36,18 @@ public class HandlebarsView extends AbstractTemplateView {
   /** The value's resolvers. */
   protected ValueResolver[] valueResolvers;
 
+  /**
+   * The template charset. When it matches the response encoding the template is written to the
+   * response output stream, otherwise to the response writer.
+   */
+  protected Charset charset;
+
+  /**
+   * True, if the response must be flushed at <code>{{flush}}</code> points (and after the prefix
+   * of layouts, when partial blocks aren't pre-evaluated). See {@link FlushHelper}.
+   */
+  protected boolean earlyFlush;
+
   /** Merge model into the view. {@inheritDoc} */
   @Override
   protected void renderMergedTemplateModel(
@@ -42,13 +56,38 @@ public class HandlebarsView extends AbstractTemplateView {
       final HttpServletResponse response)
       throws IOException {
     Context context = Context.newBuilder(model).resolver(valueResolvers).build();
+    if (earlyFlush) {
+      FlushHelper.enable(context);
+    }
     try {
-      template.apply(context, response.getWriter());
+      if (isByteOutput(response)) {
+        template.write(context, response.getOutputStream());
+      } else {
+        template.apply(context, response.getWriter());
+      }
     } finally {
       context.destroy();
     }
   }
 
+  /**
+   * True, if the response encoding is the same as the template charset.
+   *
+   * @param response The http response.
+   * @return True, if the response encoding is the same as the template charset.
+   */
+  private boolean isByteOutput(final HttpServletResponse response) {
+    String encoding = response.getCharacterEncoding();
+    if (charset == null || encoding == null) {
+      return false;
+    }
+    try {
+      return charset.equals(Charset.forName(encoding));
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
   /**
    * @return The underlying template for this view.
    */
@@ -80,6 +119,28 @@ public class HandlebarsView extends AbstractTemplateView {
         requireNonNull(valueResolvers, "At least one value-resolver must be present.");
   }
 
+  /**
+   * Set the template charset. If present and the response uses the same encoding, the template
+   * is written to the response output stream using pre-encoded static text.
+   *
+   * @param charset The template charset or <code>null</code> to always use the response writer.
+   */
+  public void setCharset(final Charset charset) {
+    this.charset = charset;
+  }
+
+  /**
+   * Turn on/off early flush. When on, the response is flushed at <code>{{flush}}</code> points, so
+   * browsers start fetching styles and scripts while the rest of the page is still being rendered.
+   * The response is flushed before the <code>{{&gt; @partial-block}}</code> of layouts too, when
+   * partial blocks aren't pre-evaluated, see {@link FlushHelper}. Default is: false.
+   *
+   * @param earlyFlush True, to turn on early flush.
+   */
+  public void setEarlyFlush(final boolean earlyFlush) {
+    this.earlyFlush = earlyFlush;
+  }
+
   @Override
   protected boolean isContextRequired() {
     return false;
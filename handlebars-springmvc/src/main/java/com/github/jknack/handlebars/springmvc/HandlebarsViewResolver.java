@@ -104,6 +104,12 @@ public class HandlebarsViewResolver extends AbstractTemplateViewResolver
   /** Charset. */
   private Charset charset = StandardCharsets.UTF_8;
 
+  /** True, if views flush the response at early flush points. */
+  private boolean earlyFlush;
+
+  /** True, if views may write to the response output stream. */
+  private boolean byteOutput;
+
   /**
    * Creates a new {@link HandlebarsViewResolver}.
    *
@@ -175,6 +181,8 @@ public class HandlebarsViewResolver extends AbstractTemplateViewResolver
     try {
       view.setTemplate(handlebars.compile(strippedUrl));
       view.setValueResolver(valueResolvers.toArray(new ValueResolver[0]));
+      view.setCharset(byteOutput ? handlebars.getCharset() : null);
+      view.setEarlyFlush(earlyFlush);
     } catch (IOException ex) {
       if (failOnMissingFile) {
         throw ex;
@@ -553,6 +561,31 @@ public class HandlebarsViewResolver extends AbstractTemplateViewResolver
     this.deletePartialAfterMerge = deletePartialAfterMerge;
   }
 
+  /**
+   * If true, views flush the response at <code>{{flush}}</code> points, so browsers start fetching
+   * styles and scripts while the rest of the page is still being rendered. Layout bodies are
+   * pre-evaluated by default (before the layout prefix is written), so views flush before the
+   * <code>{{&gt; @partial-block}}</code> of layouts only when {@link
+   * Handlebars#preEvaluatePartialBlocks(boolean)} is off. Default is: false.
+   *
+   * @param earlyFlush True, to flush the response at early flush points.
+   */
+  public void setEarlyFlush(final boolean earlyFlush) {
+    this.earlyFlush = earlyFlush;
+  }
+
+  /**
+   * If true, views write to the response output stream (using pre-encoded static text) when the
+   * response encoding is the template charset. Otherwise, views always write to the response
+   * writer. Turn it on only when nothing else (includes, error pages, filters or response wrappers)
+   * uses the response writer. Default is: false.
+   *
+   * @param byteOutput True, to write to the response output stream.
+   */
+  public void setByteOutput(final boolean byteOutput) {
+    this.byteOutput = byteOutput;
+  }
+
   @Override
   public void setCache(final boolean cache) {
     if (!cache) {
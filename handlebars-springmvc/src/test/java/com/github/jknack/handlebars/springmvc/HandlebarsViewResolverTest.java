@@ -5,11 +5,15 @@
  */
 package com.github.jknack.handlebars.springmvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -87,4 +91,16 @@ public class HandlebarsViewResolverTest {
     // This should execute successfully without throwing an IllegalArgumentException
     viewResolver.buildView("home/index");
   }
+
+  @Test
+  public void byteOutputIsOptIn() throws Exception {
+    when(handlebars.compile("home/index")).thenReturn(mock(Template.class));
+    when(handlebars.getCharset()).thenReturn(StandardCharsets.UTF_8);
+
+    assertNull(((HandlebarsView) viewResolver.buildView("home/index")).charset);
+
+    viewResolver.setByteOutput(true);
+    assertEquals(
+        StandardCharsets.UTF_8, ((HandlebarsView) viewResolver.buildView("home/index")).charset);
+  }
 }
@@ -12,8 +12,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -21,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.context.MapValueResolver;
 
@@ -56,4 +59,54 @@ public class HandlebarsViewTest {
     assertNotNull(captor.getValue());
     verify(response).getWriter();
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void renderMergedTemplateModelToOutputStream() throws Exception {
+    Map<String, Object> model = mock(Map.class);
+
+    ServletOutputStream output = mock(ServletOutputStream.class);
+
+    Template template = mock(Template.class);
+    ArgumentCaptor<Context> captor = ArgumentCaptor.forClass(Context.class);
+
+    HttpServletRequest request = mock(HttpServletRequest.class);
+
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getCharacterEncoding()).thenReturn("UTF-8");
+    when(response.getOutputStream()).thenReturn(output);
+
+    HandlebarsView view = new HandlebarsView();
+    view.setValueResolver(MapValueResolver.INSTANCE);
+    view.setTemplate(template);
+    view.setCharset(StandardCharsets.UTF_8);
+    view.renderMergedTemplateModel(model, request, response);
+
+    verify(template).write(captor.capture(), any(ServletOutputStream.class));
+    assertNotNull(captor.getValue());
+    verify(response).getOutputStream();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void renderMergedTemplateModelWithEarlyFlush() throws Exception {
+    Map<String, Object> model = mock(Map.class);
+
+    PrintWriter writer = mock(PrintWriter.class);
+
+    Template template = new Handlebars().compileInline("<head></head>{{flush}}<body></body>");
+
+    HttpServletRequest request = mock(HttpServletRequest.class);
+
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getWriter()).thenReturn(writer);
+
+    HandlebarsView view = new HandlebarsView();
+    view.setValueResolver(MapValueResolver.INSTANCE);
+    view.setTemplate(template);
+    view.setEarlyFlush(true);
+    view.renderMergedTemplateModel(model, request, response);
+
+    verify(writer).flush();
+  }
 }
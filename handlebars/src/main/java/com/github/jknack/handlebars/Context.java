@@ -7,11 +7,12 @@ package com.github.jknack.handlebars;
 
 import static org.apache.commons.lang3.Validate.notEmpty;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.github.jknack.handlebars.context.MapValueResolver;
+import com.github.jknack.handlebars.internal.CompositeValueResolver;
 import com.github.jknack.handlebars.internal.path.ThisPath;
 import com.github.jknack.handlebars.io.TemplateSource;
 
@@ -42,7 +44,7 @@ import com.github.jknack.handlebars.io.TemplateSource;
  * @author edgar.espina
  * @since 0.1.0
  */
-public class Context {
+public class Context implements Cloneable {
 
   /**
    * Special scope for silly block param rules, implemented by handlebars.js. This context will
@@ -164,58 +166,364 @@ public class Context {
   }
 
   /**
-   * A composite value resolver. It delegate the value resolution.
+   * Iteration scope. A single instance is created per loop and moved forward on every element
+   * with {@link #next(Object, boolean)} or {@link #next(Object, Object, boolean)}. Loop variables
+   * (<code>@key</code>, <code>@index</code>, <code>@first</code>, <code>@last</code>, etc.) are
+   * computed on demand from a counter, so iterating doesn't allocate a context, a hash or boxed
+   * values per element.
    *
-   * @author edgar.espina
-   * @since 0.1.1
+   * <p>Since 4.5.5 the <code>each</code> helper reuses a single context for all the elements (it
+   * used to create a context per element): a context kept after the element was rendered reports
+   * the current element. Keep a {@link #snapshot()} instead.
+   *
+   * @author edgar
+   * @since 4.5.5
    */
-  private static class CompositeValueResolver implements ValueResolver {
+  public static final class Iteration extends Context {
+
+    /**
+     * Loop variables view. Values set with {@link Context#combine(String, Object)} are kept until
+     * the next element.
+     *
+     * @author edgar
+     * @since 4.5.5
+     */
+    private final class Variables extends AbstractMap<String, Object> {
+
+      /** Values set while rendering the current element or <code>null</code>. */
+      private Map<String, Object> extra;
 
-    /** The internal value resolvers. */
-    private List<ValueResolver> resolvers;
+      @Override
+      public Object get(final Object name) {
+        if (extra != null && extra.containsKey(name)) {
+          return extra.get(name);
+        }
+        if (!(name instanceof String)) {
+          return null;
+        }
+        switch ((String) name) {
+          case "@key":
+            return keyed ? key : index;
+          case "@index":
+            return index;
+          case "@first":
+            return index == base ? "first" : "";
+          case "@last":
+            return last ? "last" : "";
+          case "@odd":
+            return keyed ? null : index % 2 == 0 ? "" : "odd";
+          case "@even":
+            return keyed ? null : index % 2 == 0 ? "even" : "";
+          case "@index_1":
+            return keyed ? null : index + 1;
+          default:
+            return null;
+        }
+      }
+
+      @Override
+      public Object put(final String name, final Object value) {
+        if (extra == null) {
+          extra = new HashMap<>();
+        }
+        Object previous = get(name);
+        extra.put(name, value);
+        return previous;
+      }
+
+      @Override
+      public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        if (index >= base) {
+          snapshot.put("@key", keyed ? key : index);
+          snapshot.put("@index", index);
+          snapshot.put("@first", index == base ? "first" : "");
+          snapshot.put("@last", last ? "last" : "");
+          if (!keyed) {
+            snapshot.put("@odd", index % 2 == 0 ? "" : "odd");
+            snapshot.put("@even", index % 2 == 0 ? "even" : "");
+            snapshot.put("@index_1", index + 1);
+          }
+        }
+        if (extra != null) {
+          snapshot.putAll(extra);
+        }
+        return snapshot.entrySet();
+      }
+    }
+
+    /** The loop variables. */
+    private final Variables variables = new Variables();
+
+    /** True, if the parent context resolves variables against its parent first. */
+    private final boolean parentFirst;
+
+    /** The index of the first element. */
+    private final int base;
+
+    /** The current index. */
+    private int index;
+
+    /** The current key, for property iteration. */
+    private Object key;
+
+    /** True, for property iteration. */
+    private boolean keyed;
+
+    /** True, if the current element is the last one. */
+    private boolean last;
 
     /**
-     * Creates a new {@link CompositeValueResolver}.
+     * Creates a new {@link Iteration}.
      *
-     * @param resolvers The value resolvers.
+     * @param parent Parent context.
+     * @param base The index of the first element.
      */
-    CompositeValueResolver(final List<ValueResolver> resolvers) {
-      this.resolvers = resolvers;
+    private Iteration(final Context parent, final int base) {
+      super(null);
+      this.base = base;
+      this.index = base - 1;
+      this.parentFirst = parent instanceof BlockParam || parent instanceof ParentFirst;
+      this.extendedContext = new Context(variables);
+      this.extendedContext.resolver = parent.resolver;
+      this.parent = parent;
+      this.data = parent.data;
+      this.resolver = parent.resolver;
+    }
+
+    /**
+     * Move to the next element of a list.
+     *
+     * @param model The element.
+     * @param last True, if this is the last element.
+     * @return This iteration.
+     */
+    public Iteration next(final Object model, final boolean last) {
+      return next(null, false, model, last);
+    }
+
+    /**
+     * Move to the next property of an object.
+     *
+     * @param key The property name.
+     * @param model The property value.
+     * @param last True, if this is the last property.
+     * @return This iteration.
+     */
+    public Iteration next(final Object key, final Object model, final boolean last) {
+      return next(key, true, model, last);
+    }
+
+    /**
+     * Move to the next element.
+     *
+     * @param key The property name.
+     * @param keyed True, for property iteration.
+     * @param model The element.
+     * @param last True, if this is the last element.
+     * @return This iteration.
+     */
+    private Iteration next(
+        final Object key, final boolean keyed, final Object model, final boolean last) {
+      this.model = model;
+      this.key = key;
+      this.keyed = keyed;
+      this.last = last;
+      this.index += 1;
+      this.variables.extra = null;
+      return this;
+    }
+
+    /**
+     * The index of the current element.
+     *
+     * @return The index of the current element.
+     */
+    public int index() {
+      return index;
     }
 
     @Override
-    public Object resolve(final Object context, final String name) {
-      int i = 0;
-      while (i < resolvers.size()) {
-        Object value = resolvers.get(i).resolve(context, name);
-        if (value != UNRESOLVED) {
-          return value == null ? NULL : value;
+    public Context snapshot() {
+      Iteration snapshot = new Iteration(parent.snapshot(), base);
+      snapshot.next(key, keyed, model, last);
+      snapshot.index = index;
+      if (variables.extra != null) {
+        snapshot.variables.extra = new HashMap<>(variables.extra);
+      }
+      return snapshot;
+    }
+
+    @Override
+    public Object get(final List<PathExpression> path) {
+      if (parentFirst) {
+        Object value = parent.get(path);
+        if (value != null) {
+          return value;
         }
-        i += 1;
       }
-      return null;
+      return super.get(path);
     }
 
     @Override
-    public Object resolve(final Object context) {
-      int i = 0;
-      while (i < resolvers.size()) {
-        Object value = resolvers.get(i).resolve(context);
-        if (value != UNRESOLVED) {
-          return value == null ? NULL : value;
+    protected Context newChildContext(final Object model) {
+      return parentFirst ? new ParentFirst(model) : new Context(model);
+    }
+  }
+
+  /**
+   * Data storage of a context stack. Engine state (partials, inline partials, invocation stack,
+   * callee and param size) lives in typed fields and it is created on first access, any other
+   * attribute goes to a hash created on first write.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Storage extends AbstractMap<String, Object> {
+
+    /** The root model. */
+    private Object root;
+
+    /** Partials. */
+    private Map<String, Template> partials;
+
+    /** Inline partials. */
+    private LinkedList<Map<String, Template>> inlinePartials;
+
+    /** Invocation stack. */
+    private LinkedList<TemplateSource> invocationStack;
+
+    /** Last callee of a partial block. */
+    private Object callee;
+
+    /** Number of parameters of a helper. */
+    private Object paramSize;
+
+    /** Any other attribute or <code>null</code>. */
+    private Map<String, Object> attributes;
+
+    /**
+     * Creates a new {@link Storage}.
+     *
+     * @param root The root model.
+     */
+    Storage(final Object root) {
+      this.root = root;
+    }
+
+    @Override
+    public Object get(final Object name) {
+      if (CALLEE.equals(name)) {
+        return callee;
+      }
+      if (PARAM_SIZE.equals(name)) {
+        return paramSize;
+      }
+      if (INLINE_PARTIALS.equals(name)) {
+        if (inlinePartials == null) {
+          inlinePartials = new LinkedList<>();
+          inlinePartials.push(new HashMap<>());
         }
-        i += 1;
+        return inlinePartials;
+      }
+      if (INVOCATION_STACK.equals(name)) {
+        if (invocationStack == null) {
+          invocationStack = new LinkedList<>();
+        }
+        return invocationStack;
+      }
+      if (PARTIALS.equals(name)) {
+        if (partials == null) {
+          partials = new HashMap<>();
+        }
+        return partials;
+      }
+      if ("root".equals(name)) {
+        return root;
+      }
+      return attributes == null ? null : attributes.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object put(final String name, final Object value) {
+      Object previous;
+      if (CALLEE.equals(name)) {
+        previous = callee;
+        callee = value;
+      } else if (PARAM_SIZE.equals(name)) {
+        previous = paramSize;
+        paramSize = value;
+      } else if (INLINE_PARTIALS.equals(name)) {
+        previous = inlinePartials;
+        inlinePartials = (LinkedList<Map<String, Template>>) value;
+      } else if (INVOCATION_STACK.equals(name)) {
+        previous = invocationStack;
+        invocationStack = (LinkedList<TemplateSource>) value;
+      } else if (PARTIALS.equals(name)) {
+        previous = partials;
+        partials = (Map<String, Template>) value;
+      } else if ("root".equals(name)) {
+        previous = root;
+        root = value;
+      } else {
+        if (attributes == null) {
+          attributes = new HashMap<>();
+        }
+        previous = attributes.put(name, value);
+      }
+      return previous;
+    }
+
+    @Override
+    public Object remove(final Object name) {
+      if (attributes != null && attributes.containsKey(name)) {
+        return attributes.remove(name);
+      }
+      if (CALLEE.equals(name)
+          || PARAM_SIZE.equals(name)
+          || INLINE_PARTIALS.equals(name)
+          || INVOCATION_STACK.equals(name)
+          || PARTIALS.equals(name)
+          || "root".equals(name)) {
+        return put((String) name, null);
       }
       return null;
     }
 
     @Override
-    public Set<Entry<String, Object>> propertySet(final Object context) {
-      Set<Entry<String, Object>> propertySet = new LinkedHashSet<>();
-      for (ValueResolver resolver : resolvers) {
-        propertySet.addAll(resolver.propertySet(context));
+    public boolean containsKey(final Object name) {
+      return get(name) != null || (attributes != null && attributes.containsKey(name));
+    }
+
+    @Override
+    public void clear() {
+      root = null;
+      partials = null;
+      inlinePartials = null;
+      invocationStack = null;
+      callee = null;
+      paramSize = null;
+      attributes = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      Map<String, Object> snapshot = new LinkedHashMap<>();
+      snapshot.put(PARTIALS, get(PARTIALS));
+      snapshot.put(INLINE_PARTIALS, get(INLINE_PARTIALS));
+      snapshot.put(INVOCATION_STACK, get(INVOCATION_STACK));
+      if (callee != null) {
+        snapshot.put(CALLEE, callee);
       }
-      return propertySet;
+      if (paramSize != null) {
+        snapshot.put(PARAM_SIZE, paramSize);
+      }
+      snapshot.put("root", root);
+      if (attributes != null) {
+        snapshot.putAll(attributes);
+      }
+      return snapshot.entrySet();
     }
   }
 
@@ -247,7 +555,7 @@ public class Context {
      */
     private Builder(final Object model) {
       context = Context.root(model);
-      context.setResolver(new CompositeValueResolver(ValueResolver.defaultValueResolvers()));
+      context.setResolver(DEFAULT_RESOLVER);
     }
 
     /**
@@ -375,7 +683,11 @@ public class Context {
   }
 
   /** Mark for fail context lookup. */
-  private static final Object NULL = new Object();
+  private static final Object NULL = CompositeValueResolver.NULL;
+
+  /** Value resolver for contexts created without explicit resolvers. */
+  private static final ValueResolver DEFAULT_RESOLVER =
+      new CompositeValueResolver(ValueResolver.defaultValueResolvers());
 
   /** The qualified name for partials. Internal use. */
   public static final String PARTIALS = Context.class.getName() + "#partials";
@@ -426,14 +738,7 @@ public class Context {
    */
   private static Context root(final Object model) {
     Context root = new Context(model);
-    root.extendedContext = new Context(new HashMap<String, Object>());
-    root.data = new HashMap<>();
-    root.data.put(PARTIALS, new HashMap<String, Template>());
-    LinkedList<Map<String, Template>> partials = new LinkedList<>();
-    partials.push(new HashMap<String, Template>());
-    root.data.put(INLINE_PARTIALS, partials);
-    root.data.put(INVOCATION_STACK, new LinkedList<TemplateSource>());
-    root.data.put("root", model);
+    root.data = new Storage(model);
     return root;
   }
 
@@ -444,10 +749,8 @@ public class Context {
    * @param model The model data.
    * @return This context.
    */
-  @SuppressWarnings({"unchecked"})
   public Context combine(final String name, final Object model) {
-    Map<String, Object> map = (Map<String, Object>) extendedContext.model;
-    map.put(name, model);
+    extended().put(name, model);
     return this;
   }
 
@@ -457,13 +760,25 @@ public class Context {
    * @param model The model attributes.
    * @return This context.
    */
-  @SuppressWarnings({"unchecked"})
   public Context combine(final Map<String, ?> model) {
-    Map<String, Object> map = (Map<String, Object>) extendedContext.model;
-    map.putAll(model);
+    extended().putAll(model);
     return this;
   }
 
+  /**
+   * The extended context attributes. The extended context is created on first write.
+   *
+   * @return The extended context attributes.
+   */
+  @SuppressWarnings({"unchecked"})
+  private Map<String, Object> extended() {
+    if (extendedContext == null) {
+      extendedContext = new Context(new HashMap<String, Object>());
+      extendedContext.resolver = resolver;
+    }
+    return (Map<String, Object>) extendedContext.model;
+  }
+
   /**
    * Read the attribute from the data storage.
    *
@@ -575,7 +890,7 @@ public class Context {
     if (local) {
       value = expr.next(resolver, it, it.model);
       // extends local lookup to extended context if 'this' isn't present
-      if (value == null && !(head instanceof ThisPath)) {
+      if (value == null && !(head instanceof ThisPath) && it.extendedContext != null) {
         value = expr.eval(resolver, it.extendedContext, it.extendedContext.model);
       }
     } else {
@@ -583,7 +898,9 @@ public class Context {
         value = expr.eval(resolver, it, it.model);
         if (value == null) {
           // No luck, check the extended context.
-          value = expr.eval(resolver, it.extendedContext, it.extendedContext.model);
+          if (it.extendedContext != null) {
+            value = expr.eval(resolver, it.extendedContext, it.extendedContext.model);
+          }
 
           if (value == null) {
             // data context
@@ -646,7 +963,9 @@ public class Context {
    */
   private void setResolver(final ValueResolver resolver) {
     this.resolver = resolver;
-    extendedContext.resolver = resolver;
+    if (extendedContext != null) {
+      extendedContext.resolver = resolver;
+    }
   }
 
   /** Destroy this context by cleaning up instance attributes. */
@@ -720,6 +1039,18 @@ public class Context {
     return new BlockParam(parent, hash);
   }
 
+  /**
+   * Creates a new iteration scope. The scope is moved forward with {@link Iteration#next(Object,
+   * boolean)} for lists or with {@link Iteration#next(Object, Object, boolean)} for objects.
+   *
+   * @param parent The parent context. Required.
+   * @param base The index of the first element.
+   * @return A new iteration scope.
+   */
+  public static Iteration newIteration(final Context parent, final int base) {
+    return new Iteration(parent, base);
+  }
+
   /**
    * Creates a new partial context.
    *
@@ -767,7 +1098,6 @@ public class Context {
    */
   private Context newChild(final Object model) {
     Context child = newChildContext(model);
-    child.extendedContext = new Context(new HashMap<String, Object>());
     child.setResolver(this.resolver);
     child.parent = this;
     child.data = this.data;
@@ -784,6 +1114,28 @@ public class Context {
     return new Context(model);
   }
 
+  /**
+   * A copy of this context stack that doesn't move forward with an <code>each</code> loop. The
+   * context of an <code>each</code> loop is reused for every element (see {@link Iteration}), so
+   * helpers that keep a context after they return (like asynchronous helpers) must keep a
+   * snapshot.
+   *
+   * @return This context or a copy, if there is an iteration scope in this context stack.
+   */
+  public Context snapshot() {
+    Context parent = this.parent == null ? null : this.parent.snapshot();
+    if (parent == this.parent) {
+      return this;
+    }
+    try {
+      Context snapshot = (Context) clone();
+      snapshot.parent = parent;
+      return snapshot;
+    } catch (CloneNotSupportedException ex) {
+      throw new IllegalStateException("Context must be cloneable", ex);
+    }
+  }
+
   /**
    * Creates a new context but keep the <code>data</code> attribute.
    *
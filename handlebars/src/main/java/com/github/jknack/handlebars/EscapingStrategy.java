@@ -5,6 +5,7 @@
  */
 package com.github.jknack.handlebars;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,7 +33,8 @@ public interface EscapingStrategy {
 
   /**
    * Handlebars escaping strategy. Escape is done via a string map. See {@link
-   * EscapingStrategy#HTML_ENTITY}.
+   * EscapingStrategy#HTML_ENTITY}. Maps with single character keys (like the HTML ones) are
+   * compiled into a lookup table and escaped in a single pass.
    *
    * @author edgar
    * @since 4.0.4
@@ -42,7 +44,13 @@ public interface EscapingStrategy {
     /** EMPTY. */
     private static final String EMPTY = "";
 
-    /** Translator. */
+    /**
+     * Replacement table indexed by character, for escape maps with single character keys only.
+     * Null otherwise.
+     */
+    private final String[] table;
+
+    /** Translator, for escape maps with multi character keys. Null otherwise. */
     private final LookupTranslator translator;
 
     /**
@@ -60,7 +68,8 @@ public interface EscapingStrategy {
      * @param escapeMap A escape map.
      */
     public Hbs(final Map<CharSequence, CharSequence> escapeMap) {
-      translator = new LookupTranslator(escapeMap);
+      this.table = table(escapeMap);
+      this.translator = table == null ? new LookupTranslator(escapeMap) : null;
     }
 
     @Override
@@ -68,7 +77,115 @@ public interface EscapingStrategy {
       if (value instanceof Handlebars.SafeString) {
         return ((Handlebars.SafeString) value).content;
       }
-      return value == null || value.length() == 0 ? EMPTY : translator.translate(value);
+      if (value == null || value.length() == 0) {
+        return EMPTY;
+      }
+      if (table == null) {
+        return translator.translate(value);
+      }
+      int len = value.length();
+      int i = next(value, 0, len);
+      if (i == len) {
+        // nothing to escape
+        return value;
+      }
+      StringBuilder buffer = new StringBuilder(len + 16);
+      int start = 0;
+      while (i < len) {
+        buffer.append(value, start, i).append(table[value.charAt(i)]);
+        start = i + 1;
+        i = next(value, start, len);
+      }
+      return buffer.append(value, start, len).toString();
+    }
+
+    @Override
+    public void escape(final CharSequence value, final Appendable out) throws IOException {
+      if (value instanceof Handlebars.SafeString) {
+        out.append(((Handlebars.SafeString) value).content);
+        return;
+      }
+      if (value == null || value.length() == 0) {
+        return;
+      }
+      if (table == null) {
+        out.append(translator.translate(value));
+        return;
+      }
+      int len = value.length();
+      int start = 0;
+      int i = next(value, 0, len);
+      while (i < len) {
+        append(out, value, start, i);
+        out.append(table[value.charAt(i)]);
+        start = i + 1;
+        i = next(value, start, len);
+      }
+      append(out, value, start, len);
+    }
+
+    /**
+     * Find the next character to escape.
+     *
+     * @param value Input.
+     * @param from Start index.
+     * @param len Input length.
+     * @return Index of the next character to escape or <code>len</code>.
+     */
+    private int next(final CharSequence value, final int from, final int len) {
+      String[] table = this.table;
+      int i = from;
+      while (i < len) {
+        char ch = value.charAt(i);
+        if (ch < table.length && table[ch] != null) {
+          return i;
+        }
+        i += 1;
+      }
+      return len;
+    }
+
+    /**
+     * Append a run of unchanged characters.
+     *
+     * @param out Output.
+     * @param value Input.
+     * @param start Start index.
+     * @param end End index.
+     * @throws IOException If something goes wrong.
+     */
+    private static void append(
+        final Appendable out, final CharSequence value, final int start, final int end)
+        throws IOException {
+      if (start == end) {
+        return;
+      }
+      if (start == 0 && end == value.length()) {
+        out.append(value);
+      } else {
+        out.append(value, start, end);
+      }
+    }
+
+    /**
+     * Build a replacement table when all the keys are single characters.
+     *
+     * @param escapeMap A escape map.
+     * @return A replacement table or <code>null</code>.
+     */
+    private static String[] table(final Map<CharSequence, CharSequence> escapeMap) {
+      int size = 0;
+      for (CharSequence key : escapeMap.keySet()) {
+        if (key.length() != 1 || key.charAt(0) > Byte.MAX_VALUE) {
+          return null;
+        }
+        size = Math.max(size, key.charAt(0) + 1);
+      }
+      String[] table = new String[size];
+      for (Map.Entry<CharSequence, CharSequence> entry : escapeMap.entrySet()) {
+        table[entry.getKey().charAt(0)] = entry.getValue().toString();
+      }
+      return table;
     }
 
     /**
@@ -139,4 +256,17 @@ public interface EscapingStrategy {
    * @return the escaped character sequence.
    */
   CharSequence escape(CharSequence value);
+
+  /**
+   * Escape the {@link java.lang.CharSequence} and write the result to the given output. Strategies
+   * that can escape in a single pass should override this method and write unchanged characters
+   * directly, the default implementation appends {@link #escape(CharSequence)}.
+   *
+   * @param value the character sequence to be escaped.
+   * @param out the output.
+   * @throws IOException If the output fails.
+   */
+  default void escape(final CharSequence value, final Appendable out) throws IOException {
+    out.append(escape(value));
+  }
 }
@@ -19,18 +19,31 @@ import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-
-import javax.script.Bindings;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 
 import org.slf4j.Logger;
 
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.cache.NullTemplateCache;
 import com.github.jknack.handlebars.cache.TemplateCache;
 import com.github.jknack.handlebars.helper.DefaultHelperRegistry;
@@ -38,11 +51,16 @@ import com.github.jknack.handlebars.helper.I18nHelper;
 import com.github.jknack.handlebars.internal.Files;
 import com.github.jknack.handlebars.internal.FormatterChain;
 import com.github.jknack.handlebars.internal.HbsParserFactory;
+import com.github.jknack.handlebars.internal.InstrumentedTemplate;
+import com.github.jknack.handlebars.internal.JfrEvents;
+import com.github.jknack.handlebars.internal.ScriptEnginePool;
 import com.github.jknack.handlebars.internal.Throwing;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
 import com.github.jknack.handlebars.io.CompositeTemplateLoader;
+import com.github.jknack.handlebars.io.FileTemplateLoader;
 import com.github.jknack.handlebars.io.StringTemplateSource;
 import com.github.jknack.handlebars.io.TemplateLoader;
+import com.github.jknack.handlebars.io.TemplateScanner;
 import com.github.jknack.handlebars.io.TemplateSource;
 
 /**
@@ -280,6 +298,12 @@ public class Handlebars implements HelperRegistry {
   /** The logging system. */
   private static final Logger logger = getLogger(Handlebars.class);
 
+  /** Filename prefix of inline templates. */
+  private static final String INLINE = "inline@";
+
+  /** Max number of templates tracked to tell a reload from a miss. */
+  private static final int PARSED_SIZE = 1024;
+
   /** The template loader. Required. */
   private TemplateLoader loader;
 
@@ -366,11 +390,33 @@ public class Handlebars implements HelperRegistry {
    */
   private boolean preEvaluatePartialBlocks = true;
 
+  /**
+   * If true, static partials (<code>{{&gt; name}}</code>, no context, hash or partial block) are
+   * inlined into the caller at compile time. See {@link #inlinePartials()}. Default is: false.
+   */
+  private boolean inlinePartials;
+
+  /**
+   * If true, helpers returning a {@link java.util.concurrent.CompletionStage} don't block the
+   * rendering. See {@link #asyncHelpers()}. Default is: false.
+   */
+  private boolean asyncHelpers;
+
   /** Standard charset. */
   private Charset charset = StandardCharsets.UTF_8;
 
-  /** Engine. */
-  private ScriptEngine engine;
+  /** Listener of compile and render events. */
+  private RenderListener renderListener = RenderListener.NOOP;
+
+  /**
+   * Last modified time of templates parsed while instrumentation is on, to tell a reload from a
+   * miss. Up to {@link #PARSED_SIZE} entries, least recently parsed first. Guarded by itself.
+   */
+  private final LinkedHashMap<String, Long> parsed = new LinkedHashMap<>(16, 0.75f, true);
+
+  /** Nashorn engines with handlebars.js, ready to precompile templates. */
+  private final ScriptEnginePool<CompiledScript> engines =
+      new ScriptEnginePool<>(Runtime.getRuntime().availableProcessors(), this::newEngine);
 
   /**
    * Creates a new {@link Handlebars} with no cache.
@@ -403,14 +449,15 @@ public class Handlebars implements HelperRegistry {
    * @return JavaScript.
    */
   public String precompileInline(final String template) {
-    return Throwing.get(
-        () -> {
-          ScriptEngine engine = engine();
-          Object handlebars = engine.getContext().getAttribute("Handlebars");
-          Bindings bindings = engine.createBindings();
-          bindings.put("Handlebars", handlebars);
-          bindings.put("template", template);
-          return (String) engine.eval("Handlebars.precompile(template);", bindings);
+    return engines.apply(
+        precompile -> {
+          ScriptEngine engine = precompile.getEngine();
+          engine.put("template", template);
+          try {
+            return (String) precompile.eval();
+          } finally {
+            engine.put("template", null);
+          }
         });
   }
 
@@ -448,6 +495,74 @@ public class Handlebars implements HelperRegistry {
     return compile(loader.sourceAt(location), startDelimiter, endDelimiter);
   }
 
+  /**
+   * Compile all the templates of the given loader, in parallel using the {@link
+   * ForkJoinPool#commonPool()}, and put them in the template cache. See {@link
+   * #precompileAll(TemplateLoader, Predicate, ForkJoinPool)}.
+   *
+   * @param loader The template loader. Required.
+   * @param filter Template location filter. Required.
+   * @return A report with compiled templates, failures and timing.
+   * @throws IOException If templates can't be listed.
+   */
+  public PrecompileReport precompileAll(
+      final TemplateLoader loader, final Predicate<String> filter) throws IOException {
+    return precompileAll(loader, filter, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Compile all the templates of the given loader, in parallel, and put them in the template cache.
+   * Useful for warming up the cache at startup, so first requests don't pay the parsing cost.
+   *
+   * <p>Templates are listed from {@link FileTemplateLoader}, {@link ClassPathTemplateLoader} and
+   * {@link CompositeTemplateLoader}. Templates are cached by source, so the loader must resolve
+   * templates like the loader of this object does (usually, it is the same loader). Templates that
+   * don't compile are reported, they don't stop compilation of other templates.
+   *
+   * <p>The default {@link NullTemplateCache} keeps nothing: templates are compiled and reported,
+   * but they are compiled again on first use and a warning is logged. Set a cache with {@link
+   * #with(TemplateCache)} before calling this method.
+   *
+   * @param loader The template loader. Required.
+   * @param filter Template location filter. Required.
+   * @param pool The fork-join pool where templates are compiled. Required.
+   * @return A report with compiled templates, failures and timing.
+   * @throws IOException If templates can't be listed.
+   */
+  public PrecompileReport precompileAll(
+      final TemplateLoader loader, final Predicate<String> filter, final ForkJoinPool pool)
+      throws IOException {
+    notNull(loader, "The loader is required.");
+    notNull(filter, "The filter is required.");
+    notNull(pool, "The pool is required.");
+    if (cache instanceof NullTemplateCache) {
+      logger.warn("Precompiled templates aren't cached, set a cache with: with(TemplateCache)");
+    }
+    long start = System.nanoTime();
+    List<String> locations =
+        TemplateScanner.scan(loader).stream().filter(filter).collect(Collectors.toList());
+    Map<String, Exception> failures = new ConcurrentSkipListMap<>();
+    pool.invoke(
+        ForkJoinTask.adapt(
+            () ->
+                locations.parallelStream()
+                    .forEach(
+                        location -> {
+                          try {
+                            compile(loader.sourceAt(location));
+                          } catch (IOException | RuntimeException ex) {
+                            failures.put(location, ex);
+                          }
+                        })));
+    List<String> templates = new ArrayList<>(locations);
+    templates.removeAll(failures.keySet());
+    PrecompileReport report =
+        new PrecompileReport(
+            templates, new TreeMap<>(failures), Duration.ofNanos(System.nanoTime() - start));
+    logger.debug("{}", report);
+    return report;
+  }
+
   /**
    * Compile a handlebars template. The implementation uses a cache for previously compiled
    * Templates. By default, if same input string has been compiled previously, compilation will be
@@ -478,7 +593,7 @@ public class Handlebars implements HelperRegistry {
       final String input, final String startDelimiter, final String endDelimiter)
       throws IOException {
     notNull(input, "The input is required.");
-    String filename = "inline@" + Integer.toHexString(Math.abs(input.hashCode()));
+    String filename = INLINE + Integer.toHexString(Math.abs(input.hashCode()));
     return compile(new StringTemplateSource(filename, input), startDelimiter, endDelimiter);
   }
 
@@ -517,10 +632,56 @@ public class Handlebars implements HelperRegistry {
     notEmpty(startDelimiter, "The start delimiter is required.");
     notEmpty(endDelimiter, "The end delimiter is required.");
     Parser parser = parserFactory.create(this, startDelimiter, endDelimiter);
-    Template template = cache.get(source, parser);
+    RenderListener listener = this.renderListener;
+    Object event = JfrEvents.beginCache(source.filename());
+    if (listener == RenderListener.NOOP && event == null) {
+      return cache.get(source, it -> new InstrumentedTemplate(this, parser.parse(it)));
+    }
+    long start = System.nanoTime();
+    AtomicBoolean miss = new AtomicBoolean();
+    Template template =
+        cache.get(
+            source,
+            it -> {
+              miss.set(true);
+              return new InstrumentedTemplate(this, parser.parse(it));
+            });
+    RenderListener.CacheStatus status = RenderListener.CacheStatus.HIT;
+    if (miss.get()) {
+      status = parsed(source);
+    }
+    JfrEvents.endCache(event, status);
+    listener.compiled(source, status, System.nanoTime() - start);
     return template;
   }
 
+  /**
+   * Record a parsed template and tell if it was a reload or a miss. Inline templates are named
+   * after their content, so they can't be reloaded and aren't recorded.
+   *
+   * @param source The parsed template source.
+   * @return {@link RenderListener.CacheStatus#RELOAD} if a previous version of the template was
+   *     parsed, {@link RenderListener.CacheStatus#MISS} otherwise.
+   */
+  private RenderListener.CacheStatus parsed(final TemplateSource source) {
+    if (source.filename().startsWith(INLINE)) {
+      return RenderListener.CacheStatus.MISS;
+    }
+    long lastModified = source.lastModified();
+    Long previous;
+    synchronized (parsed) {
+      previous = parsed.put(source.filename(), lastModified);
+      if (parsed.size() > PARSED_SIZE) {
+        Iterator<String> eldest = parsed.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+      }
+    }
+    return previous == null || previous == lastModified
+        ? RenderListener.CacheStatus.MISS
+        : RenderListener.CacheStatus.RELOAD;
+  }
+
   /**
    * Find a helper by name.
    *
@@ -1068,6 +1229,29 @@ public class Handlebars implements HelperRegistry {
     return this;
   }
 
+  /**
+   * Set a {@link RenderListener}. The listener gets notified about template compilation (cache
+   * hit, miss or reload) and about template, partial and helper rendering. Default is: {@link
+   * RenderListener#NOOP}.
+   *
+   * @param renderListener The render listener. Required.
+   * @return This handlebars object.
+   * @see com.github.jknack.handlebars.metrics.HistogramRenderListener
+   */
+  public Handlebars with(final RenderListener renderListener) {
+    this.renderListener = notNull(renderListener, "The render listener is required.");
+    return this;
+  }
+
+  /**
+   * The render listener.
+   *
+   * @return The render listener. Default is: {@link RenderListener#NOOP}.
+   */
+  public RenderListener getRenderListener() {
+    return renderListener;
+  }
+
   /**
    * Set a new {@link EscapingStrategy}.
    *
@@ -1127,6 +1311,44 @@ public class Handlebars implements HelperRegistry {
     return this;
   }
 
+  /**
+   * Set the max number of JavaScript engines used by {@link #precompile(String)} and by JavaScript
+   * helpers. Engines are created on demand: a new engine is created only when all the existing
+   * engines are busy (see {@link #prestartScriptEngines()} to create them up front). Default is the
+   * number of available processors.
+   *
+   * @param size Max number of JavaScript engines. Must be greater than zero.
+   * @return This handlebars object.
+   */
+  public Handlebars scriptEngines(final int size) {
+    engines.setSize(size);
+    if (registry instanceof DefaultHelperRegistry) {
+      ((DefaultHelperRegistry) registry).setScriptEngines(size);
+    }
+    return this;
+  }
+
+  /**
+   * Creates the JavaScript engines used by {@link #precompile(String)} up to {@link
+   * #scriptEngines()} and loads {@link #handlebarsJsFile()} on them, so the first precompilations
+   * don't pay for it. Engines are created on the caller thread: threads calling this method at the
+   * same time create engines in parallel. Set the handlebars.js file before calling this method.
+   *
+   * @return Number of engines created by this call.
+   */
+  public int prestartScriptEngines() {
+    return engines.prestart();
+  }
+
+  /**
+   * Max number of JavaScript engines used by {@link #precompile(String)}.
+   *
+   * @return Max number of JavaScript engines used by {@link #precompile(String)}.
+   */
+  public int scriptEngines() {
+    return engines.getSize();
+  }
+
   /**
    * Set the handlebars.js location used it to compile/precompile template to JavaScript.
    *
@@ -1250,7 +1472,9 @@ public class Handlebars implements HelperRegistry {
    * }</pre>
    *
    * Attention: If this is set to true, Handlebars works *much* slower! while rendering partial
-   * blocks. Default is: true for compatibility reasons.
+   * blocks. Default is: true for compatibility reasons. Set it to false to get an early flush
+   * before the <code>{{&gt; @partial-block}}</code> of a layout, see {@link
+   * com.github.jknack.handlebars.helper.FlushHelper}.
    *
    * @return If true partial blocks will be evaluated before the partial will be rendered to allow
    *     inline block side effects. If false, you will have to evaluate and render partial blocks
@@ -1300,6 +1524,100 @@ public class Handlebars implements HelperRegistry {
     return this;
   }
 
+  /**
+   * If true, static partials are inlined into the caller at compile time. A partial is inlined
+   * when its name is a literal and it has no context, hash arguments or partial block:
+   *
+   * <pre>{@code
+   * {{> header}}
+   * }</pre>
+   *
+   * The partial template is applied to the caller context, so there is no partial context, loader
+   * lookup or template cache lookup while rendering. Partials that define inline partials or
+   * decorators, reference <code>@partial-block</code>, change delimiters or call themselves are
+   * resolved at runtime. Inline partials registered at runtime with the same name still win.
+   *
+   * <p>Inlining requires a template cache that tracks changes (see {@link
+   * TemplateCache#version()}), like {@link ConcurrentMapTemplateCache} without reload. When the
+   * cache version changes (a template was evicted or the cache was cleared) inlined partials are
+   * loaded and compiled again. Otherwise, partials are resolved at runtime. Default is: false.
+   *
+   * @return True, if static partials are inlined into the caller at compile time.
+   */
+  public boolean inlinePartials() {
+    return inlinePartials;
+  }
+
+  /**
+   * If true, static partials are inlined into the caller at compile time. See {@link
+   * #inlinePartials()}.
+   *
+   * @param inlinePartials True, for inlining static partials. Default is: false.
+   */
+  public void setInlinePartials(final boolean inlinePartials) {
+    this.inlinePartials = inlinePartials;
+  }
+
+  /**
+   * If true, static partials are inlined into the caller at compile time. See {@link
+   * #inlinePartials()}.
+   *
+   * @param inlinePartials True, for inlining static partials. Default is: false.
+   * @return The Handlebars object
+   */
+  public Handlebars inlinePartials(final boolean inlinePartials) {
+    setInlinePartials(inlinePartials);
+    return this;
+  }
+
+  /**
+   * If true, helpers returning a {@link java.util.concurrent.CompletionStage} don't block the
+   * rendering. An output slot is reserved for the helper result, the output that follows is
+   * buffered and rendering goes on, so independent asynchronous helpers run concurrently. Slots are
+   * filled in order once the template (or the block being rendered into a string) ends, or at
+   * <code>{{flush}}</code>.
+   *
+   * <pre>{@code
+   * handlebars.registerHelper("price", (sku, options) ->
+   *     CompletableFuture.supplyAsync(() -> pricing.price((String) sku), executor));
+   * }</pre>
+   *
+   * <p>Helpers must read everything they need from the context and options before returning the
+   * {@link java.util.concurrent.CompletionStage}: the context of an <code>each</code> iteration is
+   * reused and options aren't valid once the helper returns. The result is formatted and escaped
+   * like any other value, from the rendering thread.
+   *
+   * <p>If false, the rendering waits for each {@link java.util.concurrent.CompletionStage} where
+   * the helper is called. Default is: false.
+   *
+   * @return True, if asynchronous helpers don't block the rendering.
+   */
+  public boolean asyncHelpers() {
+    return asyncHelpers;
+  }
+
+  /**
+   * If true, helpers returning a {@link java.util.concurrent.CompletionStage} don't block the
+   * rendering. See {@link #asyncHelpers()}.
+   *
+   * @param asyncHelpers True, for resolving asynchronous helpers concurrently. Default is: false.
+   */
+  public void setAsyncHelpers(final boolean asyncHelpers) {
+    this.asyncHelpers = asyncHelpers;
+  }
+
+  /**
+   * If true, helpers returning a {@link java.util.concurrent.CompletionStage} don't block the
+   * rendering. See {@link #asyncHelpers()}.
+   *
+   * @param asyncHelpers True, for resolving asynchronous helpers concurrently. Default is: false.
+   * @return The Handlebars object
+   */
+  public Handlebars asyncHelpers(final boolean asyncHelpers) {
+    setAsyncHelpers(asyncHelpers);
+    return this;
+  }
+
   /**
    * Return a parser factory.
    *
@@ -1442,21 +1760,16 @@ public class Handlebars implements HelperRegistry {
   }
 
   /**
-   * @return Nashorn engine.
+   * Creates a new Nashorn engine with handlebars.js loaded.
+   *
+   * @return The <code>Handlebars.precompile(template)</code> script.
+   * @throws Exception If handlebars.js can't be loaded.
    */
-  private ScriptEngine engine() {
-    synchronized (this) {
-      if (this.engine == null) {
-
-        this.engine = new ScriptEngineManager().getEngineByName("nashorn");
-
-        Throwing.run(() -> {
-          //polyfill globalThis as it is used in handlebars 4.7.9 and is not supported by nashorn
-          engine.eval("var globalThis = this;");
-          engine.eval(Files.read(this.handlebarsJsFile, charset));
-        });
-      }
-      return this.engine;
-    }
+  private CompiledScript newEngine() throws Exception {
+    ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
+    // polyfill globalThis as it is used in handlebars 4.7.9 and is not supported by nashorn
+    engine.eval("var globalThis = this;");
+    engine.eval(Files.read(this.handlebarsJsFile, charset));
+    return ((Compilable) engine).compile("Handlebars.precompile(template);");
   }
 }
@@ -11,6 +11,9 @@ import java.io.IOException;
  * Handlebars helpers can be accessed from any context in a template. You can register a helper with
  * the {@link Handlebars#registerHelper(String, Helper)} method.
  *
+ * <p>A helper may return a {@link java.util.concurrent.CompletionStage}, see {@link
+ * Handlebars#asyncHelpers()}.
+ *
  * @author edgar.espina
  * @param <T> The context object.
  * @since 0.1.0
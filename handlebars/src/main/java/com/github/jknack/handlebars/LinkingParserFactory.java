@@ -0,0 +1,42 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import com.github.jknack.handlebars.internal.HbsParserFactory;
+
+/**
+ * A {@link ParserFactory} that links the template tree at compile time. Templates are still
+ * interpreted node by node (no code is generated), but linked templates do less work per node:
+ *
+ * <ul>
+ *   <li>Child nodes are stored in flat arrays and static text is written directly to the output,
+ *       without a template call per text node.
+ *   <li>Comments are dropped and the text around them is joined into a single text segment.
+ *   <li>Built-in <code>if</code>, <code>unless</code> and <code>with</code> blocks are evaluated
+ *       inline, without creating an {@link Options} object or an intermediate buffer.
+ * </ul>
+ *
+ * Built-in blocks are linked only when the helper registered at compile time is the built-in
+ * implementation and the block has a single parameter, no hash and no block params. Usage:
+ *
+ * <pre>
+ * Handlebars handlebars = new Handlebars().with(new LinkingParserFactory());
+ * </pre>
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class LinkingParserFactory implements ParserFactory {
+
+  /** The parser factory. */
+  private final ParserFactory parserFactory = new HbsParserFactory(true);
+
+  @Override
+  public Parser create(
+      final Handlebars handlebars, final String startDelimiter, final String endDelimiter) {
+    return parserFactory.create(handlebars, startDelimiter, endDelimiter);
+  }
+}
@@ -7,6 +7,7 @@ package com.github.jknack.handlebars;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -147,6 +148,72 @@ public class Options {
     public CharSequence subSequence(final int start, final int end) {
       return buffer.subSequence(start, end);
     }
+
+    @Override
+    public String toString() {
+      return buffer.toString();
+    }
+  }
+
+  /**
+   * Expose an {@link Appendable} as a {@link Writer}, so templates can be applied directly into a
+   * {@link Buffer}.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static class AppendableWriter extends Writer {
+
+    /** The target appendable. */
+    private final Appendable out;
+
+    /**
+     * Creates a new {@link AppendableWriter}.
+     *
+     * @param out The target appendable. Required.
+     */
+    AppendableWriter(final Appendable out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+      out.append(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+      out.append((char) c);
+    }
+
+    @Override
+    public void write(final String str) throws IOException {
+      out.append(str);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+      out.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) throws IOException {
+      out.append(csq);
+      return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end)
+        throws IOException {
+      out.append(csq, start, end);
+      return this;
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
   }
 
   /**
@@ -292,7 +359,10 @@ public class Options {
   /** The {@link Handlebars} object. Not null. */
   public final Handlebars handlebars;
 
-  /** The current context. Not null. */
+  /**
+   * The current context. Not null. Inside an <code>each</code> loop the context is reused for every
+   * element: keep a {@link Context#snapshot()} if you need it after the helper returns.
+   */
   public final Context context;
 
   /** The current template. Not null. */
@@ -429,6 +499,25 @@ public class Options {
     return apply(fn, ctx, blockParams(ctx.model));
   }
 
+  /**
+   * Apply the {@link #fn} template using the provided context and write the output into the given
+   * buffer. No intermediate string is created: a {@link NativeBuffer} streams the output straight
+   * into the underlying writer. Usage:
+   *
+   * <pre>
+   *   return options.fn(context, options.buffer());
+   * </pre>
+   *
+   * @param context The context to use.
+   * @param buffer The output buffer. Required.
+   * @return The output buffer.
+   * @throws IOException If a resource cannot be loaded.
+   */
+  public Buffer fn(final Object context, final Buffer buffer) throws IOException {
+    Context ctx = wrap(context);
+    return apply(fn, ctx, blockParams(ctx.model), buffer);
+  }
+
   /**
    * Apply the {@link #inverse} template using the default context.
    *
@@ -463,6 +552,21 @@ public class Options {
     return apply(inverse, ctx, blockParams(ctx.model));
   }
 
+  /**
+   * Apply the {@link #inverse} template using the provided context and write the output into the
+   * given buffer. No intermediate string is created: a {@link NativeBuffer} streams the output
+   * straight into the underlying writer.
+   *
+   * @param context The context to use.
+   * @param buffer The output buffer. Required.
+   * @return The output buffer.
+   * @throws IOException If a resource cannot be loaded.
+   */
+  public Buffer inverse(final Object context, final Buffer buffer) throws IOException {
+    Context ctx = wrap(context);
+    return apply(inverse, ctx, blockParams(ctx.model), buffer);
+  }
+
   /**
    * Apply the given template to the provided context. The context stack is propagated allowing the
    * access to the whole stack.
@@ -527,6 +631,37 @@ public class Options {
     return apply(template, wrap(context), blockParams);
   }
 
+  /**
+   * Apply the given template to the provided context and write the output into the given buffer.
+   * The context stack is propagated allowing the access to the whole stack. No intermediate string
+   * is created: a {@link NativeBuffer} streams the output straight into the underlying writer and
+   * an {@link InMemoryBuffer} appends it in place.
+   *
+   * @param template The template.
+   * @param context The context object.
+   * @param blockParams The block param values.
+   * @param buffer The output buffer. Required.
+   * @return The output buffer.
+   * @throws IOException If a resource cannot be loaded.
+   */
+  public Buffer apply(
+      final Template template,
+      final Context context,
+      final List<Object> blockParams,
+      final Buffer buffer)
+      throws IOException {
+    Context ctx = context;
+    if (hasBlockParams) {
+      ctx = Context.newBlockParamContext(context, this.blockParams, blockParams);
+    }
+    Writer out =
+        buffer instanceof NativeBuffer
+            ? ((NativeBuffer) buffer).writer
+            : new AppendableWriter(buffer);
+    template.apply(ctx, out);
+    return buffer;
+  }
+
   /**
    * Apply the given template to the default context. The context stack is propagated allowing the
    * access to the whole stack.
@@ -769,6 +904,19 @@ public class Options {
     return writer == null ? new InMemoryBuffer() : new NativeBuffer(writer);
   }
 
+  /**
+   * Flush the underlying writer, so the content written so far is sent to the client. Nothing
+   * happens when there is no underlying writer (the template is being rendered into a string).
+   *
+   * @throws IOException If the writer fails.
+   * @see com.github.jknack.handlebars.helper.FlushHelper
+   */
+  public void flush() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
   /**
    * Build block params from given context.
    *
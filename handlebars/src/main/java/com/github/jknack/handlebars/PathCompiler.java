@@ -99,6 +99,21 @@ public final class PathCompiler {
     return path;
   }
 
+  /**
+   * Split the property name by separator (except within a [] escaped blocked) and create an array
+   * of it. Unlike {@link #compile(String, boolean)} the path isn't shared with other callers, so
+   * state kept by path expressions (like inline caches) is private to the caller. Template nodes
+   * use this method.
+   *
+   * @param key The property's name.
+   * @param parentScopeResolution False, if we want to restrict lookup to current scope.
+   * @return A new path representation of the property (array based).
+   */
+  public static List<PathExpression> compileNew(
+      final String key, final boolean parentScopeResolution) {
+    return parse(key, !parentScopeResolution);
+  }
+
   /**
    * Split the property name by separator (except within a [] escaped blocked) and create an array
    * of it.
@@ -0,0 +1,97 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link Handlebars#precompileAll(com.github.jknack.handlebars.io.TemplateLoader,
+ * java.util.function.Predicate)}: compiled templates, failures and timing.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class PrecompileReport {
+
+  /** Compiled template locations. */
+  private final List<String> templates;
+
+  /** Failures by template location. */
+  private final Map<String, Exception> failures;
+
+  /** Elapsed time. */
+  private final Duration elapsed;
+
+  /**
+   * Creates a new {@link PrecompileReport}.
+   *
+   * @param templates Compiled template locations.
+   * @param failures Failures by template location.
+   * @param elapsed Elapsed time.
+   */
+  public PrecompileReport(
+      final List<String> templates, final Map<String, Exception> failures, final Duration elapsed) {
+    this.templates = Collections.unmodifiableList(templates);
+    this.failures = Collections.unmodifiableMap(failures);
+    this.elapsed = elapsed;
+  }
+
+  /**
+   * Compiled template locations.
+   *
+   * @return Compiled template locations.
+   */
+  public List<String> templates() {
+    return templates;
+  }
+
+  /**
+   * Templates that couldn't be compiled, by template location.
+   *
+   * @return Failures by template location.
+   */
+  public Map<String, Exception> failures() {
+    return failures;
+  }
+
+  /**
+   * True, if one or more templates couldn't be compiled.
+   *
+   * @return True, if one or more templates couldn't be compiled.
+   */
+  public boolean hasFailures() {
+    return !failures.isEmpty();
+  }
+
+  /**
+   * Time spent listing and compiling templates.
+   *
+   * @return Time spent listing and compiling templates.
+   */
+  public Duration elapsed() {
+    return elapsed;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buffer = new StringBuilder();
+    buffer
+        .append("precompiled ")
+        .append(templates.size())
+        .append(" template(s) in ")
+        .append(elapsed.toMillis())
+        .append("ms");
+    if (hasFailures()) {
+      buffer.append(", ").append(failures.size()).append(" failure(s):");
+      failures.forEach(
+          (location, x) -> buffer.append("\n  ").append(location).append(": ").append(x));
+    }
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * Get notified about template compilation and rendering. Useful for finding out which template,
+ * partial or helper is slow, without attaching a profiler.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * HistogramRenderListener metrics = new HistogramRenderListener();
+ *
+ * Handlebars handlebars = new Handlebars().with(metrics);
+ * ...
+ * System.out.println(metrics);
+ * </pre>
+ *
+ * <p>Listeners are called from the rendering threads, so implementations must be thread-safe and
+ * fast. All the methods have an empty default implementation. Times are in nanoseconds and they
+ * are inclusive: the time of a partial includes the time of the helpers and partials it calls.
+ *
+ * <p>The default listener is {@link #NOOP}, which costs a field read and a reference comparison
+ * per template, partial or helper call.
+ *
+ * @author edgar
+ * @since 4.5.5
+ * @see com.github.jknack.handlebars.metrics.HistogramRenderListener
+ */
+public interface RenderListener {
+
+  /**
+   * Result of a {@link com.github.jknack.handlebars.cache.TemplateCache} lookup.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  enum CacheStatus {
+    /** The template was found in the cache. */
+    HIT,
+
+    /** The template was parsed for the first time. */
+    MISS,
+
+    /** The template was parsed again, because it changed since it was parsed last time. */
+    RELOAD
+  }
+
+  /** Listener that does nothing. */
+  RenderListener NOOP = new RenderListener() {};
+
+  /**
+   * A template has been compiled by {@link Handlebars#compile(TemplateSource, String, String)}.
+   *
+   * @param source The template source.
+   * @param status The cache lookup result.
+   * @param nanos Compilation time, including the cache lookup.
+   */
+  default void compiled(final TemplateSource source, final CacheStatus status, final long nanos) {}
+
+  /**
+   * A template is going to be rendered. Partials don't report render events, see {@link
+   * #partialEnter(String)}.
+   *
+   * @param filename The template filename.
+   */
+  default void renderStart(final String filename) {}
+
+  /**
+   * A template has been rendered, with or without errors.
+   *
+   * @param filename The template filename.
+   * @param nanos Render time.
+   */
+  default void renderEnd(final String filename, final long nanos) {}
+
+  /**
+   * A partial is going to be rendered.
+   *
+   * @param name The partial name.
+   */
+  default void partialEnter(final String name) {}
+
+  /**
+   * A partial has been rendered, with or without errors.
+   *
+   * @param name The partial name.
+   * @param nanos Render time.
+   */
+  default void partialExit(final String name, final long nanos) {}
+
+  /**
+   * A helper has been called, with or without errors.
+   *
+   * @param name The helper name.
+   * @param nanos Helper time. For block helpers, it includes the time of rendering the block.
+   */
+  default void helper(final String name, final long nanos) {}
+}
@@ -6,9 +6,17 @@
 package com.github.jknack.handlebars;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import com.github.jknack.handlebars.internal.TemplatePublisher;
 
 /**
  * A compiled template created by {@link Handlebars#compileInline(String)}.
@@ -127,6 +135,60 @@ public interface Template {
    */
   String apply(Context context) throws IOException;
 
+  /**
+   * Merge the template tree using the given context and write the output as bytes, encoded with
+   * the {@link Handlebars#getCharset()} of the handlebars object that compiled this template.
+   * Static text is encoded once at compile time, so only dynamic values are encoded while
+   * rendering. The output stream isn't closed.
+   *
+   * <p>The default implementation encodes the output of {@link #apply(Object, Writer)} as UTF-8
+   * (the default charset of {@link Handlebars}). Templates compiled by {@link Handlebars} override
+   * it.
+   *
+   * @param context The context object. May be null.
+   * @param output The output stream. Required.
+   * @throws IOException If a resource cannot be loaded.
+   */
+  default void write(final Object context, final OutputStream output) throws IOException {
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    apply(context, writer);
+    writer.flush();
+  }
+
+  /**
+   * Merge the template tree using the given model and publish the output as a stream of byte
+   * chunks. Rendering starts once the subscriber requests the first chunk and runs on a task
+   * submitted to the given executor. When the subscriber's demand is exhausted, the task waits for
+   * more demand, so at most one chunk (8KB) is kept in memory. Each subscription renders the
+   * template again, with a new {@link Context}.
+   *
+   * <p>Handlebars templates are rendered by a blocking tree walk, so a task waiting for demand
+   * holds an executor thread. Use an executor that doesn't run tasks on the caller thread, like a
+   * thread pool or a virtual thread per task executor.
+   *
+   * @param model The model. May be null, must not be a {@link Context}.
+   * @param executor Executor for the rendering tasks. Required.
+   * @param earlyFlush True, to emit a chunk per <code>{{flush}}</code> call (see {@link
+   *     com.github.jknack.handlebars.helper.FlushHelper}).
+   * @return A publisher of byte chunks.
+   */
+  default Flow.Publisher<ByteBuffer> publisher(
+      final Object model, final Executor executor, final boolean earlyFlush) {
+    return new TemplatePublisher(this, model, earlyFlush, executor);
+  }
+
+  /**
+   * Merge the template tree using the given model and publish the output as a stream of byte
+   * chunks, without early flush. See {@link #publisher(Object, Executor, boolean)}.
+   *
+   * @param model The model. May be null, must not be a {@link Context}.
+   * @param executor Executor for the rendering tasks. Required.
+   * @return A publisher of byte chunks.
+   */
+  default Flow.Publisher<ByteBuffer> publisher(final Object model, final Executor executor) {
+    return publisher(model, executor, false);
+  }
+
   /**
    * Provide the raw text.
    *
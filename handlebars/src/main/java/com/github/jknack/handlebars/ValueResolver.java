@@ -12,6 +12,7 @@ import java.util.Set;
 import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
 import com.github.jknack.handlebars.context.MethodValueResolver;
+import com.github.jknack.handlebars.context.RecordValueResolver;
 
 /**
  * A hook interface for resolving values from the {@link Context context stack}.
@@ -57,12 +58,18 @@ public interface ValueResolver {
   /**
    * Default value resolvers. Including:
    *
-   * <p>- {@link MapValueResolver} - {@link JavaBeanValueResolver} - {@link MethodValueResolver}.
+   * <p>- {@link MapValueResolver} - {@link JavaBeanValueResolver} - {@link RecordValueResolver} -
+   * {@link MethodValueResolver}.
+   *
+   * <p>Getters win over record components with the same name.
    *
    * @return Immutable list of value resolvers.
    */
   static List<ValueResolver> defaultValueResolvers() {
     return List.of(
-        MapValueResolver.INSTANCE, JavaBeanValueResolver.INSTANCE, MethodValueResolver.INSTANCE);
+        MapValueResolver.INSTANCE,
+        JavaBeanValueResolver.INSTANCE,
+        RecordValueResolver.INSTANCE,
+        MethodValueResolver.INSTANCE);
   }
 }
@@ -0,0 +1,373 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.cache;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.jknack.handlebars.HandlebarsException;
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * A bounded template cache. Templates are weighted (by default each template weights
+ * <code>1</code>) and the least recently used templates are evicted once the total weight goes
+ * over the maximum weight.
+ *
+ * <p>Loading is single-flight: concurrent misses for the same source parse the template once,
+ * other callers wait for the result. Lookups don't block: recency is recorded when the eviction
+ * lock is available and skipped otherwise, so under contention the eviction order is an
+ * approximation of LRU.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * Handlebars handlebars = new Handlebars()
+ *     .with(new BoundedTemplateCache(10_000_000, BoundedTemplateCache.SOURCE_LENGTH));
+ * }</pre>
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class BoundedTemplateCache implements TemplateCache {
+
+  /**
+   * Computes the weight of a template.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  @FunctionalInterface
+  public interface Weigher {
+
+    /**
+     * Computes the weight of a template. Must be positive.
+     *
+     * @param source The template source.
+     * @param template The template.
+     * @return Template weight.
+     */
+    long weigh(TemplateSource source, Template template);
+  }
+
+  /** Every template weights <code>1</code>: the maximum weight is the maximum size. */
+  public static final Weigher SIZE = (source, template) -> 1;
+
+  /** Template weight is the length of the template source. */
+  public static final Weigher SOURCE_LENGTH =
+      (source, template) -> Math.max(1, template.text().length());
+
+  /**
+   * A cache entry.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Entry {
+
+    /** The template source used to load the template. */
+    private final TemplateSource source;
+
+    /** Load task. */
+    private final FutureTask<Template> task;
+
+    /** Template weight, set once the entry is admitted. Guarded by the eviction lock. */
+    private long weight;
+
+    /**
+     * Creates a new {@link Entry}.
+     *
+     * @param source The template source.
+     * @param parser The parser.
+     */
+    Entry(final TemplateSource source, final Parser parser) {
+      this.source = source;
+      this.task = new FutureTask<>(() -> parser.parse(source));
+    }
+  }
+
+  /** The logging system. */
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+
+  /** Entries by source, loading or loaded. */
+  private final ConcurrentMap<TemplateSource, Entry> cache = new ConcurrentHashMap<>();
+
+  /** Loaded entries in access order. Guarded by {@link #lock}. */
+  private final LinkedHashMap<TemplateSource, Entry> lru = new LinkedHashMap<>(16, 0.75f, true);
+
+  /** Eviction lock. */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** Maximum weight. */
+  private final long maximumWeight;
+
+  /** Template weigher. */
+  private final Weigher weigher;
+
+  /** Total weight of loaded entries. Guarded by {@link #lock}. */
+  private long weight;
+
+  /** Turn on/off auto reloading of templates. */
+  private boolean reload;
+
+  /** Cache version, incremented on eviction. */
+  private final AtomicLong version = new AtomicLong();
+
+  /**
+   * Creates a new {@link BoundedTemplateCache}.
+   *
+   * @param maximumWeight Maximum weight. Must be positive.
+   * @param weigher Template weigher. Required.
+   */
+  public BoundedTemplateCache(final long maximumWeight, final Weigher weigher) {
+    isTrue(maximumWeight > 0, "The maximum weight must be positive.");
+    this.maximumWeight = maximumWeight;
+    this.weigher = notNull(weigher, "The weigher is required.");
+  }
+
+  /**
+   * Creates a new {@link BoundedTemplateCache}.
+   *
+   * @param maximumSize Maximum number of templates. Must be positive.
+   */
+  public BoundedTemplateCache(final int maximumSize) {
+    this(maximumSize, SIZE);
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      cache.clear();
+      lru.clear();
+      weight = 0;
+    } finally {
+      lock.unlock();
+    }
+    version.incrementAndGet();
+  }
+
+  @Override
+  public void evict(final TemplateSource source) {
+    Entry entry = cache.remove(source);
+    if (entry != null) {
+      remove(entry);
+    }
+    version.incrementAndGet();
+  }
+
+  @Override
+  public Template get(final TemplateSource source, final Parser parser) throws IOException {
+    notNull(source, "The source is required.");
+    notNull(parser, "The parser is required.");
+
+    boolean interrupted = false;
+    try {
+      while (true) {
+        Entry entry = cache.get(source);
+        boolean load = false;
+        if (entry == null) {
+          Entry candidate = new Entry(source, parser);
+          entry = cache.putIfAbsent(source, candidate);
+          if (entry == null) {
+            logger.debug("Loading: {}", source);
+            entry = candidate;
+            load = true;
+            entry.task.run();
+          }
+        } else if (reload
+            && entry.task.isDone()
+            && source.lastModified() != entry.source.lastModified()) {
+          logger.debug("Reloading: {}", source);
+          if (cache.remove(source, entry)) {
+            remove(entry);
+            version.incrementAndGet();
+          }
+          continue;
+        } else {
+          logger.debug("Found in cache: {}", source);
+        }
+        try {
+          Template template = entry.task.get();
+          if (load) {
+            admit(entry, template);
+          } else {
+            touch(entry);
+          }
+          return template;
+        } catch (CancellationException ex) {
+          cache.remove(source, entry);
+        } catch (InterruptedException ex) {
+          // fall through and retry
+          interrupted = true;
+        } catch (ExecutionException ex) {
+          cache.remove(source, entry);
+          throw launderThrowable(source, ex.getCause());
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public Template getIfPresent(final TemplateSource source) {
+    Entry entry = cache.get(source);
+    if (entry == null || !entry.task.isDone()) {
+      return null;
+    }
+    try {
+      Template template = entry.task.get();
+      touch(entry);
+      return template;
+    } catch (ExecutionException | InterruptedException | CancellationException ex) {
+      // failed task: not loaded (a done task doesn't wait, so it can't be interrupted)
+      return null;
+    }
+  }
+
+  @Override
+  public BoundedTemplateCache setReload(final boolean reload) {
+    this.reload = reload;
+    return this;
+  }
+
+  @Override
+  public long version() {
+    return reload ? -1 : version.get();
+  }
+
+  /**
+   * Number of loaded templates.
+   *
+   * @return Number of loaded templates.
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return lru.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Total weight of loaded templates.
+   *
+   * @return Total weight of loaded templates.
+   */
+  public long weight() {
+    lock.lock();
+    try {
+      return weight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Add a loaded entry to the eviction order and evict the least recently used entries if the
+   * maximum weight was exceeded.
+   *
+   * @param entry The loaded entry.
+   * @param template The template.
+   */
+  private void admit(final Entry entry, final Template template) {
+    long weight = weigher.weigh(entry.source, template);
+    isTrue(weight > 0, "The template weight must be positive: %s", entry.source);
+    lock.lock();
+    try {
+      if (cache.get(entry.source) != entry) {
+        // evicted while loading
+        return;
+      }
+      entry.weight = weight;
+      lru.put(entry.source, entry);
+      this.weight += weight;
+      Iterator<Map.Entry<TemplateSource, Entry>> it = lru.entrySet().iterator();
+      while (this.weight > maximumWeight && it.hasNext()) {
+        Entry eldest = it.next().getValue();
+        it.remove();
+        this.weight -= eldest.weight;
+        cache.remove(eldest.source, eldest);
+        version.incrementAndGet();
+        logger.debug("Evicting: {}", eldest.source);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Record an access. Skipped if the eviction lock is busy.
+   *
+   * @param entry The accessed entry.
+   */
+  private void touch(final Entry entry) {
+    if (lock.tryLock()) {
+      try {
+        lru.get(entry.source);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Remove an entry from the eviction order.
+   *
+   * @param entry The entry to remove.
+   */
+  private void remove(final Entry entry) {
+    lock.lock();
+    try {
+      if (lru.remove(entry.source, entry)) {
+        weight -= entry.weight;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return a runtime exception or throw an {@link IOException}.
+   *
+   * @param source The template source. Required.
+   * @param cause The cause.
+   * @return A runtime exception.
+   * @throws IOException If the cause is an {@link IOException}.
+   */
+  private RuntimeException launderThrowable(final TemplateSource source, final Throwable cause)
+      throws IOException {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    } else if (cause instanceof IOException) {
+      throw (IOException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    } else {
+      return new HandlebarsException("Can't parse: " + source, cause);
+    }
+  }
+}
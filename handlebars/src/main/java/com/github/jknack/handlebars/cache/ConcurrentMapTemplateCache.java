@@ -10,6 +10,7 @@ import static org.apache.commons.lang3.Validate.notNull;
 import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -36,6 +37,9 @@ public class ConcurrentMapTemplateCache implements TemplateCache {
   /** Turn on/off auto reloading of templates. */
   private boolean reload;
 
+  /** Cache version, incremented on eviction. */
+  private final AtomicLong version = new AtomicLong();
+
   /**
    * Creates a new ConcurrentMapTemplateCache.
    *
@@ -54,11 +58,18 @@ public class ConcurrentMapTemplateCache implements TemplateCache {
   @Override
   public void clear() {
     cache.clear();
+    version.incrementAndGet();
   }
 
   @Override
   public void evict(final TemplateSource source) {
     cache.remove(source);
+    version.incrementAndGet();
+  }
+
+  @Override
+  public long version() {
+    return reload ? -1 : version.get();
   }
 
   @Override
@@ -70,6 +81,12 @@ public class ConcurrentMapTemplateCache implements TemplateCache {
     return cacheGet(source, parser);
   }
 
+  @Override
+  public Template getIfPresent(final TemplateSource source) {
+    Pair<TemplateSource, Template> entry = cache.get(source);
+    return entry == null ? null : entry.getValue();
+  }
+
   @Override
   public ConcurrentMapTemplateCache setReload(final boolean reload) {
     this.reload = reload;
@@ -0,0 +1,318 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.cache;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.CompositeTemplateLoader;
+import com.github.jknack.handlebars.io.FileTemplateLoader;
+import com.github.jknack.handlebars.io.TemplateLoader;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * A template cache that reloads templates when they change on disk. The base directories of the
+ * {@link FileTemplateLoader}s (including the delegates of a {@link CompositeTemplateLoader}) are
+ * watched by a background thread using a {@link WatchService}:
+ *
+ * <ul>
+ *   <li>A modified or deleted file is evicted from the cache.
+ *   <li>A new file clears the cache, because it might shadow a template resolved by another
+ *       loader.
+ * </ul>
+ *
+ * <p>Unlike {@link TemplateCache#setReload(boolean)}, there is no {@link
+ * TemplateSource#lastModified()} check per lookup: a cache hit costs the same as in the delegate
+ * cache. Templates that depend on a changed template (like callers of a partial) are invalidated
+ * through {@link TemplateCache#version()}.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * TemplateLoader loader = new FileTemplateLoader("templates");
+ * FileWatchTemplateCache cache =
+ *     new FileWatchTemplateCache(new ConcurrentMapTemplateCache(), loader);
+ * Handlebars handlebars = new Handlebars(loader).with(cache);
+ * ...
+ * cache.close();
+ * }</pre>
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class FileWatchTemplateCache implements TemplateCache, Closeable {
+
+  /** The logging system. */
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+
+  /** The delegate cache. */
+  private final TemplateCache cache;
+
+  /** The watch service. */
+  private final WatchService watcher;
+
+  /** Watched directories by key. */
+  private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
+
+  /** Watched base directories. */
+  private final List<Path> roots = new ArrayList<>();
+
+  /**
+   * Cached sources by file. Entries are never removed: a source might be indexed by a load in
+   * progress while the cache is cleared.
+   */
+  private final Map<Path, Set<TemplateSource>> sources = new ConcurrentHashMap<>();
+
+  /** The watcher thread. */
+  private final Thread thread;
+
+  /** Turn on/off auto reloading of templates. */
+  private volatile boolean reload = true;
+
+  /**
+   * Creates a new {@link FileWatchTemplateCache} and start watching the base directories of the
+   * file template loaders.
+   *
+   * @param cache The delegate cache. Required.
+   * @param loader The template loader. Must be or contain a {@link FileTemplateLoader}.
+   * @throws IOException If the watch service can't be created or a directory can't be watched.
+   */
+  public FileWatchTemplateCache(final TemplateCache cache, final TemplateLoader loader)
+      throws IOException {
+    this.cache = notNull(cache, "The cache is required.").setReload(false);
+    notNull(loader, "The loader is required.");
+    roots(loader, roots);
+    isTrue(!roots.isEmpty(), "No file template loader found: %s", loader);
+
+    this.watcher = FileSystems.getDefault().newWatchService();
+    try {
+      for (Path root : roots) {
+        register(root);
+      }
+    } catch (IOException ex) {
+      watcher.close();
+      throw ex;
+    }
+    this.thread = new Thread(this::watch, "handlebars-file-watcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void clear() {
+    cache.clear();
+  }
+
+  @Override
+  public void evict(final TemplateSource source) {
+    cache.evict(source);
+  }
+
+  @Override
+  public Template get(final TemplateSource source, final Parser parser) throws IOException {
+    // the parser is called on cache misses only: index the source there
+    return cache.get(
+        source,
+        s -> {
+          Path path = path(s.filename());
+          if (watched(path)) {
+            sources.computeIfAbsent(path, k -> ConcurrentHashMap.newKeySet()).add(s);
+          }
+          return parser.parse(s);
+        });
+  }
+
+  @Override
+  public Template getIfPresent(final TemplateSource source) {
+    return cache.getIfPresent(source);
+  }
+
+  /**
+   * Turn on/off reloading of changed templates. File changes are ignored while reloading is off.
+   *
+   * @param reload True, to reload changed templates.
+   * @return This template cache.
+   */
+  @Override
+  public FileWatchTemplateCache setReload(final boolean reload) {
+    this.reload = reload;
+    return this;
+  }
+
+  @Override
+  public long version() {
+    return cache.version();
+  }
+
+  /** Stop watching files. */
+  @Override
+  public void close() throws IOException {
+    thread.interrupt();
+    watcher.close();
+  }
+
+  /**
+   * Collect the base directories of file template loaders.
+   *
+   * @param loader The template loader.
+   * @param roots The base directories.
+   */
+  private static void roots(final TemplateLoader loader, final List<Path> roots) {
+    if (loader instanceof FileTemplateLoader) {
+      Path root = path(loader.getPrefix());
+      if (root != null && Files.isDirectory(root)) {
+        roots.add(root);
+      }
+    } else if (loader instanceof CompositeTemplateLoader) {
+      for (TemplateLoader delegate : ((CompositeTemplateLoader) loader).getDelegates()) {
+        roots(delegate, roots);
+      }
+    }
+  }
+
+  /**
+   * Watch a directory and all its sub-directories.
+   *
+   * @param root The directory.
+   * @throws IOException If a directory can't be watched.
+   */
+  private void register(final Path root) throws IOException {
+    Files.walkFileTree(
+        root,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(
+              final Path dir, final BasicFileAttributes attrs) throws IOException {
+            WatchKey key = dir.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            keys.put(key, dir);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+  }
+
+  /** Process file events until the watch service is closed. */
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watcher.take();
+        Path dir = keys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+          WatchEvent.Kind<?> kind = event.kind();
+          if (kind == OVERFLOW) {
+            changed();
+            continue;
+          }
+          if (dir == null) {
+            continue;
+          }
+          Path file = dir.resolve((Path) event.context());
+          if (kind == ENTRY_CREATE) {
+            if (Files.isDirectory(file)) {
+              try {
+                register(file);
+              } catch (IOException ex) {
+                logger.warn("Unable to watch: {}", file, ex);
+              }
+            }
+            changed();
+          } else {
+            changed(file);
+          }
+        }
+        if (!key.reset()) {
+          keys.remove(key);
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException ex) {
+      logger.debug("Stop watching files");
+    }
+  }
+
+  /** Many files changed or a new file was created: clear the cache. */
+  private void changed() {
+    if (reload) {
+      logger.debug("Reloading all templates");
+      clear();
+    }
+  }
+
+  /**
+   * A file changed: evict the templates loaded from it.
+   *
+   * @param file The changed file.
+   */
+  private void changed(final Path file) {
+    if (reload) {
+      Set<TemplateSource> sources = this.sources.get(file);
+      if (sources != null) {
+        for (TemplateSource source : sources) {
+          logger.debug("Reloading: {}", source);
+          cache.evict(source);
+        }
+      }
+    }
+  }
+
+  /**
+   * True, if the file is inside a watched directory.
+   *
+   * @param path The file. Optional.
+   * @return True, if the file is inside a watched directory.
+   */
+  private boolean watched(final Path path) {
+    if (path != null) {
+      for (Path root : roots) {
+        if (path.startsWith(root)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Convert a filename to an absolute and normalized path.
+   *
+   * @param filename The filename.
+   * @return An absolute path or <code>null</code> if the filename isn't a valid path.
+   */
+  private static Path path(final String filename) {
+    try {
+      return Paths.get(filename).toAbsolutePath().normalize();
+    } catch (InvalidPathException ex) {
+      return null;
+    }
+  }
+}
@@ -14,6 +14,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -41,6 +42,9 @@ public class HighConcurrencyTemplateCache implements TemplateCache {
   /** Turn on/off auto reloading of templates. */
   private boolean reload;
 
+  /** Cache version, incremented on eviction. */
+  private final AtomicLong version = new AtomicLong();
+
   /**
    * Creates a new HighConcurrencyTemplateCache.
    *
@@ -59,11 +63,18 @@ public class HighConcurrencyTemplateCache implements TemplateCache {
   @Override
   public void clear() {
     cache.clear();
+    version.incrementAndGet();
   }
 
   @Override
   public void evict(final TemplateSource source) {
     cache.remove(source);
+    version.incrementAndGet();
+  }
+
+  @Override
+  public long version() {
+    return reload ? -1 : version.get();
   }
 
   @Override
@@ -75,6 +86,20 @@ public class HighConcurrencyTemplateCache implements TemplateCache {
     return cacheGet(source, parser);
   }
 
+  @Override
+  public Template getIfPresent(final TemplateSource source) {
+    Future<Pair<TemplateSource, Template>> future = cache.get(source);
+    if (future == null || !future.isDone()) {
+      return null;
+    }
+    try {
+      return future.get().getValue();
+    } catch (ExecutionException | InterruptedException | CancellationException ex) {
+      // failed task: not loaded (a done task doesn't wait, so it can't be interrupted)
+      return null;
+    }
+  }
+
   @Override
   public HighConcurrencyTemplateCache setReload(final boolean reload) {
     this.reload = reload;
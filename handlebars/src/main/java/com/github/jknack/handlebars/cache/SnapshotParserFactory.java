@@ -0,0 +1,261 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.cache;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.ParserFactory;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.internal.HbsParserFactory;
+import com.github.jknack.handlebars.internal.TemplateSnapshot;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * A {@link ParserFactory} backed by a directory of binary template snapshots. Before parsing, the
+ * content hash of the template is computed and, if a snapshot exists for it, the template is
+ * loaded from the snapshot without running the lexer or the parser. Otherwise, the template is
+ * parsed by the delegate factory and a new snapshot is saved.
+ *
+ * <p>The snapshot key includes the template content, the delimiters, the pretty print option, the
+ * delegate factory and the snapshot format version, so snapshots never need to be invalidated
+ * manually. Unreadable snapshots are ignored and parsed again. Usage:
+ *
+ * <pre>
+ * Handlebars handlebars = new Handlebars()
+ *     .with(new SnapshotParserFactory(Paths.get("target", "hbs-snapshots")));
+ * </pre>
+ *
+ * <p>Snapshots generated at build time (see the <code>snapshot</code> goal of the
+ * handlebars-maven-plugin) are loaded from the classpath, read-only:
+ *
+ * <pre>
+ * Handlebars handlebars = new Handlebars()
+ *     .with(SnapshotParserFactory.classpath("/META-INF/handlebars/snapshots"));
+ * </pre>
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class SnapshotParserFactory implements ParserFactory {
+
+  /** Snapshot file extension. */
+  public static final String EXTENSION = ".hbsc";
+
+  /** The logging system. */
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+
+  /** The parser factory used on snapshot misses. */
+  private final ParserFactory delegate;
+
+  /** The snapshot directory or <code>null</code> for classpath snapshots. */
+  private final Path directory;
+
+  /** The snapshot classpath location or <code>null</code> for directory snapshots. */
+  private final String location;
+
+  /**
+   * Creates a new {@link SnapshotParserFactory}.
+   *
+   * @param delegate The parser factory used on snapshot misses. Required.
+   * @param directory The snapshot directory. Required.
+   */
+  public SnapshotParserFactory(final ParserFactory delegate, final Path directory) {
+    this(delegate, notNull(directory, "The directory is required."), null);
+  }
+
+  /**
+   * Creates a new {@link SnapshotParserFactory}.
+   *
+   * @param delegate The parser factory used on snapshot misses. Required.
+   * @param directory The snapshot directory or <code>null</code>.
+   * @param location The snapshot classpath location or <code>null</code>.
+   */
+  private SnapshotParserFactory(
+      final ParserFactory delegate, final Path directory, final String location) {
+    this.delegate = notNull(delegate, "The delegate is required.");
+    this.directory = directory;
+    this.location = location;
+  }
+
+  /**
+   * Creates a new {@link SnapshotParserFactory} backed by the default parser factory.
+   *
+   * @param directory The snapshot directory. Required.
+   */
+  public SnapshotParserFactory(final Path directory) {
+    this(new HbsParserFactory(), directory);
+  }
+
+  /**
+   * Creates a read-only {@link SnapshotParserFactory} that loads snapshots from the classpath.
+   * Templates without a snapshot are parsed by the delegate factory.
+   *
+   * @param delegate The parser factory used on snapshot misses. Must be of the same type used to
+   *     generate the snapshots. Required.
+   * @param location The snapshot classpath location, like <code>/META-INF/handlebars/snapshots
+   *     </code>. Required.
+   * @return A new {@link SnapshotParserFactory}.
+   */
+  public static SnapshotParserFactory classpath(
+      final ParserFactory delegate, final String location) {
+    notNull(location, "The location is required.");
+    String prefix = location.startsWith("/") ? location : "/" + location;
+    return new SnapshotParserFactory(
+        delegate, null, prefix.endsWith("/") ? prefix : prefix + "/");
+  }
+
+  /**
+   * Creates a read-only {@link SnapshotParserFactory} backed by the default parser factory that
+   * loads snapshots from the classpath.
+   *
+   * @param location The snapshot classpath location, like <code>/META-INF/handlebars/snapshots
+   *     </code>. Required.
+   * @return A new {@link SnapshotParserFactory}.
+   */
+  public static SnapshotParserFactory classpath(final String location) {
+    return classpath(new HbsParserFactory(), location);
+  }
+
+  /**
+   * Compute the snapshot file name of a template. Tools generating snapshots ahead of time save
+   * them with this name.
+   *
+   * @param handlebars The handlebars object. Required.
+   * @param startDelimiter The start delimiter. Required.
+   * @param endDelimiter The end delimiter. Required.
+   * @param content The template content. Required.
+   * @return The snapshot file name.
+   */
+  public String snapshotName(
+      final Handlebars handlebars,
+      final String startDelimiter,
+      final String endDelimiter,
+      final String content) {
+    return key(handlebars, startDelimiter, endDelimiter, content) + EXTENSION;
+  }
+
+  @Override
+  public Parser create(
+      final Handlebars handlebars, final String startDelimiter, final String endDelimiter) {
+    Parser parser = delegate.create(handlebars, startDelimiter, endDelimiter);
+    return source -> {
+      String content = Optional.ofNullable(source.content(handlebars.getCharset())).orElse("");
+      String name = snapshotName(handlebars, startDelimiter, endDelimiter, content);
+      try (InputStream in = open(name)) {
+        if (in != null) {
+          logger.debug("Loading snapshot of: {}", source);
+          return TemplateSnapshot.read(handlebars, source, new BufferedInputStream(in));
+        }
+      } catch (IOException | RuntimeException ex) {
+        logger.debug("Ignoring snapshot: {}", name, ex);
+      }
+      Template template = parser.parse(source);
+      if (directory != null) {
+        save(template, directory.resolve(name), source);
+      }
+      return template;
+    };
+  }
+
+  /**
+   * Open a snapshot.
+   *
+   * @param name The snapshot file name.
+   * @return The snapshot input or <code>null</code> if there is no snapshot.
+   * @throws IOException If the snapshot can't be open.
+   */
+  private InputStream open(final String name) throws IOException {
+    if (directory != null) {
+      Path snapshot = directory.resolve(name);
+      return Files.exists(snapshot) ? Files.newInputStream(snapshot) : null;
+    }
+    return getClass().getResourceAsStream(location + name);
+  }
+
+  /**
+   * Save a template snapshot. Errors are logged and ignored.
+   *
+   * @param template The template.
+   * @param snapshot The snapshot file.
+   * @param source The template source.
+   */
+  private void save(final Template template, final Path snapshot, final TemplateSource source) {
+    Path tmp = null;
+    try {
+      Files.createDirectories(directory);
+      tmp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+        TemplateSnapshot.write(template, out);
+      }
+      Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+      tmp = null;
+    } catch (IOException | RuntimeException ex) {
+      logger.debug("Unable to save snapshot of: {}", source, ex);
+    } finally {
+      if (tmp != null) {
+        try {
+          Files.deleteIfExists(tmp);
+        } catch (IOException ex) {
+          logger.trace("Unable to delete: {}", tmp, ex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Compute the snapshot key.
+   *
+   * @param handlebars The handlebars object.
+   * @param startDelimiter The start delimiter.
+   * @param endDelimiter The end delimiter.
+   * @param content The template content.
+   * @return A hex encoded SHA-256 hash.
+   */
+  private String key(
+      final Handlebars handlebars,
+      final String startDelimiter,
+      final String endDelimiter,
+      final String content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      String options =
+          TemplateSnapshot.VERSION
+              + "\0"
+              + delegate.getClass().getName()
+              + "\0"
+              + startDelimiter
+              + "\0"
+              + endDelimiter
+              + "\0"
+              + handlebars.prettyPrint()
+              + "\0";
+      digest.update(options.getBytes(StandardCharsets.UTF_8));
+      digest.update(content.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+}
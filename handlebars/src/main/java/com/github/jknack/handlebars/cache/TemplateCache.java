@@ -39,6 +39,31 @@ public interface TemplateCache {
    */
   Template get(TemplateSource source, Parser parser) throws IOException;
 
+  /**
+   * Return the template this cache maps the specified key to, without loading it.
+   *
+   * @param source source whose associated template is to be returned.
+   * @return A template or <code>null</code> if the template isn't loaded or the cache can't tell.
+   *     Default is: <code>null</code>.
+   */
+  default Template getIfPresent(final TemplateSource source) {
+    return null;
+  }
+
+  /**
+   * A number that changes every time a template is evicted or reloaded, or the cache is cleared.
+   * Callers that keep templates compiled through this cache (like partials) use it to know when
+   * they must ask the cache again.
+   *
+   * <p>A negative number means templates must not be kept: the cache doesn't track changes or it
+   * checks for changes on every {@link #get(TemplateSource, Parser)} call (reload mode).
+   *
+   * @return Cache version or a negative number. Default is: <code>-1</code>.
+   */
+  default long version() {
+    return -1;
+  }
+
   /**
    * Turn on/off auto reloading of templates. Auto reload is done using {@link
    * TemplateSource#lastModified()}.
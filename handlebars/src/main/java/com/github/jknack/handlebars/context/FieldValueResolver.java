@@ -5,6 +5,9 @@
  */
 package com.github.jknack.handlebars.context;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
@@ -12,6 +15,7 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.github.jknack.handlebars.ValueResolver;
 import com.github.jknack.handlebars.context.FieldValueResolver.FieldWrapper;
@@ -169,6 +173,15 @@ public class FieldValueResolver extends MemberValueResolver<FieldWrapper> {
   /** The default value resolver. */
   public static final ValueResolver INSTANCE = new FieldValueResolver();
 
+  /** Getter type of method handles. */
+  private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * True, if fields can be read using method handles. False, when a subclass overrides {@link
+   * #invokeMember(FieldWrapper, Object)}.
+   */
+  private final boolean useMethodHandles = !overrides(getClass());
+
   @Override
   public boolean matches(final FieldWrapper field, final String name) {
     return !isStatic(field) && field.getName().equals(name);
@@ -184,6 +197,55 @@ public class FieldValueResolver extends MemberValueResolver<FieldWrapper> {
     }
   }
 
+  /**
+   * Creates a method handle accessor for fields. Falls back to {@link
+   * #invokeMember(FieldWrapper, Object)} when a method handle can't be created.
+   *
+   * @param member The class member.
+   * @return A member accessor.
+   */
+  @Override
+  protected Function<Object, Object> newAccessor(final FieldWrapper member) {
+    if (!useMethodHandles || !(member instanceof FieldMember)) {
+      return super.newAccessor(member);
+    }
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.lookup().unreflectGetter(((FieldMember) member).field).asType(GETTER);
+    } catch (IllegalAccessException | RuntimeException ex) {
+      return super.newAccessor(member);
+    }
+    return context -> {
+      try {
+        return handle.invokeExact(context);
+      } catch (RuntimeException ex) {
+        throw ex;
+      } catch (Throwable ex) {
+        throw new IllegalStateException(
+            "Shouldn't be illegal to access field '" + member.getName() + "'", ex);
+      }
+    };
+  }
+
+  /**
+   * True, if the given class overrides {@link #invokeMember(FieldWrapper, Object)}.
+   *
+   * @param type A resolver class.
+   * @return True, if the given class overrides {@link #invokeMember(FieldWrapper, Object)}.
+   */
+  private static boolean overrides(final Class<?> type) {
+    Class<?> it = type;
+    while (it != FieldValueResolver.class) {
+      try {
+        it.getDeclaredMethod("invokeMember", FieldWrapper.class, Object.class);
+        return true;
+      } catch (NoSuchMethodException ex) {
+        it = it.getSuperclass();
+      }
+    }
+    return false;
+  }
+
   @Override
   protected Set<FieldWrapper> members(final Class<?> clazz) {
     Set<FieldWrapper> members = new LinkedHashSet<>();
@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import com.github.jknack.handlebars.ValueResolver;
 
@@ -31,18 +32,43 @@ import com.github.jknack.handlebars.ValueResolver;
  */
 public abstract class MemberValueResolver<M extends Member> implements ValueResolver {
 
+  /**
+   * A class member and its accessor.
+   *
+   * @param <M> The member type.
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Property<M> {
+
+    /** The class member. */
+    private final M member;
+
+    /** The member accessor, created on first use. */
+    private Function<Object, Object> accessor;
+
+    /**
+     * Creates a new {@link Property}.
+     *
+     * @param member The class member.
+     */
+    Property(final M member) {
+      this.member = member;
+    }
+  }
+
   /** A concurrent and thread-safe cache for {@link Member}. */
-  private final Map<Class<?>, Map<String, M>> cache = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<String, Property<M>>> cache = new ConcurrentHashMap<>();
 
   @Override
   public final Object resolve(final Object context, final String name) {
     Class<?> key = context.getClass();
-    Map<String, M> mcache = cache(key);
-    M member = mcache.get(name);
-    if (member == null) {
+    Map<String, Property<M>> mcache = cache(key);
+    Property<M> property = mcache.get(name);
+    if (property == null) {
       return UNRESOLVED;
     } else {
-      return invokeMember(member, context);
+      return accessor(property).apply(context);
     }
   }
 
@@ -51,14 +77,58 @@ public abstract class MemberValueResolver<M extends Member> implements ValueReso
     return UNRESOLVED;
   }
 
+  /**
+   * Creates an accessor for the given class and attribute's name. The accessor invokes the class
+   * member without looking it up, so callers can keep it and skip {@link #resolve(Object,
+   * String)} for contexts of the same class.
+   *
+   * @param type The context class.
+   * @param name The attribute's name.
+   * @return An accessor or <code>null</code> if the class has no member with the given name.
+   */
+  public final Function<Object, Object> accessor(final Class<?> type, final String name) {
+    Property<M> property = cache(type).get(name);
+    if (property == null) {
+      return null;
+    }
+    return accessor(property);
+  }
+
+  /**
+   * Get or create the accessor of a property.
+   *
+   * @param property The property.
+   * @return The property accessor.
+   */
+  private Function<Object, Object> accessor(final Property<M> property) {
+    Function<Object, Object> accessor = property.accessor;
+    if (accessor == null) {
+      accessor = newAccessor(property.member);
+      property.accessor = accessor;
+    }
+    return accessor;
+  }
+
+  /**
+   * Creates an accessor for the given member. Accessors are created once per class member and
+   * reused for all the contexts of the same class. The default implementation calls {@link
+   * #invokeMember(Member, Object)}, subclasses might override it with a faster accessor.
+   *
+   * @param member The class member.
+   * @return A member accessor.
+   */
+  protected Function<Object, Object> newAccessor(final M member) {
+    return context -> invokeMember(member, context);
+  }
+
   /**
    * Get or build a class member cache.
    *
    * @param clazz Owner/key.
    * @return A class cache.
    */
-  private Map<String, M> cache(final Class<?> clazz) {
-    Map<String, M> mcache = this.cache.get(clazz);
+  private Map<String, Property<M>> cache(final Class<?> clazz) {
+    Map<String, Property<M>> mcache = this.cache.get(clazz);
     if (mcache == null) {
       mcache = new HashMap<>();
       Set<M> members = members(clazz);
@@ -67,7 +137,7 @@ public abstract class MemberValueResolver<M extends Member> implements ValueReso
         if (isUseSetAccessible(m) && m instanceof AccessibleObject) {
           ((AccessibleObject) m).setAccessible(true);
         }
-        mcache.put(memberName(m), m);
+        mcache.put(memberName(m), new Property<>(m));
       }
       this.cache.put(clazz, mcache);
     }
@@ -171,10 +241,10 @@ public abstract class MemberValueResolver<M extends Member> implements ValueReso
     } else if (context instanceof Collection) {
       return Collections.emptySet();
     }
-    Collection<M> members = cache(context.getClass()).values();
+    Collection<Property<M>> properties = cache(context.getClass()).values();
     Map<String, Object> propertySet = new LinkedHashMap<>();
-    for (M member : members) {
-      String name = memberName(member);
+    for (Property<M> property : properties) {
+      String name = memberName(property.member);
       propertySet.put(name, resolve(context, name));
     }
     return propertySet.entrySet();
@@ -5,10 +5,14 @@
  */
 package com.github.jknack.handlebars.context;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.function.Function;
 
 import com.github.jknack.handlebars.ValueResolver;
 
@@ -27,6 +31,15 @@ public class MethodValueResolver extends MemberValueResolver<Method> {
   /** Args for getters. */
   private static final Object[] EMPTY_ARGS = new Object[0];
 
+  /** Getter type of method handles. */
+  private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * True, if members can be called using method handles. False, when a subclass overrides {@link
+   * #invokeMember(Method, Object)}.
+   */
+  private final boolean useMethodHandles = !overrides(getClass());
+
   @Override
   public boolean matches(final Method method, final String name) {
     int parameterCount = method.getParameterTypes().length;
@@ -48,6 +61,56 @@ public class MethodValueResolver extends MemberValueResolver<Method> {
     }
   }
 
+  /**
+   * Creates a method handle accessor. Unlike {@link Method#invoke(Object, Object...)} method
+   * handles don't need the arguments array or the access check on each call and they are
+   * inlined by the JIT compiler. Falls back to {@link #invokeMember(Method, Object)} when a
+   * method handle can't be created.
+   *
+   * @param member The class member.
+   * @return A member accessor.
+   */
+  @Override
+  protected Function<Object, Object> newAccessor(final Method member) {
+    if (!useMethodHandles || isStatic(member)) {
+      return super.newAccessor(member);
+    }
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.lookup().unreflect(member).asType(GETTER);
+    } catch (IllegalAccessException | RuntimeException ex) {
+      return super.newAccessor(member);
+    }
+    return context -> {
+      try {
+        return handle.invokeExact(context);
+      } catch (RuntimeException ex) {
+        throw ex;
+      } catch (Throwable ex) {
+        throw new IllegalStateException("Execution of '" + member.getName() + "' failed", ex);
+      }
+    };
+  }
+
+  /**
+   * True, if the given class overrides {@link #invokeMember(Method, Object)}.
+   *
+   * @param type A resolver class.
+   * @return True, if the given class overrides {@link #invokeMember(Method, Object)}.
+   */
+  private static boolean overrides(final Class<?> type) {
+    Class<?> it = type;
+    while (it != MethodValueResolver.class) {
+      try {
+        it.getDeclaredMethod("invokeMember", Method.class, Object.class);
+        return true;
+      } catch (NoSuchMethodException ex) {
+        it = it.getSuperclass();
+      }
+    }
+    return false;
+  }
+
   @Override
   protected Set<Method> members(final Class<?> clazz) {
     Set<Method> members = new LinkedHashSet<>();
@@ -0,0 +1,241 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.context;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.github.jknack.handlebars.ValueResolver;
+
+/**
+ * A {@link Record} value resolver. Resolves values from record components.
+ *
+ * <p>Component accessors are computed once per record class, so there is no method lookup while
+ * rendering. Because accessors are keyed by the runtime class, records implementing a sealed
+ * interface are resolved through their own component tables.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public enum RecordValueResolver implements ValueResolver {
+
+  /** A singleton instance. */
+  INSTANCE;
+
+  /** Accessor type: <code>(Object)Object</code>. */
+  private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * Record component accessors.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Components {
+
+    /** Empty components, for non record classes. */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static final Components NONE = new Components(new String[0], new Function[0]);
+
+    /** Component names, in declaration order. */
+    private final String[] names;
+
+    /** Component accessors, in declaration order. */
+    private final Function<Object, Object>[] accessors;
+
+    /** Component index by name. */
+    private final Map<String, Integer> index;
+
+    /**
+     * Creates a new {@link Components}.
+     *
+     * @param names Component names.
+     * @param accessors Component accessors.
+     */
+    Components(final String[] names, final Function<Object, Object>[] accessors) {
+      this.names = names;
+      this.accessors = accessors;
+      if (names.length == 0) {
+        this.index = Collections.emptyMap();
+      } else {
+        this.index = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+          index.put(names[i], i);
+        }
+      }
+    }
+
+    /**
+     * Find a component accessor.
+     *
+     * @param name The component's name.
+     * @return A component accessor or <code>null</code>.
+     */
+    Function<Object, Object> accessor(final String name) {
+      Integer i = index.get(name);
+      return i == null ? null : accessors[i];
+    }
+  }
+
+  /** Component accessors per class. */
+  private static final ClassValue<Components> COMPONENTS =
+      new ClassValue<Components>() {
+        @Override
+        protected Components computeValue(final Class<?> type) {
+          return components(type);
+        }
+      };
+
+  @Override
+  public Object resolve(final Object context, final String name) {
+    if (context instanceof Record) {
+      Function<Object, Object> accessor = COMPONENTS.get(context.getClass()).accessor(name);
+      if (accessor != null) {
+        return accessor.apply(context);
+      }
+    }
+    return UNRESOLVED;
+  }
+
+  @Override
+  public Object resolve(final Object context) {
+    return UNRESOLVED;
+  }
+
+  /**
+   * Creates an accessor for the given class and component's name. The accessor invokes the
+   * component accessor method without looking it up.
+   *
+   * @param type The context class.
+   * @param name The component's name.
+   * @return An accessor or <code>null</code> if the class isn't a record or has no component with
+   *     the given name.
+   */
+  public Function<Object, Object> accessor(final Class<?> type, final String name) {
+    if (!Record.class.isAssignableFrom(type)) {
+      return null;
+    }
+    return COMPONENTS.get(type).accessor(name);
+  }
+
+  @Override
+  public Set<Entry<String, Object>> propertySet(final Object context) {
+    if (!(context instanceof Record)) {
+      return Collections.emptySet();
+    }
+    Components components = COMPONENTS.get(context.getClass());
+    return new AbstractSet<Entry<String, Object>>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+          private int i;
+
+          @Override
+          public boolean hasNext() {
+            return i < components.names.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, Object> entry =
+                new AbstractMap.SimpleImmutableEntry<>(
+                    components.names[i], components.accessors[i].apply(context));
+            i += 1;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return components.names.length;
+      }
+    };
+  }
+
+  /**
+   * Build the component accessors of a record class.
+   *
+   * @param type The record class.
+   * @return Component accessors.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static Components components(final Class<?> type) {
+    RecordComponent[] components = type.getRecordComponents();
+    if (components == null || components.length == 0) {
+      return Components.NONE;
+    }
+    String[] names = new String[components.length];
+    Function<Object, Object>[] accessors = new Function[components.length];
+    for (int i = 0; i < components.length; i++) {
+      names[i] = components[i].getName();
+      accessors[i] = accessor(components[i].getAccessor());
+    }
+    return new Components(names, accessors);
+  }
+
+  /**
+   * Creates an accessor for a record component. Uses a method handle when possible and fallback
+   * to reflection.
+   *
+   * @param method The component accessor method.
+   * @return A component accessor.
+   */
+  private static Function<Object, Object> accessor(final Method method) {
+    String dn = method.getDeclaringClass().getName();
+    if (!dn.startsWith("java.") && !dn.startsWith("sun.")) {
+      try {
+        method.setAccessible(true);
+      } catch (RuntimeException ex) {
+        // not opened to us, the method handle lookup or reflection decides
+      }
+    }
+    try {
+      MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(GETTER);
+      return context -> {
+        try {
+          return handle.invokeExact(context);
+        } catch (RuntimeException ex) {
+          throw ex;
+        } catch (Throwable ex) {
+          throw new IllegalStateException("Execution of '" + method.getName() + "' failed", ex);
+        }
+      };
+    } catch (IllegalAccessException | RuntimeException x) {
+      return context -> {
+        try {
+          return method.invoke(context);
+        } catch (IllegalAccessException ex) {
+          throw new IllegalStateException(
+              "Could not access method:  '" + method.getName() + "'", ex);
+        } catch (InvocationTargetException ex) {
+          Throwable cause = ex.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw new IllegalStateException("Execution of '" + method.getName() + "' failed", cause);
+        }
+      };
+    }
+  }
+}
@@ -54,7 +54,7 @@ public enum ConditionalHelpers implements Helper<Object> {
       Object b = options.param(0, null);
       boolean result = eq(a, b);
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -91,7 +91,7 @@ public enum ConditionalHelpers implements Helper<Object> {
       Object b = options.param(0, null);
       boolean result = !eq(a, b);
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -127,7 +127,7 @@ public enum ConditionalHelpers implements Helper<Object> {
     public Object apply(final Object a, final Options options) throws IOException {
       boolean result = cmp(a, options.param(0, null)) > 0;
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -163,7 +163,7 @@ public enum ConditionalHelpers implements Helper<Object> {
     public Object apply(final Object a, final Options options) throws IOException {
       boolean result = cmp(a, options.param(0, null)) >= 0;
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -199,7 +199,7 @@ public enum ConditionalHelpers implements Helper<Object> {
     public Object apply(final Object a, final Options options) throws IOException {
       boolean result = cmp(a, options.param(0, null)) < 0;
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -235,7 +235,7 @@ public enum ConditionalHelpers implements Helper<Object> {
     public Object apply(final Object a, final Options options) throws IOException {
       boolean result = cmp(a, options.param(0, null)) <= 0;
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -291,7 +291,7 @@ public enum ConditionalHelpers implements Helper<Object> {
         }
       }
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -348,7 +348,7 @@ public enum ConditionalHelpers implements Helper<Object> {
         }
       }
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -389,7 +389,7 @@ public enum ConditionalHelpers implements Helper<Object> {
     public Object apply(final Object context, final Options options) throws IOException {
       boolean result = Handlebars.Utils.isEmpty(context);
       if (options.tagType == TagType.SECTION) {
-        return result ? options.fn() : options.inverse();
+        return block(result, options);
       }
       return result ? options.hash("yes", true) : options.hash("no", false);
     }
@@ -430,6 +430,22 @@ public enum ConditionalHelpers implements Helper<Object> {
     return value;
   }
 
+  /**
+   * Render the block or inverse block straight into the helper output.
+   *
+   * @param result The condition result.
+   * @param options The helper options.
+   * @return The helper output.
+   * @throws IOException If a resource cannot be loaded.
+   */
+  protected Object block(final boolean result, final Options options) throws IOException {
+    Options.Buffer buffer = options.buffer();
+    if (result) {
+      return options.fn(options.context, buffer);
+    }
+    return options.inverse(options.context, buffer);
+  }
+
   /**
    * Generate double from value or throw existing exception.
    *
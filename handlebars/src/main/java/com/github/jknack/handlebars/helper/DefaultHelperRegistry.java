@@ -20,14 +20,17 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,11 +40,15 @@ import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Helper;
 import com.github.jknack.handlebars.HelperRegistry;
 import com.github.jknack.handlebars.internal.Files;
-import com.github.jknack.handlebars.internal.Throwing;
+import com.github.jknack.handlebars.internal.ScriptEnginePool;
 
 /**
  * Default implementation of {@link HelperRegistry}.
  *
+ * <p>JavaScript helpers run on a pool of Nashorn engines (see {@link #setScriptEngines(int)}):
+ * every engine evaluates the registered helper sources, and each helper call runs on an engine
+ * owned by the calling thread.
+ *
  * @author edgar
  * @since 1.2.0
  */
@@ -71,8 +78,12 @@ public class DefaultHelperRegistry implements HelperRegistry {
   /** Charset. */
   private Charset charset = StandardCharsets.UTF_8;
 
-  /** Engine. */
-  private ScriptEngine engine;
+  /** JavaScript helper sources that were evaluated without errors, in registration order. */
+  private final List<String> scripts = new CopyOnWriteArrayList<>();
+
+  /** Nashorn engines with the JavaScript helpers loaded. */
+  private final ScriptEnginePool<ScriptHelpers> engines =
+      new ScriptEnginePool<>(Runtime.getRuntime().availableProcessors(), ScriptHelpers::new);
 
   /** ES6's let/const declaration Pattern. */
   private Pattern es6VarPattern = Pattern.compile("(?:^|[\\s(;])(let|const)\\s+");
@@ -174,11 +185,34 @@ public class DefaultHelperRegistry implements HelperRegistry {
       throws IOException {
     notNull(filename, "The filename is required.");
     notEmpty(source, "The source is required.");
-    ScriptEngine engine = engine();
-    Throwing.run(() -> engine.eval(adaptES6Literals(source)));
+    String script = adaptES6Literals(source);
+    synchronized (scripts) {
+      // evaluate on a borrowed engine first, other engines get the source once it works
+      Set<String> names = engines.apply(engine -> engine.evaluate(scripts, script));
+      scripts.add(script);
+      for (String name : names) {
+        registerHelper(name, scriptHelper(name));
+      }
+    }
     return this;
   }
 
+  /**
+   * Creates a helper that runs a JavaScript helper on a pooled engine.
+   *
+   * @param name The helper's name.
+   * @return A helper.
+   */
+  private Helper<Object> scriptHelper(final String name) {
+    return (context, options) ->
+        engines.apply(
+            engine -> {
+              engine.update(scripts);
+              Helper<Object> helper = engine.helpers.helper(name);
+              return helper.apply(context, options);
+            });
+  }
+
   @Override
   public Set<Entry<String, Helper<?>>> helpers() {
     return this.helpers.entrySet();
@@ -246,6 +280,7 @@ public class DefaultHelperRegistry implements HelperRegistry {
     registry.registerHelper("i18nJs", I18nHelper.i18nJs);
     registry.registerHelper(LookupHelper.NAME, LookupHelper.INSTANCE);
     registry.registerHelper(LogHelper.NAME, LogHelper.INSTANCE);
+    registry.registerHelper(FlushHelper.NAME, FlushHelper.INSTANCE);
 
     // decorator
     registry.registerDecorator("inline", InlineDecorator.INSTANCE);
@@ -276,18 +311,94 @@ public class DefaultHelperRegistry implements HelperRegistry {
   }
 
   /**
-   * @return Nashorn engine.
+   * Set the max number of Nashorn engines used by JavaScript helpers. Engines are created on
+   * demand: a new engine is created only when all the existing engines are busy. Default is the
+   * number of available processors.
+   *
+   * @param size Max number of engines. Must be greater than zero.
+   * @return This registry.
+   */
+  public DefaultHelperRegistry setScriptEngines(final int size) {
+    engines.setSize(size);
+    return this;
+  }
+
+  /**
+   * A Nashorn engine with the JavaScript helpers loaded. JavaScript helpers register themselves
+   * into a private registry, so each engine calls its own helper functions.
+   *
+   * @author edgar
+   * @since 4.5.5
    */
-  private ScriptEngine engine() {
-    synchronized (this) {
-      if (this.engine == null) {
-        this.engine = new ScriptEngineManager().getEngineByName("nashorn");
+  private static final class ScriptHelpers {
+
+    /** The Nashorn engine. */
+    private final ScriptEngine engine = new ScriptEngineManager().getEngineByName("nashorn");
+
+    /** JavaScript helpers registered by this engine. */
+    private final DefaultHelperRegistry helpers = new DefaultHelperRegistry();
 
-        this.engine.put("Handlebars_java", this);
+    /** Number of helper sources evaluated by this engine. */
+    private int evaluated;
 
-        Throwing.run(() -> engine.eval(HELPERS_ENV));
+    /**
+     * Creates a new engine.
+     *
+     * @throws ScriptException If the helper environment can't be loaded.
+     */
+    ScriptHelpers() throws ScriptException {
+      engine.put("Handlebars_java", helpers);
+      engine.eval(HELPERS_ENV);
+    }
+
+    /**
+     * Evaluate helper sources not yet evaluated by this engine.
+     *
+     * @param scripts All the helper sources, in registration order.
+     * @throws ScriptException If a helper source fails.
+     */
+    void update(final List<String> scripts) throws ScriptException {
+      while (evaluated < scripts.size()) {
+        eval(scripts.get(evaluated));
+        evaluated += 1;
       }
-      return this.engine;
+    }
+
+    /**
+     * Evaluate a new helper source, after the ones already registered. The caller must add the
+     * source to <code>scripts</code> once this method returns, before any other source.
+     *
+     * @param scripts All the helper sources, in registration order.
+     * @param script The new helper source.
+     * @return Names of the helpers registered by the new source.
+     * @throws ScriptException If a helper source fails.
+     */
+    Set<String> evaluate(final List<String> scripts, final String script)
+        throws ScriptException {
+      update(scripts);
+      Set<String> names = eval(script);
+      evaluated += 1;
+      return names;
+    }
+
+    /**
+     * Evaluate a helper source.
+     *
+     * @param script The helper source.
+     * @return Names of the helpers registered by the source.
+     * @throws ScriptException If the helper source fails.
+     */
+    private Set<String> eval(final String script) throws ScriptException {
+      Map<String, Helper<?>> before = new HashMap<>(helpers.helpers);
+      engine.eval(script);
+      Set<String> names = new HashSet<>();
+      helpers.helpers.forEach(
+          (name, helper) -> {
+            if (before.get(name) != helper) {
+              names.add(name);
+            }
+          });
+      return names;
     }
   }
 }
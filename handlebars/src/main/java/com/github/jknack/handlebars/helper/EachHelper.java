@@ -7,7 +7,9 @@ package com.github.jknack.handlebars.helper;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 
 import com.github.jknack.handlebars.Context;
@@ -19,6 +21,10 @@ import com.github.jknack.handlebars.Template;
  * You can iterate over a list using the built-in each helper. Inside the block, you can use <code>
  * this</code> to reference the element being iterated over.
  *
+ * <p>A single context is created per loop and reused for every element (see {@link
+ * Context.Iteration}). Helpers that keep <code>options.context</code> after they return must keep
+ * a {@link Context#snapshot()}.
+ *
  * @author edgar.espina
  * @since 0.3.0
  */
@@ -37,60 +43,42 @@ public class EachHelper implements Helper<Object> {
       Options.Buffer buffer = options.buffer();
       Iterator<Object> loop = ((Iterable) context).iterator();
       int base = options.hash("base", 0);
-      int index = base;
-      boolean even = index % 2 == 0;
-      Context parent = options.context;
+      boolean blockParams = options.blockParams.size() > 0;
+      Context.Iteration itCtx = Context.newIteration(options.context, base);
       Template fn = options.fn;
       while (loop.hasNext()) {
         Object it = loop.next();
-        Context itCtx = Context.newContext(parent, it);
-        itCtx
-            .combine("@key", index)
-            .combine("@index", index)
-            .combine("@first", index == base ? "first" : "")
-            .combine("@last", !loop.hasNext() ? "last" : "")
-            .combine("@odd", even ? "" : "odd")
-            .combine("@even", even ? "even" : "")
-            // 1-based index
-            .combine("@index_1", index + 1);
-        buffer.append(options.apply(fn, itCtx, Arrays.asList(it, index)));
-        index += 1;
-        even = !even;
+        itCtx.next(it, !loop.hasNext());
+        List<Object> values =
+            blockParams ? Arrays.asList(it, itCtx.index()) : Collections.emptyList();
+        options.apply(fn, itCtx, values, buffer);
       }
       // empty?
-      if (base == index) {
-        buffer.append(options.inverse());
+      if (base > itCtx.index()) {
+        options.inverse(options.context, buffer);
       }
       return buffer;
     } else if (context != null) {
-      int index = 0;
       Iterator loop = options.propertySet(context).iterator();
-      Context parent = options.context;
-      boolean first = true;
       Options.Buffer buffer = options.buffer();
+      boolean blockParams = options.blockParams.size() > 0;
+      Context.Iteration itCtx = Context.newIteration(options.context, 0);
       Template fn = options.fn;
       while (loop.hasNext()) {
         Entry entry = (Entry) loop.next();
         Object key = entry.getKey();
         Object value = entry.getValue();
-        Context itCtx =
-            Context.newBuilder(parent, value)
-                .combine("@key", key)
-                .combine("@index", index)
-                .combine("@first", first ? "first" : "")
-                .combine("@last", !loop.hasNext() ? "last" : "")
-                .build();
-        buffer.append(options.apply(fn, itCtx, Arrays.asList(value, key)));
-        first = false;
-        index++;
+        itCtx.next(key, value, !loop.hasNext());
+        List<Object> values = blockParams ? Arrays.asList(value, key) : Collections.emptyList();
+        options.apply(fn, itCtx, values, buffer);
       }
       // empty?
-      if (first) {
-        buffer.append(options.inverse());
+      if (itCtx.index() < 0) {
+        options.inverse(options.context, buffer);
       }
       return buffer;
     } else {
-      return options.inverse();
+      return options.inverse(options.context, options.buffer());
     }
   }
 }
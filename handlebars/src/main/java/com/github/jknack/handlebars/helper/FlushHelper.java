@@ -0,0 +1,85 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.helper;
+
+import java.io.IOException;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Helper;
+import com.github.jknack.handlebars.Options;
+
+/**
+ * Mark an early flush point. Usage:
+ *
+ * <pre>
+ * &lt;head&gt;
+ *   &lt;link rel="stylesheet" href="/app.css"&gt;
+ * &lt;/head&gt;
+ * {{flush}}
+ * &lt;body&gt;
+ *   {{slowHelper}}
+ * </pre>
+ *
+ * When early flush is enabled for a render (see {@link #enable(Context)}), the output written so
+ * far is flushed to the client, so the browser starts fetching resources while the rest of the page
+ * is still being rendered. When partial blocks aren't pre-evaluated (see {@link
+ * com.github.jknack.handlebars.Handlebars#preEvaluatePartialBlocks(boolean)}), early flush also
+ * happens before the <code>{{&gt; @partial-block}}</code> of a layout, right after the layout
+ * prefix. Pre-evaluation (the default) runs the block before the layout prefix is written, so this
+ * flush point has no effect then: set <code>preEvaluatePartialBlocks(false)</code> to get it.
+ *
+ * <p>Otherwise, <code>flush</code> isn't a helper: <code>{{flush}}</code> and <code>
+ * {{#flush}}...{{/flush}}</code> render the <code>flush</code> attribute of the model as usual.
+ *
+ * <p>Flush points inside block helpers that render into a string (instead of the output writer)
+ * have no effect.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class FlushHelper implements Helper<Object> {
+
+  /** A singleton instance of this helper. */
+  public static final Helper<Object> INSTANCE = new FlushHelper();
+
+  /** The helper's name. */
+  public static final String NAME = "flush";
+
+  /** Data attribute that turns on early flush. */
+  public static final String ENABLED = FlushHelper.class.getName() + "#enabled";
+
+  @Override
+  public Object apply(final Object context, final Options options) throws IOException {
+    if (Boolean.TRUE.equals(options.data(ENABLED))) {
+      options.flush();
+    }
+    if (options.tagType.inline()) {
+      // don't hide a 'flush' attribute of the model
+      return options.context.get(NAME);
+    }
+    return options.fn();
+  }
+
+  /**
+   * Turn on early flush for a render.
+   *
+   * @param context The render context. Required.
+   * @return The render context.
+   */
+  public static Context enable(final Context context) {
+    return context.data(ENABLED, true);
+  }
+
+  /**
+   * True, if early flush is enabled for the given render.
+   *
+   * @param context The render context. Required.
+   * @return True, if early flush is enabled for the given render.
+   */
+  public static boolean enabled(final Context context) {
+    return Boolean.TRUE.equals(context.data(ENABLED));
+  }
+}
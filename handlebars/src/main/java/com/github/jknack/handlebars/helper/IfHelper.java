@@ -30,9 +30,9 @@ public class IfHelper implements Helper<Object> {
   public Object apply(final Object context, final Options options) throws IOException {
     Buffer buffer = options.buffer();
     if (options.isFalsy(context)) {
-      buffer.append(options.inverse());
+      options.inverse(options.context, buffer);
     } else {
-      buffer.append(options.fn());
+      options.fn(options.context, buffer);
     }
     return buffer;
   }
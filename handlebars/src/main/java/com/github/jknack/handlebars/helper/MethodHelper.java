@@ -8,15 +8,22 @@ package com.github.jknack.handlebars.helper;
 import static org.apache.commons.lang3.Validate.notNull;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.commons.lang3.ClassUtils;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Helper;
 import com.github.jknack.handlebars.Options;
 
 /**
- * Wrap a method as Handlebars helper.
+ * Wrap a method as Handlebars helper. The argument binding and a method handle are computed once,
+ * so calling the helper doesn't use reflection.
  *
  * @author edgar.espina
  * @see Handlebars#registerHelpers(Object)
@@ -27,12 +34,37 @@ public class MethodHelper implements Helper<Object> {
   /** No args. */
   private static final Object[] NO_ARGS = new Object[0];
 
+  /** Argument binding: the helper context. */
+  private static final int CONTEXT = -1;
+
+  /** Argument binding: the helper options. */
+  private static final int OPTIONS = -2;
+
+  /** Max number of arguments with a specialized call path. */
+  private static final int MAX_FAST_ARITY = 3;
+
   /** The source or instance object. Might be null. */
   private Object source;
 
   /** The method to invoke. Required. */
   private Method method;
 
+  /** The method parameter types. */
+  private final Class<?>[] paramTypes;
+
+  /**
+   * Argument binding plan. One entry per method parameter: {@link #CONTEXT}, {@link #OPTIONS} or
+   * the index of the helper param.
+   */
+  private final int[] bindings;
+
+  /**
+   * Method handle bound to the source object. Parameters and return type are adapted to {@link
+   * Object}, for more than {@link #MAX_FAST_ARITY} arguments it takes an {@link Object} array.
+   * Null, when the method is called using reflection.
+   */
+  private final MethodHandle handle;
+
   /**
    * Creates a new {@link MethodHelper}.
    *
@@ -42,32 +74,64 @@ public class MethodHelper implements Helper<Object> {
   public MethodHelper(final Method method, final Object source) {
     this.method = notNull(method, "A helper method is required.");
     this.source = source;
+    this.paramTypes = method.getParameterTypes();
+    this.bindings = new int[paramTypes.length];
+    for (int i = 0; i < bindings.length; i++) {
+      if (paramTypes[i] == Options.class) {
+        bindings[i] = OPTIONS;
+      } else {
+        bindings[i] = i == 0 ? CONTEXT : i - 1;
+      }
+    }
+    this.handle = handle(method, source);
   }
 
   @Override
   public Object apply(final Object context, final Options options) throws IOException {
+    if (handle == null) {
+      return invoke(args(context, options));
+    }
     try {
-      Class<?>[] paramTypes = method.getParameterTypes();
-      Object[] args = NO_ARGS;
-      if (paramTypes.length > 0) {
-        args = new Object[paramTypes.length];
-        args[0] = paramTypes[0] == Options.class ? options : context;
-        for (int i = 1; i < args.length; i++) {
-          if (paramTypes[i] == Options.class) {
-            args[i] = options;
-          } else {
-            args[i] = options.param(i - 1, null);
-          }
-        }
+      switch (bindings.length) {
+        case 0:
+          return (Object) handle.invokeExact();
+        case 1:
+          return (Object) handle.invokeExact(arg(0, context, options));
+        case 2:
+          return (Object) handle.invokeExact(arg(0, context, options), arg(1, context, options));
+        case 3:
+          return (Object)
+              handle.invokeExact(
+                  arg(0, context, options), arg(1, context, options), arg(2, context, options));
+        default:
+          return (Object) handle.invokeExact(args(context, options));
+      }
+    } catch (ClassCastException | NullPointerException ex) {
+      Object[] args = args(context, options);
+      if (!accepts(args)) {
+        throw new IllegalArgumentException(
+            "could not execute helper: "
+                + toString(method)
+                + ", with the given arguments: "
+                + toString(args),
+            ex);
       }
+      throw ex;
+    } catch (Throwable ex) {
+      throw launderThrowable(ex);
+    }
+  }
+
+  /**
+   * Invoke the helper method using reflection.
+   *
+   * @param args Method arguments.
+   * @return Helper result.
+   * @throws IOException If the helper method throws an {@link IOException}.
+   */
+  private Object invoke(final Object[] args) throws IOException {
+    try {
       return method.invoke(source, args);
-    } catch (ArrayIndexOutOfBoundsException ex) {
-      throw new IllegalArgumentException(
-          "could not execute helper: "
-              + toString(method)
-              + ", with the given arguments: "
-              + toString(options.params),
-          ex);
     } catch (InvocationTargetException ex) {
       throw launderThrowable(ex.getCause());
     } catch (IllegalAccessException ex) {
@@ -75,6 +139,86 @@ public class MethodHelper implements Helper<Object> {
     }
   }
 
+  /**
+   * Bind a method argument.
+   *
+   * @param i The parameter index.
+   * @param context The helper context.
+   * @param options The helper options.
+   * @return The method argument.
+   */
+  private Object arg(final int i, final Object context, final Options options) {
+    int binding = bindings[i];
+    if (binding == CONTEXT) {
+      return context;
+    }
+    if (binding == OPTIONS) {
+      return options;
+    }
+    return options.param(binding, null);
+  }
+
+  /**
+   * Bind all the method arguments.
+   *
+   * @param context The helper context.
+   * @param options The helper options.
+   * @return The method arguments.
+   */
+  private Object[] args(final Object context, final Options options) {
+    if (bindings.length == 0) {
+      return NO_ARGS;
+    }
+    Object[] args = new Object[bindings.length];
+    for (int i = 0; i < args.length; i++) {
+      args[i] = arg(i, context, options);
+    }
+    return args;
+  }
+
+  /**
+   * True, if the arguments can be passed to the helper method.
+   *
+   * @param args Method arguments.
+   * @return True, if the arguments can be passed to the helper method.
+   */
+  private boolean accepts(final Object[] args) {
+    for (int i = 0; i < args.length; i++) {
+      if (args[i] == null) {
+        if (paramTypes[i].isPrimitive()) {
+          return false;
+        }
+      } else if (!ClassUtils.isAssignable(args[i].getClass(), paramTypes[i], true)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates a method handle for the helper method.
+   *
+   * @param method The helper method.
+   * @param source The source or instance object. Might be null.
+   * @return A method handle or <code>null</code> when the method isn't accessible.
+   */
+  private static MethodHandle handle(final Method method, final Object source) {
+    try {
+      MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+      if (!Modifier.isStatic(method.getModifiers())) {
+        handle = handle.bindTo(source);
+      }
+      int arity = handle.type().parameterCount();
+      handle = handle.asType(MethodType.genericMethodType(arity));
+      if (arity > MAX_FAST_ARITY) {
+        handle = handle.asSpreader(Object[].class, arity);
+      }
+      return handle;
+    } catch (IllegalAccessException | RuntimeException ex) {
+      return null;
+    }
+  }
+
   /**
    * Describe params.
    *
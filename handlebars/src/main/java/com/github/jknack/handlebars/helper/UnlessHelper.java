@@ -30,9 +30,9 @@ public class UnlessHelper implements Helper<Object> {
   public Object apply(final Object context, final Options options) throws IOException {
     Buffer buffer = options.buffer();
     if (options.isFalsy(context)) {
-      buffer.append(options.fn());
+      options.fn(options.context, buffer);
     } else {
-      buffer.append(options.inverse());
+      options.inverse(options.context, buffer);
     }
     return buffer;
   }
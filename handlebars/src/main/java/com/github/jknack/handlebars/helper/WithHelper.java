@@ -31,9 +31,9 @@ public class WithHelper implements Helper<Object> {
   public Object apply(final Object context, final Options options) throws IOException {
     Buffer buffer = options.buffer();
     if (options.isFalsy(context)) {
-      buffer.append(options.inverse(context));
+      options.inverse(context, buffer);
     } else {
-      buffer.append(options.fn(context));
+      options.fn(context, buffer);
     }
     return buffer;
   }
@@ -11,6 +11,7 @@ import static org.apache.commons.lang3.Validate.isTrue;
 import static org.apache.commons.lang3.Validate.notNull;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
@@ -80,6 +81,21 @@ abstract class BaseTemplate implements Template {
     apply(wrap(context), writer);
   }
 
+  /**
+   * Merge the template tree using the given context and write the output encoded with {@link
+   * Handlebars#getCharset()}. The output stream isn't closed.
+   *
+   * @param context The context object. May be null.
+   * @param output The output stream. Required.
+   * @throws IOException If a resource cannot be loaded.
+   */
+  @Override
+  public void write(final Object context, final OutputStream output) throws IOException {
+    ByteWriter writer = new ByteWriter(output, handlebars.getCharset());
+    apply(wrap(context), writer);
+    writer.drain();
+  }
+
   @Override
   public String apply(final Context context) throws IOException {
     FastStringWriter writer = new FastStringWriter();
@@ -89,6 +105,12 @@ abstract class BaseTemplate implements Template {
 
   @Override
   public void apply(final Context context, final Writer writer) throws IOException {
+    if (handlebars.asyncHelpers() && !(writer instanceof SlotWriter)) {
+      SlotWriter slots = new SlotWriter(writer);
+      apply(context, slots);
+      slots.drain();
+      return;
+    }
     boolean decorate = decorate();
     try {
       if (decorate) {
@@ -98,16 +120,7 @@ abstract class BaseTemplate implements Template {
     } catch (HandlebarsException ex) {
       throw ex;
     } catch (Exception ex) {
-      String evidence = toString();
-      String reason = ex.toString();
-      String message = filename + ":" + line + ":" + column + ": " + reason + "\n";
-      message += "    " + join(split(evidence, "\n"), "\n    ");
-      HandlebarsError error =
-          new HandlebarsError(filename, line, column, reason, evidence, message);
-      HandlebarsException hex = new HandlebarsException(error, ex);
-      // Override the stack-trace
-      hex.setStackTrace(ex.getStackTrace());
-      throw hex;
+      throw error(ex);
     } finally {
       if (decorate) {
         after(context, writer);
@@ -115,6 +128,24 @@ abstract class BaseTemplate implements Template {
     }
   }
 
+  /**
+   * Creates a {@link HandlebarsException} that reports the location of this template.
+   *
+   * @param cause The error cause.
+   * @return A {@link HandlebarsException}.
+   */
+  HandlebarsException error(final Exception cause) {
+    String evidence = toString();
+    String reason = cause.toString();
+    String message = filename + ":" + line + ":" + column + ": " + reason + "\n";
+    message += "    " + join(split(evidence, "\n"), "\n    ");
+    HandlebarsError error = new HandlebarsError(filename, line, column, reason, evidence, message);
+    HandlebarsException hex = new HandlebarsException(error, cause);
+    // Override the stack-trace
+    hex.setStackTrace(cause.getStackTrace());
+    return hex;
+  }
+
   /**
    * Wrap the candidate object as a Context, or creates a new context.
    *
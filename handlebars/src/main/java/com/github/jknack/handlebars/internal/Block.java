@@ -18,6 +18,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
@@ -29,6 +30,7 @@ import com.github.jknack.handlebars.PathExpression;
 import com.github.jknack.handlebars.TagType;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.helper.EachHelper;
+import com.github.jknack.handlebars.helper.FlushHelper;
 import com.github.jknack.handlebars.helper.IfHelper;
 import com.github.jknack.handlebars.helper.UnlessHelper;
 import com.github.jknack.handlebars.helper.WithHelper;
@@ -107,7 +109,7 @@ class Block extends HelperResolver {
       final String source) {
     super(handlebars);
     this.name = notNull(name, "The name is required.");
-    this.path = PathCompiler.compile(name, handlebars.parentScopeResolution());
+    this.path = PathCompiler.compileNew(name, handlebars.parentScopeResolution());
     this.inverted = inverted;
     this.type = type;
     params(params);
@@ -149,6 +151,10 @@ class Block extends HelperResolver {
     final Object it;
     Context itCtx = context;
     Helper<Object> helper = this.helper;
+    if (helper == FlushHelper.INSTANCE && !FlushHelper.enabled(context)) {
+      // early flush is off: {{#flush}} is a regular section
+      helper = null;
+    }
     if (helper == null) {
       it = transform(itCtx.get(this.path));
       if (inverted) {
@@ -200,8 +206,17 @@ class Block extends HelperResolver {
             writer);
     options.data(Context.PARAM_SIZE, this.params.size());
 
-    Object result = helper.apply(it, options);
-    if (result != null) {
+    Object result = call(helper, it, options);
+    if (result instanceof CompletionStage) {
+      CompletionStage<?> pending = (CompletionStage<?>) result;
+      if (writer instanceof SlotWriter) {
+        ((SlotWriter) writer).reserve(this, pending, Object::toString);
+        return;
+      }
+      result = SlotWriter.join(pending);
+    }
+    // native buffers are written already
+    if (result != null && !(result instanceof Options.NativeBuffer)) {
       writer.append(result.toString());
     }
   }
@@ -269,6 +284,24 @@ class Block extends HelperResolver {
     return inverse;
   }
 
+  /**
+   * The inverse label: <code>else</code>, <code>^</code> or <code>null</code>.
+   *
+   * @return The inverse label.
+   */
+  String inverseLabel() {
+    return inverseLabel;
+  }
+
+  /**
+   * The block type: <code>#</code>, <code>^</code>, <code>else</code>, etc.
+   *
+   * @return The block type.
+   */
+  String type() {
+    return type;
+  }
+
   /**
    * Set the end delimiter.
    *
@@ -56,6 +56,15 @@ public class BlockDecorator extends Block {
     this.tagType = TagType.START_SECTION;
   }
 
+  /**
+   * True, if this is top level decorator.
+   *
+   * @return True, if this is top level decorator.
+   */
+  boolean root() {
+    return root;
+  }
+
   @Override
   protected void postInit() {
     this.decorator = handlebars.decorator(name);
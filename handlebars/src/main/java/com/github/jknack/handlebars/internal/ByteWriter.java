@@ -0,0 +1,203 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A writer that encodes characters into an {@link OutputStream} and accepts bytes that were
+ * encoded ahead of time with the same charset. Static text is written with {@link #write(byte[])}
+ * so only dynamic values go through the charset encoder.
+ *
+ * <p>Output is buffered. Call {@link #drain()} to push buffered bytes to the underlying stream
+ * without flushing it, or {@link #flush()} to do both.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+class ByteWriter extends Writer {
+
+  /** buffer size. */
+  private static final int BUFFER_SIZE = 8192;
+
+  /** The underlying output stream. */
+  private final OutputStream out;
+
+  /** The output charset. */
+  private final Charset charset;
+
+  /** The charset encoder. */
+  private final CharsetEncoder encoder;
+
+  /** Byte buffer. */
+  private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+
+  /** A high surrogate waiting for the next write, or 0. */
+  private char pending;
+
+  /**
+   * Creates a new {@link ByteWriter}.
+   *
+   * @param out The output stream. Required.
+   * @param charset The output charset. Required.
+   */
+  ByteWriter(final OutputStream out, final Charset charset) {
+    this.out = notNull(out, "The output stream is required.");
+    this.charset = notNull(charset, "The charset is required.");
+    this.encoder =
+        charset
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /**
+   * The output charset.
+   *
+   * @return The output charset.
+   */
+  Charset charset() {
+    return charset;
+  }
+
+  @Override
+  public void write(final char[] cbuf, final int off, final int len) throws IOException {
+    encode(CharBuffer.wrap(cbuf, off, len));
+  }
+
+  @Override
+  public void write(final String str) throws IOException {
+    encode(CharBuffer.wrap(str));
+  }
+
+  @Override
+  public void write(final String str, final int off, final int len) throws IOException {
+    encode(CharBuffer.wrap(str, off, off + len));
+  }
+
+  @Override
+  public void write(final int c) throws IOException {
+    encode(CharBuffer.wrap(new char[] {(char) c}));
+  }
+
+  @Override
+  public Writer append(final CharSequence csq) throws IOException {
+    encode(CharBuffer.wrap(csq == null ? "null" : csq));
+    return this;
+  }
+
+  @Override
+  public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+    encode(CharBuffer.wrap(csq == null ? "null" : csq, start, end));
+    return this;
+  }
+
+  /**
+   * Write bytes that were already encoded with {@link #charset()}.
+   *
+   * @param encoded Encoded bytes.
+   * @throws IOException If the output stream fails.
+   */
+  void write(final byte[] encoded) throws IOException {
+    flushPending();
+    if (encoded.length > bytes.remaining()) {
+      writeBuffer();
+      if (encoded.length >= bytes.capacity()) {
+        out.write(encoded);
+        return;
+      }
+    }
+    bytes.put(encoded);
+  }
+
+  /**
+   * Encode the given characters into the byte buffer.
+   *
+   * @param chars Characters to encode.
+   * @throws IOException If the output stream fails.
+   */
+  private void encode(final CharBuffer chars) throws IOException {
+    CharBuffer in = chars;
+    if (pending != 0) {
+      char high = pending;
+      pending = 0;
+      in = CharBuffer.allocate(chars.remaining() + 1).put(high).put(chars).flip();
+    }
+    while (true) {
+      CoderResult result = encoder.encode(in, bytes, false);
+      if (result.isOverflow()) {
+        writeBuffer();
+      } else {
+        break;
+      }
+    }
+    if (in.hasRemaining()) {
+      // a high surrogate at the end of the input, wait for the low surrogate
+      pending = in.get();
+    }
+  }
+
+  /**
+   * Encode a pending high surrogate (if any) as a malformed character.
+   *
+   * @throws IOException If the output stream fails.
+   */
+  private void flushPending() throws IOException {
+    if (pending != 0) {
+      char high = pending;
+      pending = 0;
+      CharBuffer in = CharBuffer.wrap(new char[] {high});
+      while (encoder.encode(in, bytes, true).isOverflow()) {
+        writeBuffer();
+      }
+      encoder.reset();
+    }
+  }
+
+  /**
+   * Write buffered bytes to the underlying output stream, without flushing it.
+   *
+   * @throws IOException If the output stream fails.
+   */
+  void drain() throws IOException {
+    flushPending();
+    writeBuffer();
+  }
+
+  /**
+   * Write the byte buffer to the underlying output stream.
+   *
+   * @throws IOException If the output stream fails.
+   */
+  private void writeBuffer() throws IOException {
+    if (bytes.position() > 0) {
+      out.write(bytes.array(), 0, bytes.position());
+      bytes.clear();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    drain();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    out.close();
+  }
+}
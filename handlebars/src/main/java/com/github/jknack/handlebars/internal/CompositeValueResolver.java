@@ -0,0 +1,95 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.github.jknack.handlebars.ValueResolver;
+
+/**
+ * A composite value resolver. It delegate the value resolution.
+ *
+ * @author edgar.espina
+ * @since 0.1.1
+ */
+public class CompositeValueResolver implements ValueResolver {
+
+  /** Mark for a value resolved to <code>null</code>. */
+  public static final Object NULL = new Object();
+
+  /** The internal value resolvers. */
+  private final List<ValueResolver> resolvers;
+
+  /**
+   * Creates a new {@link CompositeValueResolver}.
+   *
+   * @param resolvers The value resolvers.
+   */
+  public CompositeValueResolver(final List<ValueResolver> resolvers) {
+    this.resolvers = resolvers;
+  }
+
+  /**
+   * The internal value resolvers.
+   *
+   * @return The internal value resolvers.
+   */
+  List<ValueResolver> resolvers() {
+    return resolvers;
+  }
+
+  @Override
+  public Object resolve(final Object context, final String name) {
+    int i = 0;
+    while (i < resolvers.size()) {
+      Object value = resolvers.get(i).resolve(context, name);
+      if (value != UNRESOLVED) {
+        return value == null ? NULL : value;
+      }
+      i += 1;
+    }
+    return null;
+  }
+
+  /**
+   * Resolve the attribute's name in the context object using the given inline cache. The cache
+   * remembers how the attribute was resolved for the context class, next time the winning
+   * resolver (or class member) is called directly.
+   *
+   * @param context The context object. Not null.
+   * @param name The attribute's name. Not null.
+   * @param cache An inline cache. Not null.
+   * @return A {@link #NULL} mark, the resolved value or <code>null</code>.
+   */
+  public Object resolve(final Object context, final String name, final InlineCache cache) {
+    return cache.resolve(this, context, name);
+  }
+
+  @Override
+  public Object resolve(final Object context) {
+    int i = 0;
+    while (i < resolvers.size()) {
+      Object value = resolvers.get(i).resolve(context);
+      if (value != UNRESOLVED) {
+        return value == null ? NULL : value;
+      }
+      i += 1;
+    }
+    return null;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> propertySet(final Object context) {
+    Set<Entry<String, Object>> propertySet = new LinkedHashSet<>();
+    for (ValueResolver resolver : resolvers) {
+      propertySet.addAll(resolver.propertySet(context));
+    }
+    return propertySet;
+  }
+}
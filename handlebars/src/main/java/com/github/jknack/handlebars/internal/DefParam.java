@@ -29,6 +29,15 @@ public class DefParam implements Param {
     this.value = value;
   }
 
+  /**
+   * The int, double or boolean value.
+   *
+   * @return The value.
+   */
+  Object value() {
+    return value;
+  }
+
   @Override
   public Object apply(final Context context) throws IOException {
     return this.value;
@@ -8,6 +8,7 @@ package com.github.jknack.handlebars.internal;
 import static org.apache.commons.lang3.Validate.notNull;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.List;
 
@@ -36,6 +37,15 @@ class ForwardingTemplate implements Template {
     this.template = notNull(template, "The template is required.");
   }
 
+  /**
+   * The original template.
+   *
+   * @return The original template.
+   */
+  Template delegate() {
+    return template;
+  }
+
   @Override
   public void apply(final Object context, final Writer writer) throws IOException {
     Context wrapped = wrap(context);
@@ -92,6 +102,20 @@ class ForwardingTemplate implements Template {
     }
   }
 
+  @Override
+  public void write(final Object context, final OutputStream output) throws IOException {
+    Context wrapped = wrap(context);
+    try {
+      beforeApply(wrapped);
+      template.write(wrapped, output);
+    } finally {
+      afterApply(wrapped);
+      if (wrapped != context) {
+        wrapped.destroy();
+      }
+    }
+  }
+
   /**
    * Call it after a template has been applied.
    *
@@ -39,6 +39,24 @@ public class HbsParserFactory implements ParserFactory {
   /** The logging system. */
   private final Logger logger = LoggerFactory.getLogger(getClass());
 
+  /** True, if the resulting template tree must be linked/compiled. */
+  private final boolean compile;
+
+  /** Creates a new {@link HbsParserFactory}. */
+  public HbsParserFactory() {
+    this(false);
+  }
+
+  /**
+   * Creates a new {@link HbsParserFactory}.
+   *
+   * @param compile True, if the resulting template tree must be linked/compiled. See {@link
+   *     com.github.jknack.handlebars.LinkingParserFactory}.
+   */
+  public HbsParserFactory(final boolean compile) {
+    this.compile = compile;
+  }
+
   /**
    * Creates a new {@link Parser}.
    *
@@ -50,59 +68,80 @@ public class HbsParserFactory implements ParserFactory {
   @Override
   public Parser create(
       final Handlebars handlebars, final String startDelimiter, final String endDelimiter) {
-    return new Parser() {
-
-      @Override
-      public Template parse(final TemplateSource source) throws IOException {
-        logger.debug("About to parse: {}", source);
-        String sourceName = source.filename();
-        final ANTLRErrorListener errorReporter = new HbsErrorReporter(sourceName);
-
-        // 1. Lexer
-        String content = Optional.ofNullable(source.content(handlebars.getCharset())).orElse("");
-        final HbsLexer lexer =
-            newLexer(CharStreams.fromString(content, sourceName), startDelimiter, endDelimiter);
-        configure(lexer, errorReporter);
-
-        // 2. Parser
-        final HbsParser parser = newParser(lexer);
-        configure(parser, errorReporter);
-
-        logger.debug("Building AST");
-        // 3. Parse
-        ParseTree tree = parser.template();
-
-        // remove unnecessary spaces and new lines?
-        if (handlebars.prettyPrint()) {
-          logger.debug("Applying Mustache spec");
-          new ParseTreeWalker().walk(new MustacheSpec(), tree);
-        }
-
-        if (lexer.whiteSpaceControl) {
-          logger.debug("Applying white spaces control");
-          new ParseTreeWalker()
-              .walk(new WhiteSpaceControl((CommonTokenStream) parser.getTokenStream()), tree);
-        }
-
-        /** Build the AST. */
-        TemplateBuilder builder =
-            new TemplateBuilder(handlebars, source) {
-              @Override
-              protected void reportError(
-                  final CommonToken offendingToken,
-                  final int line,
-                  final int column,
-                  final String message) {
-                errorReporter.syntaxError(parser, offendingToken, line, column, message, null);
-              }
-            };
-        logger.debug("Creating templates");
-        Template template = builder.visit(tree);
-        return template;
+    return source -> {
+      Object event = JfrEvents.beginParse(source.filename());
+      try {
+        return parse(handlebars, source, startDelimiter, endDelimiter);
+      } finally {
+        JfrEvents.end(event);
       }
     };
   }
 
+  /**
+   * Parse a template source. Parse times are reported to the JDK Flight Recorder (see {@link
+   * com.github.jknack.handlebars.metrics.ParseEvent}).
+   *
+   * @param handlebars The parser owner.
+   * @param source The template source.
+   * @param startDelimiter The start delimiter.
+   * @param endDelimiter The end delimiter.
+   * @return A template.
+   * @throws IOException If the source can't be read.
+   */
+  private Template parse(
+      final Handlebars handlebars,
+      final TemplateSource source,
+      final String startDelimiter,
+      final String endDelimiter)
+      throws IOException {
+    logger.debug("About to parse: {}", source);
+    String sourceName = source.filename();
+    final ANTLRErrorListener errorReporter = new HbsErrorReporter(sourceName);
+
+    // 1. Lexer
+    String content = Optional.ofNullable(source.content(handlebars.getCharset())).orElse("");
+    final HbsLexer lexer =
+        newLexer(CharStreams.fromString(content, sourceName), startDelimiter, endDelimiter);
+    configure(lexer, errorReporter);
+
+    // 2. Parser
+    final HbsParser parser = newParser(lexer);
+    configure(parser, errorReporter);
+
+    logger.debug("Building AST");
+    // 3. Parse
+    ParseTree tree = parser.template();
+
+    // remove unnecessary spaces and new lines?
+    if (handlebars.prettyPrint()) {
+      logger.debug("Applying Mustache spec");
+      new ParseTreeWalker().walk(new MustacheSpec(), tree);
+    }
+
+    if (lexer.whiteSpaceControl) {
+      logger.debug("Applying white spaces control");
+      new ParseTreeWalker()
+          .walk(new WhiteSpaceControl((CommonTokenStream) parser.getTokenStream()), tree);
+    }
+
+    /** Build the AST. */
+    TemplateBuilder builder =
+        new TemplateBuilder(handlebars, source, compile) {
+          @Override
+          protected void reportError(
+              final CommonToken offendingToken,
+              final int line,
+              final int column,
+              final String message) {
+            errorReporter.syntaxError(parser, offendingToken, line, column, message, null);
+          }
+        };
+    logger.debug("Creating templates");
+    Template template = builder.visit(tree);
+    return template;
+  }
+
   /**
    * Creates a new {@link HbsLexer}.
    *
@@ -20,6 +20,8 @@ import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.HandlebarsException;
 import com.github.jknack.handlebars.Helper;
 import com.github.jknack.handlebars.HelperRegistry;
+import com.github.jknack.handlebars.Options;
+import com.github.jknack.handlebars.RenderListener;
 import com.github.jknack.handlebars.TagType;
 import com.github.jknack.handlebars.Template;
 
@@ -158,6 +160,29 @@ abstract class HelperResolver extends BaseTemplate {
     return helper;
   }
 
+  /**
+   * Call a helper and report the time spent to the {@link RenderListener}.
+   *
+   * @param helper The helper.
+   * @param context The helper context.
+   * @param options The helper options.
+   * @return The helper result.
+   * @throws IOException If the helper fails.
+   */
+  protected Object call(final Helper<Object> helper, final Object context, final Options options)
+      throws IOException {
+    RenderListener listener = handlebars.getRenderListener();
+    if (listener == RenderListener.NOOP) {
+      return helper.apply(context, options);
+    }
+    long start = System.nanoTime();
+    try {
+      return helper.apply(context, options);
+    } finally {
+      listener.helper(options.helperName, System.nanoTime() - start);
+    }
+  }
+
   /**
    * Set the hash.
    *
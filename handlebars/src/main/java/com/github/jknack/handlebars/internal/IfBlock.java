@@ -0,0 +1,77 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.helper.IfHelper;
+import com.github.jknack.handlebars.helper.UnlessHelper;
+
+/**
+ * A linked version of the built-in {@link IfHelper} and {@link UnlessHelper} blocks. The condition
+ * is evaluated inline and the selected branch is written straight to the output.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+class IfBlock extends Block {
+
+  /** True, for <code>unless</code> blocks. */
+  private final boolean unless;
+
+  /**
+   * Creates a new {@link IfBlock}.
+   *
+   * @param handlebars The handlebars object.
+   * @param name The block's name.
+   * @param type Block type: <code>#</code> or <code>else</code>.
+   * @param params The parameter list. Must have a single parameter.
+   * @param unless True, for <code>unless</code> blocks.
+   * @param source The block source.
+   */
+  IfBlock(
+      final Handlebars handlebars,
+      final String name,
+      final String type,
+      final List<Param> params,
+      final boolean unless,
+      final String source) {
+    super(
+        handlebars,
+        name,
+        false,
+        type,
+        params,
+        Collections.emptyMap(),
+        Collections.emptyList(),
+        source);
+    this.unless = unless;
+  }
+
+  /**
+   * True, for <code>unless</code> blocks.
+   *
+   * @return True, for <code>unless</code> blocks.
+   */
+  boolean unless() {
+    return unless;
+  }
+
+  @Override
+  protected void merge(final Context context, final Writer writer) throws IOException {
+    boolean falsy = Handlebars.Utils.isEmpty(params.get(0).apply(context), false);
+    Template template = falsy == unless ? body : inverse;
+    if (template != null) {
+      template.apply(context, writer);
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.context.MapValueResolver;
+import com.github.jknack.handlebars.context.MemberValueResolver;
+import com.github.jknack.handlebars.context.RecordValueResolver;
+
+/**
+ * Polymorphic inline cache for a property lookup. It remembers, per context class, how a property
+ * was resolved by a {@link CompositeValueResolver}, so next time the winning resolver or class
+ * member is called directly.
+ *
+ * <p>A lookup is cached only when it doesn't depend on the context state: {@link
+ * MapValueResolver} never resolves non map classes, {@link RecordValueResolver} and {@link
+ * MemberValueResolver} always resolve the same member for a class. Lookups that go through any
+ * other resolver, or more than {@link #SIZE} classes, take the regular path.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public final class InlineCache {
+
+  /** Max number of classes to cache. */
+  private static final int SIZE = 4;
+
+  /** No resolver knows the property. */
+  private static final int MISS = 0;
+
+  /** The context is a map. */
+  private static final int MAP = 1;
+
+  /** A class member resolves the property. */
+  private static final int MEMBER = 2;
+
+  /** The property must be resolved by the composite resolver. */
+  private static final int SLOW = 3;
+
+  /**
+   * A cache entry.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Entry {
+
+    /** The context class. */
+    private final Class<?> type;
+
+    /** The value resolvers used to compute this entry. */
+    private final List<ValueResolver> resolvers;
+
+    /** Entry kind. */
+    private final int kind;
+
+    /** The property accessor for {@link #MEMBER} entries. */
+    private final Function<Object, Object> accessor;
+
+    /**
+     * Creates a new {@link Entry}.
+     *
+     * @param type The context class.
+     * @param resolvers The value resolvers used to compute this entry.
+     * @param kind Entry kind.
+     * @param accessor The property accessor for {@link #MEMBER} entries.
+     */
+    Entry(
+        final Class<?> type,
+        final List<ValueResolver> resolvers,
+        final int kind,
+        final Function<Object, Object> accessor) {
+      this.type = type;
+      this.resolvers = resolvers;
+      this.kind = kind;
+      this.accessor = accessor;
+    }
+
+    /**
+     * True, if this entry applies to the given class and value resolvers.
+     *
+     * @param type The context class.
+     * @param resolvers The value resolvers.
+     * @return True, if this entry applies to the given class and value resolvers.
+     */
+    boolean matches(final Class<?> type, final List<ValueResolver> resolvers) {
+      if (this.type != type) {
+        return false;
+      }
+      if (this.resolvers == resolvers) {
+        return true;
+      }
+      // same resolvers in a different list (resolvers set per context)
+      int size = resolvers.size();
+      if (this.resolvers.size() != size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (this.resolvers.get(i) != resolvers.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /** Empty cache. */
+  private static final Entry[] EMPTY = {};
+
+  /** Cache entries. Copy on write. */
+  private volatile Entry[] entries = EMPTY;
+
+  /**
+   * Resolve a property using the cache.
+   *
+   * @param composite The composite value resolver.
+   * @param context The context object. Not null.
+   * @param name The property's name.
+   * @return A {@link CompositeValueResolver#NULL} mark, the resolved value or <code>null</code>.
+   */
+  @SuppressWarnings("rawtypes")
+  Object resolve(final CompositeValueResolver composite, final Object context, final String name) {
+    Class<?> type = context.getClass();
+    List<ValueResolver> resolvers = composite.resolvers();
+    Entry entry = find(type, resolvers);
+    if (entry == null) {
+      entry = add(type, resolvers, name);
+      if (entry == null) {
+        return composite.resolve(context, name);
+      }
+    }
+    switch (entry.kind) {
+      case MISS:
+        return null;
+      case MAP:
+        Object value = ((Map) context).get(name);
+        // absent keys might be resolved by the next resolvers
+        return value == null ? composite.resolve(context, name) : value;
+      case MEMBER:
+        Object result = entry.accessor.apply(context);
+        return result == null ? CompositeValueResolver.NULL : result;
+      default:
+        return composite.resolve(context, name);
+    }
+  }
+
+  /**
+   * Find a cache entry.
+   *
+   * @param type The context class.
+   * @param resolvers The value resolvers.
+   * @return A cache entry or <code>null</code>.
+   */
+  private Entry find(final Class<?> type, final List<ValueResolver> resolvers) {
+    Entry[] entries = this.entries;
+    for (Entry entry : entries) {
+      if (entry.matches(type, resolvers)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Compute and add a cache entry.
+   *
+   * @param type The context class.
+   * @param resolvers The value resolvers.
+   * @param name The property's name.
+   * @return A new cache entry or <code>null</code> when the cache is full.
+   */
+  @SuppressWarnings("rawtypes")
+  private Entry add(final Class<?> type, final List<ValueResolver> resolvers, final String name) {
+    Entry[] entries = this.entries;
+    if (entries.length == SIZE) {
+      // megamorphic
+      return null;
+    }
+    int kind = MISS;
+    Function<Object, Object> accessor = null;
+    for (ValueResolver resolver : resolvers) {
+      if (resolver == MapValueResolver.INSTANCE) {
+        if (Map.class.isAssignableFrom(type)) {
+          kind = EnumMap.class.isAssignableFrom(type) ? SLOW : MAP;
+          break;
+        }
+      } else if (resolver == RecordValueResolver.INSTANCE) {
+        accessor = RecordValueResolver.INSTANCE.accessor(type, name);
+        if (accessor != null) {
+          kind = MEMBER;
+          break;
+        }
+      } else if (resolver instanceof MemberValueResolver) {
+        accessor = ((MemberValueResolver<?>) resolver).accessor(type, name);
+        if (accessor != null) {
+          kind = MEMBER;
+          break;
+        }
+      } else {
+        kind = SLOW;
+        break;
+      }
+    }
+    Entry entry = new Entry(type, resolvers, kind, accessor);
+    Entry[] copy = Arrays.copyOf(entries, entries.length + 1);
+    copy[entries.length] = entry;
+    this.entries = copy;
+    return entry;
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.TagType;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.TemplateCache;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * A static partial inlined into the caller at compile time. The partial template is applied to a
+ * partial context, like {@link Partial} does, but there is no template loader or template cache
+ * lookup while rendering.
+ *
+ * <p>The inlined template depends on the partial source: it is valid for a {@link
+ * TemplateCache#version()}. Once the version changes (some template was evicted or reloaded) the
+ * inlined template is kept if the template cache still has it (see {@link
+ * TemplateCache#getIfPresent(TemplateSource)}), otherwise the partial is loaded and inlined again.
+ * If that isn't possible, the original {@link Partial} node is used.
+ *
+ * @author edgar
+ * @since 4.5.5
+ * @see Handlebars#inlinePartials()
+ */
+class InlinedPartial extends BaseTemplate {
+
+  /**
+   * Content we can't inline: inline partials, decorators, partial blocks and delimiter changes.
+   */
+  private static final Pattern NOT_INLINABLE =
+      Pattern.compile("\\{\\{~?\\s*#?\\s*\\*|@partial-block|\\{\\{~?\\s*=");
+
+  /**
+   * Templates being compiled with inlining by the current thread. Prevent recursive partials from
+   * inlining.
+   */
+  private static final ThreadLocal<Set<String>> INLINING = ThreadLocal.withInitial(HashSet::new);
+
+  /**
+   * An inlined template, its source and the template cache version it was checked for.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Inlined {
+
+    /** The template cache version. */
+    private final long version;
+
+    /** The partial source. */
+    private final TemplateSource source;
+
+    /** The partial template. */
+    private final Template template;
+
+    /**
+     * Creates a new {@link Inlined}.
+     *
+     * @param version The template cache version.
+     * @param source The partial source.
+     * @param template The partial template.
+     */
+    Inlined(final long version, final TemplateSource source, final Template template) {
+      this.version = version;
+      this.source = source;
+      this.template = template;
+    }
+  }
+
+  /** The partial node, used when the partial can't be inlined. */
+  private final Partial partial;
+
+  /** The partial path. */
+  private final String path;
+
+  /** The indent to apply to the partial. Optional. */
+  private final String indent;
+
+  /** The inlined template. */
+  private volatile Inlined inlined;
+
+  /**
+   * Creates a new {@link InlinedPartial}.
+   *
+   * @param handlebars The handlebars object.
+   * @param partial The partial node, used when the partial can't be inlined.
+   * @param path The partial path.
+   * @param indent The indent to apply to the partial. Optional.
+   * @param inlined The inlined template.
+   */
+  private InlinedPartial(
+      final Handlebars handlebars,
+      final Partial partial,
+      final String path,
+      final String indent,
+      final Inlined inlined) {
+    super(handlebars);
+    this.partial = partial;
+    this.path = path;
+    this.indent = indent;
+    this.inlined = inlined;
+    filename(partial.filename());
+    position(partial.position()[0], partial.position()[1]);
+  }
+
+  /**
+   * Inline a static partial.
+   *
+   * @param handlebars The handlebars object.
+   * @param partial The partial node.
+   * @param path The partial path.
+   * @param indent The indent to apply to the partial. Optional.
+   * @return An inlined partial or the partial node when the partial can't be inlined.
+   */
+  static Template inline(
+      final Handlebars handlebars, final Partial partial, final String path, final String indent) {
+    Inlined inlined = inline(handlebars, partial.filename(), path, indent);
+    if (inlined == null) {
+      return partial;
+    }
+    return new InlinedPartial(handlebars, partial, path, indent, inlined);
+  }
+
+  @Override
+  protected void merge(final Context context, final Writer writer) throws IOException {
+    LinkedList<Map<String, Template>> partials = context.data(Context.INLINE_PARTIALS);
+    if (partials.getLast().containsKey(path)) {
+      // inline partials win
+      partial.apply(context, writer);
+      return;
+    }
+    Inlined inlined = this.inlined;
+    long version = handlebars.getCache().version();
+    if (inlined.version != version) {
+      inlined = check(inlined, version);
+      if (inlined == null) {
+        partial.apply(context, writer);
+        return;
+      }
+      this.inlined = inlined;
+    }
+    Template callee = context.data(Context.CALLEE);
+    context.data(Context.CALLEE, partial);
+    Context ctx = Partial.partialContext(context);
+    Partial.render(handlebars, filename, path, inlined.template, ctx, writer);
+    context.data(Context.CALLEE, callee);
+  }
+
+  /**
+   * Check an inlined template after a template cache version change. The inlined template is kept
+   * when the template cache still has it, so unrelated evictions don't load and compile it again.
+   *
+   * @param inlined The inlined template.
+   * @param version The current template cache version.
+   * @return An inlined template or <code>null</code> when the partial can't be inlined.
+   */
+  private Inlined check(final Inlined inlined, final long version) {
+    if (version >= 0 && handlebars.getCache().getIfPresent(inlined.source) == inlined.template) {
+      return new Inlined(version, inlined.source, inlined.template);
+    }
+    return inline(handlebars, filename, path, indent);
+  }
+
+  /**
+   * Load and compile a partial.
+   *
+   * @param handlebars The handlebars object.
+   * @param caller The caller filename.
+   * @param path The partial path.
+   * @param indent The indent to apply to the partial. Optional.
+   * @return An inlined template or <code>null</code> when the partial can't be inlined.
+   */
+  private static Inlined inline(
+      final Handlebars handlebars, final String caller, final String path, final String indent) {
+    long version = handlebars.getCache().version();
+    if (version < 0) {
+      return null;
+    }
+    Set<String> inlining = INLINING.get();
+    boolean root = inlining.add(caller);
+    try {
+      TemplateSource source = handlebars.getLoader().sourceAt(path);
+      String filename = source.filename();
+      if (!inlining.add(filename)) {
+        // recursive partial
+        return null;
+      }
+      try {
+        Charset charset = handlebars.getCharset();
+        if (NOT_INLINABLE.matcher(source.content(charset)).find()) {
+          return null;
+        }
+        if (indent != null) {
+          source = Partial.partial(source, indent);
+        }
+        return new Inlined(version, source, handlebars.compile(source));
+      } finally {
+        inlining.remove(filename);
+      }
+    } catch (IOException ex) {
+      // missing partial, report it at runtime
+      return null;
+    } finally {
+      if (root) {
+        inlining.remove(caller);
+      }
+    }
+  }
+
+  /**
+   * The partial node.
+   *
+   * @return The partial node.
+   */
+  Partial partial() {
+    return partial;
+  }
+
+  @Override
+  public List<String> collect(final TagType... tagType) {
+    return partial.collect(tagType);
+  }
+
+  @Override
+  public List<String> collectReferenceParameters() {
+    return partial.collectReferenceParameters();
+  }
+
+  @Override
+  public String text() {
+    return partial.text();
+  }
+
+  @Override
+  public String toString() {
+    return partial.toString();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.RenderListener;
+import com.github.jknack.handlebars.Template;
+
+/**
+ * Report template renders to the {@link RenderListener} and to the JDK Flight Recorder (see
+ * {@link com.github.jknack.handlebars.metrics.RenderEvent}). Nested renders (partials, or a
+ * template applied from a helper) are reported by the outermost template only. When there is no
+ * listener and the JFR event is disabled, nothing is allocated.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class InstrumentedTemplate extends ForwardingTemplate {
+
+  /**
+   * A render in progress.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Render {
+
+    /** The listener. */
+    private final RenderListener listener;
+
+    /** The JFR event or <code>null</code>. */
+    private final Object event;
+
+    /** Start time. */
+    private final long start;
+
+    /** Number of nested renders in progress. */
+    private int depth;
+
+    /**
+     * Creates a new {@link Render}.
+     *
+     * @param listener The listener.
+     * @param event The JFR event or <code>null</code>.
+     */
+    Render(final RenderListener listener, final Object event) {
+      this.listener = listener;
+      this.event = event;
+      this.start = System.nanoTime();
+    }
+  }
+
+  /** The render in progress. */
+  private static final String RENDER = InstrumentedTemplate.class.getName() + "#render";
+
+  /** The handlebars object. */
+  private final Handlebars handlebars;
+
+  /**
+   * Creates a new {@link InstrumentedTemplate}.
+   *
+   * @param handlebars The handlebars object. Required.
+   * @param template The template. Required.
+   */
+  public InstrumentedTemplate(final Handlebars handlebars, final Template template) {
+    super(template);
+    this.handlebars = notNull(handlebars, "The handlebars is required.");
+  }
+
+  /**
+   * Start a render, unless instrumentation is off. Nested renders are counted, not reported.
+   *
+   * @param context The template context.
+   */
+  @Override
+  protected void beforeApply(final Context context) {
+    RenderListener listener = handlebars.getRenderListener();
+    if (listener == RenderListener.NOOP && !JfrEvents.renderEnabled()) {
+      return;
+    }
+    Render render = context.data(RENDER);
+    if (render != null) {
+      render.depth += 1;
+      return;
+    }
+    listener.renderStart(filename());
+    context.data(RENDER, new Render(listener, JfrEvents.beginRender(filename())));
+  }
+
+  /**
+   * Report a render, unless instrumentation is off or this is a nested render.
+   *
+   * @param context The template context.
+   */
+  @Override
+  protected void afterApply(final Context context) {
+    if (handlebars.getRenderListener() == RenderListener.NOOP && !JfrEvents.renderEnabled()) {
+      return;
+    }
+    Render render = context.data(RENDER);
+    if (render == null) {
+      return;
+    }
+    if (render.depth > 0) {
+      render.depth -= 1;
+      return;
+    }
+    context.data(RENDER, null);
+    JfrEvents.end(render.event);
+    render.listener.renderEnd(filename(), System.nanoTime() - render.start);
+  }
+}
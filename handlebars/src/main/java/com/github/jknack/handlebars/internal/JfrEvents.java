@@ -0,0 +1,226 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import com.github.jknack.handlebars.RenderListener;
+import com.github.jknack.handlebars.metrics.ParseEvent;
+import com.github.jknack.handlebars.metrics.PartialEvent;
+import com.github.jknack.handlebars.metrics.RenderEvent;
+import com.github.jknack.handlebars.metrics.TemplateCacheEvent;
+import jdk.jfr.Event;
+
+/**
+ * Guarded access to the JDK Flight Recorder events of {@link
+ * com.github.jknack.handlebars.metrics}.
+ *
+ * <p>The <code>jdk.jfr</code> module is optional: event classes are loaded only when the module is
+ * readable. Events are created only when they are enabled, so nothing is allocated while there is
+ * no recording. Methods that begin an event return it as an opaque object, or <code>null</code>
+ * when the event is disabled; methods that end an event accept <code>null</code>.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public final class JfrEvents {
+
+  /**
+   * Event probes and all the code that touches event classes, loaded only when the
+   * <code>jdk.jfr</code> module is readable. A probe is never committed, it is used to check if
+   * the event type is enabled without allocating an event.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Probes {
+    /** Parse probe. */
+    private static final ParseEvent PARSE = new ParseEvent(null);
+
+    /** Template cache probe. */
+    private static final TemplateCacheEvent CACHE = new TemplateCacheEvent(null);
+
+    /** Render probe. */
+    private static final RenderEvent RENDER = new RenderEvent(null);
+
+    /** Partial probe. */
+    private static final PartialEvent PARTIAL = new PartialEvent(null, null);
+
+    /**
+     * Begin a {@link ParseEvent}.
+     *
+     * @param filename The template filename.
+     * @return The event or <code>null</code> when disabled.
+     */
+    static Object parse(final String filename) {
+      if (!PARSE.isEnabled()) {
+        return null;
+      }
+      ParseEvent event = new ParseEvent(filename);
+      event.begin();
+      return event;
+    }
+
+    /**
+     * Begin a {@link TemplateCacheEvent}.
+     *
+     * @param filename The template filename.
+     * @return The event or <code>null</code> when disabled.
+     */
+    static Object cache(final String filename) {
+      if (!CACHE.isEnabled()) {
+        return null;
+      }
+      TemplateCacheEvent event = new TemplateCacheEvent(filename);
+      event.begin();
+      return event;
+    }
+
+    /**
+     * Begin a {@link RenderEvent}.
+     *
+     * @param filename The template filename.
+     * @return The event or <code>null</code> when disabled.
+     */
+    static Object render(final String filename) {
+      if (!RENDER.isEnabled()) {
+        return null;
+      }
+      RenderEvent event = new RenderEvent(filename);
+      event.begin();
+      return event;
+    }
+
+    /**
+     * Begin a {@link PartialEvent}.
+     *
+     * @param partial The partial name.
+     * @param caller The caller filename.
+     * @return The event or <code>null</code> when disabled.
+     */
+    static Object partial(final String partial, final String caller) {
+      if (!PARTIAL.isEnabled()) {
+        return null;
+      }
+      PartialEvent event = new PartialEvent(partial, caller);
+      event.begin();
+      return event;
+    }
+
+    /**
+     * Check if the {@link RenderEvent} is enabled.
+     *
+     * @return True, if the {@link RenderEvent} is enabled.
+     */
+    static boolean renderEnabled() {
+      return RENDER.isEnabled();
+    }
+
+    /**
+     * Commit an event.
+     *
+     * @param event The event.
+     * @param status The cache lookup result, for {@link TemplateCacheEvent} only.
+     */
+    static void commit(final Object event, final RenderListener.CacheStatus status) {
+      if (status != null) {
+        ((TemplateCacheEvent) event).result(status);
+      }
+      ((Event) event).commit();
+    }
+  }
+
+  /** True, when the <code>jdk.jfr</code> module is readable. */
+  private static final boolean AVAILABLE = available();
+
+  /** Not allowed. */
+  private JfrEvents() {}
+
+  /**
+   * True, if the {@link RenderEvent} is enabled. No event is created.
+   *
+   * @return True, if the {@link RenderEvent} is enabled.
+   */
+  public static boolean renderEnabled() {
+    return AVAILABLE && Probes.renderEnabled();
+  }
+
+  /**
+   * Begin a {@link ParseEvent}.
+   *
+   * @param filename The template filename.
+   * @return The event or <code>null</code> when disabled.
+   */
+  public static Object beginParse(final String filename) {
+    return AVAILABLE ? Probes.parse(filename) : null;
+  }
+
+  /**
+   * Begin a {@link TemplateCacheEvent}.
+   *
+   * @param filename The template filename.
+   * @return The event or <code>null</code> when disabled.
+   */
+  public static Object beginCache(final String filename) {
+    return AVAILABLE ? Probes.cache(filename) : null;
+  }
+
+  /**
+   * Begin a {@link RenderEvent}.
+   *
+   * @param filename The template filename.
+   * @return The event or <code>null</code> when disabled.
+   */
+  public static Object beginRender(final String filename) {
+    return AVAILABLE ? Probes.render(filename) : null;
+  }
+
+  /**
+   * Begin a {@link PartialEvent}.
+   *
+   * @param partial The partial name.
+   * @param caller The caller filename.
+   * @return The event or <code>null</code> when disabled.
+   */
+  public static Object beginPartial(final String partial, final String caller) {
+    return AVAILABLE ? Probes.partial(partial, caller) : null;
+  }
+
+  /**
+   * End and commit an event.
+   *
+   * @param event The event or <code>null</code>.
+   */
+  public static void end(final Object event) {
+    if (event != null) {
+      Probes.commit(event, null);
+    }
+  }
+
+  /**
+   * End and commit a {@link TemplateCacheEvent}.
+   *
+   * @param event The event or <code>null</code>.
+   * @param status The cache lookup result.
+   */
+  public static void endCache(final Object event, final RenderListener.CacheStatus status) {
+    if (event != null) {
+      Probes.commit(event, status);
+    }
+  }
+
+  /**
+   * Check if the <code>jdk.jfr</code> module is readable.
+   *
+   * @return True, when the <code>jdk.jfr</code> module is readable.
+   */
+  private static boolean available() {
+    try {
+      Class<?> event = Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+      return JfrEvents.class.getModule().canRead(event.getModule());
+    } catch (ClassNotFoundException | LinkageError x) {
+      return false;
+    }
+  }
+}
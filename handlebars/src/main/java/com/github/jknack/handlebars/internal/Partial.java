@@ -18,6 +18,9 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.tuple.Pair;
 
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
@@ -25,7 +28,10 @@ import com.github.jknack.handlebars.HandlebarsError;
 import com.github.jknack.handlebars.HandlebarsException;
 import com.github.jknack.handlebars.PathCompiler;
 import com.github.jknack.handlebars.PathExpression;
+import com.github.jknack.handlebars.RenderListener;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.TemplateCache;
+import com.github.jknack.handlebars.helper.FlushHelper;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import com.github.jknack.handlebars.io.TemplateSource;
 
@@ -39,6 +45,30 @@ import com.github.jknack.handlebars.io.TemplateSource;
  */
 class Partial extends HelperResolver {
 
+  /**
+   * Partials resolved by this node, valid for a {@link TemplateCache#version()}.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Resolved {
+
+    /** The template cache version. */
+    private final long version;
+
+    /** Template source and template by partial path. */
+    private final Map<String, Pair<TemplateSource, Template>> partials = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link Resolved}.
+     *
+     * @param version The template cache version.
+     */
+    Resolved(final long version) {
+      this.version = version;
+    }
+  }
+
   /** Special hash/map properties that we need to override. */
   private static final List<List<PathExpression>> OVERRIDE_PROPERTIES =
       Arrays.asList(PathCompiler.compile("size"), PathCompiler.compile("empty"));
@@ -72,6 +102,9 @@ class Partial extends HelperResolver {
 
   private String source;
 
+  /** Partials resolved by this node. Null, until a partial is loaded from the template loader. */
+  private volatile Resolved resolved;
+
   /**
    * Creates a new {@link Partial}.
    *
@@ -160,7 +193,9 @@ class Partial extends HelperResolver {
         LinkedList<TemplateSource> invocationStack = context.data(Context.INVOCATION_STACK);
 
         try {
-          TemplateSource source = loader.sourceAt(path);
+          long version = handlebars.getCache().version();
+          Pair<TemplateSource, Template> entry = resolved(path, version);
+          TemplateSource source = entry == null ? loader.sourceAt(path) : entry.getKey();
 
           if (exists(invocationStack, source.filename())) {
             TemplateSource caller = invocationStack.removeLast();
@@ -194,11 +229,16 @@ class Partial extends HelperResolver {
             throw new HandlebarsException(error);
           }
 
-          if (indent != null) {
-            source = partial(source, indent);
-          }
+          if (entry == null) {
+            if (indent != null) {
+              source = partial(source, indent);
+            }
 
-          template = handlebars.compile(source);
+            template = handlebars.compile(source);
+            resolved(path, version, source, template);
+          } else {
+            template = entry.getValue();
+          }
         } catch (FileNotFoundException fnf) {
           if (this.partial != null) {
             template = this.partial;
@@ -212,7 +252,13 @@ class Partial extends HelperResolver {
       // HACK: hide/override local attribute with parent version (if any)
       override(context, hash, OVERRIDE_PROPERTIES);
       Context ctx = Context.newPartialContext(context, this.scontext, hash);
-      template.apply(ctx, writer);
+      if (pathIsPartialBlock
+          && FlushHelper.enabled(context)
+          && !handlebars.preEvaluatePartialBlocks()) {
+        // early flush: the layout prefix is ready (a pre-evaluated block already ran)
+        writer.flush();
+      }
+      render(handlebars, filename, path, template, ctx, writer);
       context.data(Context.CALLEE, callee);
     } catch (IOException ex) {
       String reason =
@@ -225,6 +271,93 @@ class Partial extends HelperResolver {
     }
   }
 
+  /**
+   * Apply a partial template and report the time spent to the {@link RenderListener} and to the
+   * JDK Flight Recorder (see {@link com.github.jknack.handlebars.metrics.PartialEvent}).
+   *
+   * @param handlebars The handlebars object.
+   * @param caller The caller filename.
+   * @param path The partial path.
+   * @param template The partial template.
+   * @param context The partial context.
+   * @param writer The writer.
+   * @throws IOException If the partial fails.
+   */
+  static void render(
+      final Handlebars handlebars,
+      final String caller,
+      final String path,
+      final Template template,
+      final Context context,
+      final Writer writer)
+      throws IOException {
+    RenderListener listener = handlebars.getRenderListener();
+    Object event = JfrEvents.beginPartial(path, caller);
+    if (listener == RenderListener.NOOP && event == null) {
+      template.apply(context, writer);
+      return;
+    }
+    listener.partialEnter(path);
+    long start = System.nanoTime();
+    try {
+      template.apply(context, writer);
+    } finally {
+      JfrEvents.end(event);
+      listener.partialExit(path, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Creates the context of a partial without context parameter and hash arguments, like {@link
+   * #merge(Context, Writer)} does.
+   *
+   * @param context The caller context.
+   * @return The partial context.
+   */
+  static Context partialContext(final Context context) {
+    Map<String, Object> hash = new HashMap<>();
+    // HACK: hide/override local attribute with parent version (if any)
+    override(context, hash, OVERRIDE_PROPERTIES);
+    return Context.newPartialContext(context, "this", hash);
+  }
+
+  /**
+   * Find a partial previously resolved by this node.
+   *
+   * @param path The partial path.
+   * @param version The template cache version.
+   * @return Template source and template or <code>null</code>.
+   */
+  private Pair<TemplateSource, Template> resolved(final String path, final long version) {
+    Resolved resolved = this.resolved;
+    if (version < 0 || resolved == null || resolved.version != version) {
+      return null;
+    }
+    return resolved.partials.get(path);
+  }
+
+  /**
+   * Keep a resolved partial, so next time the template loader and the template cache are skipped.
+   * Partials are kept while the template cache version doesn't change.
+   *
+   * @param path The partial path.
+   * @param version The template cache version when the template was compiled.
+   * @param source The template source.
+   * @param template The template.
+   */
+  private void resolved(
+      final String path, final long version, final TemplateSource source, final Template template) {
+    if (version < 0) {
+      return;
+    }
+    Resolved resolved = this.resolved;
+    if (resolved == null || resolved.version != version) {
+      resolved = new Resolved(version);
+      this.resolved = resolved;
+    }
+    resolved.partials.put(path, Pair.of(source, template));
+  }
+
   /**
    * Check for property conflicts and resolve them. Basically we ignore internal properties from Map
    * if they already present in current context.
@@ -233,7 +366,7 @@ class Partial extends HelperResolver {
    * @param hash Partial context.
    * @param properties Property to check for.
    */
-  private void override(
+  private static void override(
       final Context context,
       final Map<String, Object> hash,
       final List<List<PathExpression>> properties) {
@@ -287,7 +420,7 @@ class Partial extends HelperResolver {
    * @return A template source that insert an indent per each new line found. This is required by
    *     Mustache Spec.
    */
-  private static TemplateSource partial(final TemplateSource source, final String indent) {
+  static TemplateSource partial(final TemplateSource source, final String indent) {
     return new TemplateSource() {
       @Override
       public long lastModified() {
@@ -387,6 +520,42 @@ class Partial extends HelperResolver {
     return endDelimiter;
   }
 
+  /**
+   * The partial path: static text or a sub-expression.
+   *
+   * @return The partial path.
+   */
+  Template path() {
+    return path;
+  }
+
+  /**
+   * The partial context or <code>null</code>.
+   *
+   * @return The partial context or <code>null</code>.
+   */
+  String context() {
+    return context;
+  }
+
+  /**
+   * The partial indent or <code>null</code>.
+   *
+   * @return The partial indent or <code>null</code>.
+   */
+  String indent() {
+    return indent;
+  }
+
+  /**
+   * The partial block body or <code>null</code>.
+   *
+   * @return The partial block body or <code>null</code>.
+   */
+  Template partial() {
+    return partial;
+  }
+
   /**
    * Set an indent for the partial.
    *
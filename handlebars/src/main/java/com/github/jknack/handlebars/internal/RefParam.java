@@ -21,15 +21,38 @@ public class RefParam implements Param {
   /** Compiled expression . */
   private final List<PathExpression> value;
 
+  /** The expression or <code>null</code>. */
+  private final String text;
+
   /**
    * Creates a new {@link RefParam}.
    *
    * @param value A compiled expression.
    */
   public RefParam(final List<PathExpression> value) {
+    this(null, value);
+  }
+
+  /**
+   * Creates a new {@link RefParam}.
+   *
+   * @param text The expression.
+   * @param value A compiled expression.
+   */
+  public RefParam(final String text, final List<PathExpression> value) {
+    this.text = text;
     this.value = value;
   }
 
+  /**
+   * The expression or <code>null</code> if unknown.
+   *
+   * @return The expression or <code>null</code> if unknown.
+   */
+  String text() {
+    return text;
+  }
+
   @Override
   public Object apply(final Context context) {
     return context.get(this.value);
@@ -0,0 +1,179 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of script engines (or any object wrapping a script engine). Script engines aren't
+ * thread-safe and expensive to create, so engines are created lazily, on demand, up to the pool
+ * size and reused. Once all the engines are busy, callers wait for an engine to be released. Call
+ * {@link #prestart()} to create the engines up front.
+ *
+ * <p>Engines are reentrant: a thread that already holds an engine gets the same engine back (for
+ * example, a JavaScript helper that renders another JavaScript helper).
+ *
+ * @author edgar
+ * @param <T> Engine type.
+ * @since 4.5.5
+ */
+public class ScriptEnginePool<T> {
+
+  /**
+   * A task executed with an engine.
+   *
+   * @param <T> Engine type.
+   * @param <R> Result type.
+   */
+  public interface Task<T, R> {
+
+    /**
+     * Execute the task.
+     *
+     * @param engine The engine, owned by the caller thread until the task ends.
+     * @return A result.
+     * @throws Exception If something goes wrong.
+     */
+    R apply(T engine) throws Exception;
+  }
+
+  /** Creates new engines. */
+  private final Throwing.Supplier<T> factory;
+
+  /** Idle engines. */
+  private final BlockingQueue<T> idle = new LinkedBlockingQueue<>();
+
+  /** The engine owned by the current thread, if any. */
+  private final ThreadLocal<T> current = new ThreadLocal<>();
+
+  /** Number of engines created so far. */
+  private final AtomicInteger created = new AtomicInteger();
+
+  /** Max number of engines. */
+  private volatile int size;
+
+  /**
+   * Creates a new {@link ScriptEnginePool}.
+   *
+   * @param size Max number of engines. Must be greater than zero.
+   * @param factory Creates new engines. Required.
+   */
+  public ScriptEnginePool(final int size, final Throwing.Supplier<T> factory) {
+    this.factory = notNull(factory, "The factory is required.");
+    setSize(size);
+  }
+
+  /**
+   * Set the max number of engines. Engines already created are kept.
+   *
+   * @param size Max number of engines. Must be greater than zero.
+   */
+  public void setSize(final int size) {
+    isTrue(size > 0, "Pool size must be greater than zero, found: %s", size);
+    this.size = size;
+  }
+
+  /**
+   * Max number of engines.
+   *
+   * @return Max number of engines.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Number of engines created so far.
+   *
+   * @return Number of engines created so far.
+   */
+  public int created() {
+    return created.get();
+  }
+
+  /**
+   * Creates engines until the pool is full, so callers don't pay the engine creation cost. Engines
+   * are created on the caller thread: threads calling this method at the same time create engines
+   * in parallel.
+   *
+   * @return Number of engines created by this call.
+   */
+  public int prestart() {
+    int count = 0;
+    T engine = create();
+    while (engine != null) {
+      idle.add(engine);
+      count += 1;
+      engine = create();
+    }
+    return count;
+  }
+
+  /**
+   * Execute a task with an engine. The engine is owned by the caller thread until the task ends.
+   *
+   * @param task The task. Required.
+   * @param <R> Result type.
+   * @return The task result.
+   */
+  public <R> R apply(final Task<T, R> task) {
+    T owned = current.get();
+    if (owned != null) {
+      return Throwing.get(() -> task.apply(owned));
+    }
+    T engine = borrow();
+    current.set(engine);
+    try {
+      return Throwing.get(() -> task.apply(engine));
+    } finally {
+      current.remove();
+      idle.add(engine);
+    }
+  }
+
+  /**
+   * Get an idle engine, creates a new one or wait for an engine to be released.
+   *
+   * @return An engine.
+   */
+  private T borrow() {
+    T engine = idle.poll();
+    if (engine != null) {
+      return engine;
+    }
+    engine = create();
+    if (engine != null) {
+      return engine;
+    }
+    return Throwing.get(idle::take);
+  }
+
+  /**
+   * Creates a new engine, unless the pool is full.
+   *
+   * @return A new engine or <code>null</code> if the pool is full.
+   */
+  private T create() {
+    int count = created.get();
+    while (count < size) {
+      if (created.compareAndSet(count, count + 1)) {
+        try {
+          return factory.get();
+        } catch (Throwable x) {
+          created.decrementAndGet();
+          throw Throwing.sneakyThrow(x);
+        }
+      }
+      count = created.get();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import com.github.jknack.handlebars.HandlebarsException;
+
+/**
+ * A writer that reserves output slots for asynchronous helper results. Rendering doesn't wait for
+ * a {@link CompletionStage}: a slot is reserved, the output that follows is buffered, and
+ * rendering goes on (starting other asynchronous calls). Slots are filled in order by {@link
+ * #drain()} or {@link #flush()}.
+ *
+ * <p>While there are no pending slots, output goes straight to the underlying writer.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+class SlotWriter extends Writer {
+
+  /**
+   * A reserved slot.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static class Slot {
+    /** The template that reserved this slot, for error reporting. */
+    private final BaseTemplate template;
+
+    /** The pending value. */
+    private final CompletionStage<?> value;
+
+    /** Convert the value to text, like format and escape. */
+    private final Function<Object, CharSequence> render;
+
+    /**
+     * Creates a new {@link Slot}.
+     *
+     * @param template The template that reserved this slot.
+     * @param value The pending value.
+     * @param render Convert the value to text.
+     */
+    Slot(
+        final BaseTemplate template,
+        final CompletionStage<?> value,
+        final Function<Object, CharSequence> render) {
+      this.template = template;
+      this.value = value;
+      this.render = render;
+    }
+  }
+
+  /** The underlying writer. */
+  private final Writer writer;
+
+  /** Pending slots and the output buffered after each of them. */
+  private final List<Object> pending = new ArrayList<>();
+
+  /** Output buffered after the last slot or <code>null</code> when there are no pending slots. */
+  private StringBuilder buffer;
+
+  /**
+   * Creates a new {@link SlotWriter}.
+   *
+   * @param writer The underlying writer.
+   */
+  SlotWriter(final Writer writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Reserve a slot for a pending value. Output written after this call is buffered until the value
+   * is available.
+   *
+   * @param template The template that reserved this slot, for error reporting.
+   * @param value The pending value.
+   * @param render Convert the value to text (a <code>null</code> value is skipped). It's called
+   *     from the rendering thread.
+   */
+  void reserve(
+      final BaseTemplate template,
+      final CompletionStage<?> value,
+      final Function<Object, CharSequence> render) {
+    pending.add(new Slot(template, value, render));
+    buffer = new StringBuilder();
+    pending.add(buffer);
+  }
+
+  /**
+   * The writer for the next output: the underlying writer when there are no pending slots.
+   *
+   * @return The writer for the next output.
+   */
+  Writer current() {
+    return buffer == null ? writer : this;
+  }
+
+  /**
+   * Wait for pending slots (in order) and write them, plus the buffered output, to the underlying
+   * writer. The underlying writer isn't flushed.
+   *
+   * @throws IOException If the output fails.
+   */
+  void drain() throws IOException {
+    if (buffer == null) {
+      return;
+    }
+    try {
+      for (Object segment : pending) {
+        if (segment instanceof Slot) {
+          Slot slot = (Slot) segment;
+          Object value;
+          try {
+            value = join(slot.value);
+          } catch (HandlebarsException ex) {
+            throw ex;
+          } catch (Exception ex) {
+            throw slot.template.error(ex);
+          }
+          if (value != null) {
+            writer.append(slot.render.apply(value));
+          }
+        } else {
+          writer.append((StringBuilder) segment);
+        }
+      }
+    } finally {
+      pending.clear();
+      buffer = null;
+    }
+  }
+
+  /**
+   * Wait for a pending value.
+   *
+   * @param value The pending value.
+   * @return The value.
+   * @throws IOException If the value failed with an {@link IOException}.
+   */
+  static Object join(final CompletionStage<?> value) throws IOException {
+    try {
+      return value.toCompletableFuture().join();
+    } catch (CompletionException | CancellationException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw ex;
+    }
+  }
+
+  @Override
+  public void write(final char[] cbuf, final int off, final int len) throws IOException {
+    if (buffer == null) {
+      writer.write(cbuf, off, len);
+    } else {
+      buffer.append(cbuf, off, len);
+    }
+  }
+
+  @Override
+  public void write(final int c) throws IOException {
+    if (buffer == null) {
+      writer.write(c);
+    } else {
+      buffer.append((char) c);
+    }
+  }
+
+  @Override
+  public void write(final String str) throws IOException {
+    if (buffer == null) {
+      writer.write(str);
+    } else {
+      buffer.append(str);
+    }
+  }
+
+  @Override
+  public void write(final String str, final int off, final int len) throws IOException {
+    if (buffer == null) {
+      writer.write(str, off, len);
+    } else {
+      buffer.append(str, off, off + len);
+    }
+  }
+
+  @Override
+  public Writer append(final CharSequence csq) throws IOException {
+    if (buffer == null) {
+      writer.append(csq);
+    } else {
+      buffer.append(csq);
+    }
+    return this;
+  }
+
+  @Override
+  public Writer append(final CharSequence csq, final int start, final int end)
+      throws IOException {
+    if (buffer == null) {
+      writer.append(csq, start, end);
+    } else {
+      buffer.append(csq, start, end);
+    }
+    return this;
+  }
+
+  @Override
+  public Writer append(final char c) throws IOException {
+    if (buffer == null) {
+      writer.append(c);
+    } else {
+      buffer.append(c);
+    }
+    return this;
+  }
+
+  /** Wait for pending slots, write them and flush the underlying writer. */
+  @Override
+  public void flush() throws IOException {
+    drain();
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    drain();
+    writer.close();
+  }
+}
@@ -34,6 +34,9 @@ import com.github.jknack.handlebars.HelperRegistry;
 import com.github.jknack.handlebars.PathCompiler;
 import com.github.jknack.handlebars.TagType;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.helper.IfHelper;
+import com.github.jknack.handlebars.helper.UnlessHelper;
+import com.github.jknack.handlebars.helper.WithHelper;
 import com.github.jknack.handlebars.internal.HbsParser.AmpvarContext;
 import com.github.jknack.handlebars.internal.HbsParser.BlockContext;
 import com.github.jknack.handlebars.internal.HbsParser.BlockParamsContext;
@@ -115,6 +118,12 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
   /** Keep track of block level, required for top level decorators. */
   private int level;
 
+  /**
+   * True, if templates must be linked at compile time. See {@link
+   * com.github.jknack.handlebars.LinkingParserFactory}.
+   */
+  private final boolean compile;
+
   /**
    * Creates a new {@link TemplateBuilder}.
    *
@@ -122,8 +131,21 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
    * @param source The template source. required.
    */
   TemplateBuilder(final Handlebars handlebars, final TemplateSource source) {
+    this(handlebars, source, false);
+  }
+
+  /**
+   * Creates a new {@link TemplateBuilder}.
+   *
+   * @param handlebars A handlebars object. required.
+   * @param source The template source. required.
+   * @param compile True, if templates must be linked at compile time.
+   */
+  TemplateBuilder(
+      final Handlebars handlebars, final TemplateSource source, final boolean compile) {
     this.handlebars = notNull(handlebars, "The handlebars can't be null.");
     this.source = notNull(source, "The template source is required.");
+    this.compile = compile;
   }
 
   @Override
@@ -225,10 +247,8 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
               source(ctx));
     } else {
       block =
-          new Block(
-              handlebars,
+          newBlock(
               name,
-              false,
               "#",
               params(sexpr.param()),
               hash(sexpr.hash()),
@@ -265,10 +285,8 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
         type = "else ";
       }
       Block elseblock =
-          new Block(
-              handlebars,
+          newBlock(
               elsename,
-              false,
               type,
               params(elseexpr.param()),
               hash(elseexpr.hash()),
@@ -311,6 +329,38 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
     return block;
   }
 
+  /**
+   * Creates a new {@link Block}. In compile mode, built-in <code>if</code>, <code>unless</code>
+   * and <code>with</code> blocks are linked to a specialized block.
+   *
+   * @param name The block's name.
+   * @param type The block's type.
+   * @param params The block params.
+   * @param hash The block hash.
+   * @param blockParams The block param names.
+   * @param source The block source.
+   * @return A new block.
+   */
+  private Block newBlock(
+      final String name,
+      final String type,
+      final List<Param> params,
+      final Map<String, Param> hash,
+      final List<String> blockParams,
+      final String source) {
+    if (compile && params.size() == 1 && hash.isEmpty() && blockParams.isEmpty()) {
+      Helper<Object> helper = handlebars.helper(name);
+      if (helper == IfHelper.INSTANCE || helper == UnlessHelper.INSTANCE) {
+        return new IfBlock(
+            handlebars, name, type, params, helper == UnlessHelper.INSTANCE, source);
+      }
+      if (helper == WithHelper.INSTANCE) {
+        return new WithBlock(handlebars, name, type, params, source);
+      }
+    }
+    return new Block(handlebars, name, false, type, params, hash, blockParams, source);
+  }
+
   @Override
   public Template visitUnless(final UnlessContext ctx) {
     level += 1;
@@ -582,7 +632,8 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
 
   @Override
   public Object visitRefParam(final RefParamContext ctx) {
-    return new RefParam(PathCompiler.compile(ctx.getText(), handlebars.parentScopeResolution()));
+    String text = ctx.getText();
+    return new RefParam(text, PathCompiler.compileNew(text, handlebars.parentScopeResolution()));
   }
 
   @Override
@@ -625,7 +676,7 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
    * @param template The original template.
    * @return A new {@link Template} that detects recursively calls.
    */
-  private static Template infiniteLoop(final TemplateSource source, final BaseTemplate template) {
+  static Template infiniteLoop(final TemplateSource source, final BaseTemplate template) {
     return new ForwardingTemplate(template) {
       @Override
       protected void beforeApply(final Context context) {
@@ -668,6 +719,12 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
             .filename(source.filename())
             .position(info.token.getLine(), info.token.getCharPositionInLine());
 
+    if (handlebars.inlinePartials()
+        && info.path instanceof Text
+        && info.context == null
+        && info.hash.isEmpty()) {
+      return InlinedPartial.inline(handlebars, (Partial) partial, info.path.text(), indent);
+    }
     return partial;
   }
 
@@ -776,6 +833,10 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
     boolean setMd = false;
     for (StatementContext statement : stats) {
       Template candidate = visit(statement);
+      if (compile && candidate == Template.EMPTY) {
+        // comments don't produce output, text around them is joined
+        continue;
+      }
       if (candidate != null) {
         if (!setMd) {
           list.filename(candidate.filename())
@@ -791,12 +852,21 @@ abstract class TemplateBuilder extends HbsParserBaseVisitor<Object> {
             ((Text) prev).append(((Text) candidate));
           }
         } else {
+          if (prev instanceof Text) {
+            ((Text) prev).join();
+          }
           list.add(candidate);
           prev = candidate;
         }
       }
     }
+    if (prev instanceof Text) {
+      ((Text) prev).join();
+    }
 
+    if (compile) {
+      list.link();
+    }
     return list;
   }
 
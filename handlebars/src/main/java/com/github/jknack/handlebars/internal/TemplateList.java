@@ -35,6 +35,12 @@ class TemplateList extends BaseTemplate implements Iterable<Template> {
   /** True, if this block has decorators. */
   private boolean decorate;
 
+  /** Linked child templates, see {@link #link()}. */
+  private Template[] program;
+
+  /** Static text of linked child templates or <code>null</code> for dynamic nodes. */
+  private Text[] texts;
+
   /**
    * Creates a new template list.
    *
@@ -77,11 +83,49 @@ class TemplateList extends BaseTemplate implements Iterable<Template> {
 
   @Override
   protected void merge(final Context context, final Writer writer) throws IOException {
-    for (Template node : nodes) {
-      node.apply(context, writer);
+    Template[] program = this.program;
+    if (program != null) {
+      Text[] texts = this.texts;
+      for (int i = 0; i < program.length; i++) {
+        Text text = texts[i];
+        if (text == null) {
+          program[i].apply(context, writer);
+        } else {
+          text.write(writer);
+        }
+      }
+    } else {
+      for (Template node : nodes) {
+        node.apply(context, writer);
+      }
     }
   }
 
+  /**
+   * Link this list: child templates are stored in a flat array and static text is written
+   * directly to the output. No more children can be added after linking.
+   */
+  void link() {
+    Template[] program = nodes.toArray(new Template[0]);
+    Text[] texts = new Text[program.length];
+    for (int i = 0; i < program.length; i++) {
+      if (program[i] instanceof Text) {
+        texts[i] = (Text) program[i];
+      }
+    }
+    this.texts = texts;
+    this.program = program;
+  }
+
+  /**
+   * True, if this list was linked.
+   *
+   * @return True, if this list was linked.
+   */
+  boolean linked() {
+    return program != null;
+  }
+
   @Override
   public final boolean decorate() {
     return decorate;
@@ -0,0 +1,306 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.helper.FlushHelper;
+
+/**
+ * A cold {@link Flow.Publisher} of rendered bytes. Each subscription renders the template once, on
+ * a task submitted to the executor when the first item is requested, with a new {@link Context}.
+ *
+ * <p>Output is emitted in chunks of at most <code>chunkSize</code> bytes (defaults to {@link
+ * #CHUNK_SIZE}), or at every flush when early flush is on (see {@link FlushHelper}). Once the
+ * subscriber's demand is exhausted, the rendering task waits for more demand, so no more than one
+ * chunk is buffered per subscription. Cancelling the subscription stops the rendering at the next
+ * chunk.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class TemplatePublisher implements Flow.Publisher<ByteBuffer> {
+
+  /**
+   * A subscription and the output stream of the rendering task.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static class RenderSubscription extends OutputStream
+      implements Flow.Subscription, Runnable {
+
+    /** The template. */
+    private final Template template;
+
+    /** The model. */
+    private final Object model;
+
+    /** True, for early flush. */
+    private final boolean earlyFlush;
+
+    /** The executor. */
+    private final Executor executor;
+
+    /** The subscriber. */
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+    /** True, once the rendering task has been submitted or the subscription failed. */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /** The chunk size. */
+    private final int chunkSize;
+
+    /** The current chunk. */
+    private byte[] chunk;
+
+    /** Number of bytes in the current chunk. */
+    private int count;
+
+    /** Number of chunks requested and not emitted yet. Guarded by this. */
+    private long demand;
+
+    /** True, once the subscription has been cancelled. Guarded by this. */
+    private boolean cancelled;
+
+    /** A protocol error reported by {@link #request(long)}. Guarded by this. */
+    private Throwable failure;
+
+    /** True, once a terminal signal has been sent. Guarded by this. */
+    private boolean done;
+
+    /**
+     * Creates a new {@link RenderSubscription}.
+     *
+     * @param template The template.
+     * @param model The model.
+     * @param earlyFlush True, for early flush.
+     * @param executor The executor.
+     * @param chunkSize The chunk size.
+     * @param subscriber The subscriber.
+     */
+    RenderSubscription(
+        final Template template,
+        final Object model,
+        final boolean earlyFlush,
+        final Executor executor,
+        final int chunkSize,
+        final Flow.Subscriber<? super ByteBuffer> subscriber) {
+      this.template = template;
+      this.model = model;
+      this.earlyFlush = earlyFlush;
+      this.executor = executor;
+      this.chunkSize = chunkSize;
+      this.chunk = new byte[chunkSize];
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(final long n) {
+      boolean failed;
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        if (n <= 0) {
+          failure = new IllegalArgumentException("Request must be greater than zero, found: " + n);
+          cancelled = true;
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+        failed = failure != null;
+        notifyAll();
+      }
+      if (started.compareAndSet(false, true)) {
+        if (failed) {
+          terminate(null);
+        } else {
+          try {
+            executor.execute(this);
+          } catch (RuntimeException x) {
+            terminate(x);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (this) {
+        cancelled = true;
+        notifyAll();
+      }
+    }
+
+    @Override
+    public void run() {
+      Context context = Context.newContext(model);
+      try {
+        if (earlyFlush) {
+          FlushHelper.enable(context);
+        }
+        template.write(context, this);
+        flush();
+        terminate(null);
+      } catch (Throwable x) {
+        terminate(x);
+      } finally {
+        context.destroy();
+      }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      chunk[count++] = (byte) b;
+      if (count == chunkSize) {
+        flush();
+      }
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+      int from = offset;
+      int remaining = length;
+      while (remaining > 0) {
+        int size = Math.min(remaining, chunkSize - count);
+        System.arraycopy(bytes, from, chunk, count, size);
+        count += size;
+        from += size;
+        remaining -= size;
+        if (count == chunkSize) {
+          flush();
+        }
+      }
+    }
+
+    /** Emit the current chunk, once the subscriber asks for it. */
+    @Override
+    public void flush() throws IOException {
+      if (count == 0) {
+        return;
+      }
+      synchronized (this) {
+        try {
+          while (demand == 0 && !cancelled) {
+            wait();
+          }
+        } catch (InterruptedException x) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Rendering was interrupted while waiting for demand");
+        }
+        if (cancelled) {
+          throw new CancellationException("Subscription cancelled");
+        }
+        demand -= 1;
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, count);
+      chunk = new byte[chunkSize];
+      count = 0;
+      subscriber.onNext(buffer);
+    }
+
+    /**
+     * Send a terminal signal, unless the subscription has been cancelled.
+     *
+     * @param cause The rendering error or <code>null</code>.
+     */
+    private void terminate(final Throwable cause) {
+      Throwable error;
+      synchronized (this) {
+        if (done || (cancelled && failure == null)) {
+          done = true;
+          return;
+        }
+        done = true;
+        error = failure == null ? cause : failure;
+      }
+      if (error == null) {
+        subscriber.onComplete();
+      } else {
+        subscriber.onError(error);
+      }
+    }
+  }
+
+  /** Default chunk size. */
+  public static final int CHUNK_SIZE = 8192;
+
+  /** The template. */
+  private final Template template;
+
+  /** The model. */
+  private final Object model;
+
+  /** True, for early flush. */
+  private final boolean earlyFlush;
+
+  /** The executor. */
+  private final Executor executor;
+
+  /** The chunk size. */
+  private final int chunkSize;
+
+  /**
+   * Creates a new {@link TemplatePublisher}.
+   *
+   * @param template The template. Required.
+   * @param model The model. May be null, must not be a {@link Context}.
+   * @param earlyFlush True, to turn on early flush (see {@link FlushHelper}).
+   * @param executor Executor for the rendering tasks. Required.
+   * @param chunkSize Max size of emitted chunks. Must be greater than zero.
+   */
+  public TemplatePublisher(
+      final Template template,
+      final Object model,
+      final boolean earlyFlush,
+      final Executor executor,
+      final int chunkSize) {
+    this.template = notNull(template, "The template is required.");
+    isTrue(
+        !(model instanceof Context),
+        "The model must not be a context, a new context is created per subscription.");
+    this.model = model;
+    this.earlyFlush = earlyFlush;
+    this.executor = notNull(executor, "The executor is required.");
+    isTrue(chunkSize > 0, "Chunk size must be greater than zero, found: %s", chunkSize);
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Creates a new {@link TemplatePublisher}.
+   *
+   * @param template The template. Required.
+   * @param model The model. May be null, must not be a {@link Context}.
+   * @param earlyFlush True, to turn on early flush (see {@link FlushHelper}).
+   * @param executor Executor for the rendering tasks. Required.
+   */
+  public TemplatePublisher(
+      final Template template,
+      final Object model,
+      final boolean earlyFlush,
+      final Executor executor) {
+    this(template, model, earlyFlush, executor, CHUNK_SIZE);
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+    notNull(subscriber, "The subscriber is required.");
+    subscriber.onSubscribe(
+        new RenderSubscription(template, model, earlyFlush, executor, chunkSize, subscriber));
+  }
+}
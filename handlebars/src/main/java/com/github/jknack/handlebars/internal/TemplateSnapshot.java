@@ -0,0 +1,683 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.PathCompiler;
+import com.github.jknack.handlebars.TagType;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * A compact binary representation of a compiled template tree. A snapshot keeps the nodes built
+ * by the parser (text, variables, blocks, partials, params, hash, delimiters and positions) and
+ * loads them back without running the lexer or the parser.
+ *
+ * <p>Helpers, decorators and value paths are resolved again while loading, against the given
+ * {@link Handlebars} object, like the parser does. Snapshots are versioned: a snapshot written by
+ * a different format version is rejected with an {@link IOException}.
+ *
+ * @author edgar
+ * @since 4.5.5
+ * @see com.github.jknack.handlebars.cache.SnapshotParserFactory
+ */
+public final class TemplateSnapshot {
+
+  /** File signature. */
+  private static final int MAGIC = 0x48425354;
+
+  /** Format version. Increment on any format change. */
+  public static final int VERSION = 1;
+
+  /** {@link Template#EMPTY}. */
+  private static final byte EMPTY = 0;
+
+  /** {@link TemplateList}. */
+  private static final byte LIST = 1;
+
+  /** {@link Text}. */
+  private static final byte TEXT = 2;
+
+  /** {@link Variable}. */
+  private static final byte VAR = 3;
+
+  /** {@link VarDecorator}. */
+  private static final byte VAR_DECORATOR = 4;
+
+  /** {@link Block}. */
+  private static final byte BLOCK = 5;
+
+  /** {@link BlockDecorator}. */
+  private static final byte BLOCK_DECORATOR = 6;
+
+  /** {@link IfBlock}. */
+  private static final byte IF_BLOCK = 7;
+
+  /** {@link WithBlock}. */
+  private static final byte WITH_BLOCK = 8;
+
+  /** {@link Partial}. */
+  private static final byte PARTIAL = 9;
+
+  /** <code>null</code>. */
+  private static final byte NULL = 10;
+
+  /** {@link StrParam}. */
+  private static final byte STR_PARAM = 0;
+
+  /** {@link RefParam}. */
+  private static final byte REF_PARAM = 1;
+
+  /** {@link VarParam}. */
+  private static final byte VAR_PARAM = 2;
+
+  /** {@link DefParam} with an int value. */
+  private static final byte INT_PARAM = 3;
+
+  /** {@link DefParam} with a double value. */
+  private static final byte DOUBLE_PARAM = 4;
+
+  /** {@link DefParam} with a boolean value. */
+  private static final byte BOOLEAN_PARAM = 5;
+
+  /** Not used. */
+  private TemplateSnapshot() {}
+
+  /**
+   * Write a snapshot of a template created by {@link HbsParserFactory} or {@link
+   * com.github.jknack.handlebars.LinkingParserFactory}.
+   *
+   * @param template The template. Required.
+   * @param output The output stream. Required.
+   * @throws IOException If the output fails.
+   * @throws IllegalArgumentException If the template tree has nodes not created by the parser.
+   */
+  public static void write(final Template template, final OutputStream output)
+      throws IOException {
+    notNull(template, "The template is required.");
+    notNull(output, "The output is required.");
+    Template root = template;
+    while (root instanceof ForwardingTemplate) {
+      // instrumentation and infinite loop detection, applied again on load
+      root = ((ForwardingTemplate) root).delegate();
+    }
+    DataOutputStream out = new DataOutputStream(output);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    writeNode(out, root);
+    out.flush();
+  }
+
+  /**
+   * Load a template snapshot.
+   *
+   * @param handlebars The handlebars object. Required.
+   * @param source The template source. Required.
+   * @param input The input stream. Required.
+   * @return A template.
+   * @throws IOException If the input fails or isn't a snapshot of this version.
+   */
+  public static Template read(
+      final Handlebars handlebars, final TemplateSource source, final InputStream input)
+      throws IOException {
+    notNull(handlebars, "The handlebars is required.");
+    notNull(source, "The template source is required.");
+    notNull(input, "The input is required.");
+    DataInputStream in = new DataInputStream(input);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a template snapshot: " + source);
+    }
+    int version = in.readInt();
+    if (version != VERSION) {
+      throw new IOException(
+          "Unsupported template snapshot version: " + version + ", expected: " + VERSION);
+    }
+    Template template = new Reader(handlebars, source, in).node();
+    if (!handlebars.infiniteLoops() && template instanceof BaseTemplate) {
+      template = TemplateBuilder.infiniteLoop(source, (BaseTemplate) template);
+    }
+    return template;
+  }
+
+  /**
+   * Write a template node.
+   *
+   * @param out The output.
+   * @param template The template node.
+   * @throws IOException If the output fails.
+   */
+  private static void writeNode(final DataOutputStream out, final Template template)
+      throws IOException {
+    if (template == null) {
+      out.writeByte(NULL);
+    } else if (template == Template.EMPTY) {
+      out.writeByte(EMPTY);
+    } else if (template instanceof TemplateList) {
+      TemplateList list = (TemplateList) template;
+      out.writeByte(LIST);
+      writePosition(out, list);
+      out.writeBoolean(list.linked());
+      out.writeInt(list.size());
+      for (Template node : list) {
+        writeNode(out, node);
+      }
+    } else if (template instanceof Text) {
+      Text text = (Text) template;
+      String escapeChar = text.escapeChar();
+      out.writeByte(TEXT);
+      writePosition(out, text);
+      writeString(out, text.text().substring(escapeChar.length()));
+      writeString(out, escapeChar);
+    } else if (template instanceof Variable) {
+      Variable var = (Variable) template;
+      boolean decorator = var instanceof VarDecorator;
+      out.writeByte(decorator ? VAR_DECORATOR : VAR);
+      writePosition(out, var);
+      writeString(out, var.name);
+      writeString(out, var.type.name());
+      writeParams(out, var.params);
+      writeHash(out, var.hash);
+      writeString(out, var.text());
+      writeString(out, var.startDelimiter());
+      writeString(out, var.endDelimiter());
+      if (decorator) {
+        out.writeBoolean(((VarDecorator) var).root());
+      }
+    } else if (template instanceof Block) {
+      writeBlock(out, (Block) template);
+    } else if (template instanceof InlinedPartial) {
+      // inlined again on load
+      writeNode(out, ((InlinedPartial) template).partial());
+    } else if (template instanceof Partial) {
+      Partial partial = (Partial) template;
+      out.writeByte(PARTIAL);
+      writePosition(out, partial);
+      writeNode(out, partial.path());
+      writeString(out, partial.context());
+      writeHash(out, partial.hash);
+      writeString(out, partial.text());
+      out.writeBoolean(partial.decorate());
+      writeNode(out, partial.partial());
+      writeString(out, partial.indent());
+      writeString(out, partial.startDelimiter());
+      writeString(out, partial.endDelimiter());
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported template: " + template.getClass().getName());
+    }
+  }
+
+  /**
+   * Write a block node.
+   *
+   * @param out The output.
+   * @param block The block node.
+   * @throws IOException If the output fails.
+   */
+  private static void writeBlock(final DataOutputStream out, final Block block)
+      throws IOException {
+    if (block instanceof BlockDecorator) {
+      out.writeByte(BLOCK_DECORATOR);
+    } else if (block instanceof IfBlock) {
+      out.writeByte(IF_BLOCK);
+    } else if (block instanceof WithBlock) {
+      out.writeByte(WITH_BLOCK);
+    } else if (block.getClass() == Block.class) {
+      out.writeByte(BLOCK);
+    } else {
+      throw new IllegalArgumentException("Unsupported template: " + block.getClass().getName());
+    }
+    writePosition(out, block);
+    writeString(out, block.name);
+    out.writeBoolean(block.inverted());
+    writeString(out, block.type());
+    writeParams(out, block.params);
+    writeHash(out, block.hash);
+    out.writeInt(block.blockParams.size());
+    for (String blockParam : block.blockParams) {
+      writeString(out, blockParam);
+    }
+    writeString(out, block.text());
+    writeString(out, block.startDelimiter());
+    writeString(out, block.endDelimiter());
+    if (block instanceof BlockDecorator) {
+      out.writeBoolean(((BlockDecorator) block).root());
+    } else if (block instanceof IfBlock) {
+      out.writeBoolean(((IfBlock) block).unless());
+    }
+    writeNode(out, block.body);
+    writeString(out, block.inverseLabel());
+    if (block.inverseLabel() != null) {
+      writeNode(out, block.inverse);
+    }
+  }
+
+  /**
+   * Write a param list.
+   *
+   * @param out The output.
+   * @param params The param list.
+   * @throws IOException If the output fails.
+   */
+  private static void writeParams(final DataOutputStream out, final List<Param> params)
+      throws IOException {
+    out.writeInt(params.size());
+    for (Param param : params) {
+      writeParam(out, param);
+    }
+  }
+
+  /**
+   * Write a hash.
+   *
+   * @param out The output.
+   * @param hash The hash.
+   * @throws IOException If the output fails.
+   */
+  private static void writeHash(final DataOutputStream out, final Map<String, Param> hash)
+      throws IOException {
+    out.writeInt(hash.size());
+    for (Map.Entry<String, Param> entry : hash.entrySet()) {
+      writeString(out, entry.getKey());
+      writeParam(out, entry.getValue());
+    }
+  }
+
+  /**
+   * Write a param.
+   *
+   * @param out The output.
+   * @param param The param.
+   * @throws IOException If the output fails.
+   */
+  private static void writeParam(final DataOutputStream out, final Param param)
+      throws IOException {
+    if (param instanceof StrParam) {
+      out.writeByte(STR_PARAM);
+      writeString(out, param.toString());
+    } else if (param instanceof RefParam && ((RefParam) param).text() != null) {
+      out.writeByte(REF_PARAM);
+      writeString(out, ((RefParam) param).text());
+    } else if (param instanceof VarParam) {
+      out.writeByte(VAR_PARAM);
+      writeNode(out, ((VarParam) param).fn);
+    } else if (param instanceof DefParam) {
+      Object value = ((DefParam) param).value();
+      if (value instanceof Integer) {
+        out.writeByte(INT_PARAM);
+        out.writeInt((Integer) value);
+      } else if (value instanceof Double) {
+        out.writeByte(DOUBLE_PARAM);
+        out.writeDouble((Double) value);
+      } else if (value instanceof Boolean) {
+        out.writeByte(BOOLEAN_PARAM);
+        out.writeBoolean((Boolean) value);
+      } else {
+        throw new IllegalArgumentException("Unsupported param: " + value);
+      }
+    } else {
+      throw new IllegalArgumentException("Unsupported param: " + param);
+    }
+  }
+
+  /**
+   * Write the position of a node.
+   *
+   * @param out The output.
+   * @param template The node.
+   * @throws IOException If the output fails.
+   */
+  private static void writePosition(final DataOutputStream out, final BaseTemplate template)
+      throws IOException {
+    out.writeInt(template.line);
+    out.writeInt(template.column);
+  }
+
+  /**
+   * Write a string. Unlike {@link DataOutputStream#writeUTF(String)}, there is no length limit.
+   *
+   * @param out The output.
+   * @param value The string or <code>null</code>.
+   * @throws IOException If the output fails.
+   */
+  private static void writeString(final DataOutputStream out, final String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Rebuild template nodes from a snapshot.
+   *
+   * @author edgar
+   * @since 4.5.5
+   */
+  private static final class Reader {
+
+    /** The handlebars object. */
+    private final Handlebars handlebars;
+
+    /** The template source. */
+    private final TemplateSource source;
+
+    /** The input. */
+    private final DataInputStream in;
+
+    /**
+     * Creates a new {@link Reader}.
+     *
+     * @param handlebars The handlebars object.
+     * @param source The template source.
+     * @param in The input.
+     */
+    Reader(final Handlebars handlebars, final TemplateSource source, final DataInputStream in) {
+      this.handlebars = handlebars;
+      this.source = source;
+      this.in = in;
+    }
+
+    /**
+     * Read a template node.
+     *
+     * @return A template node or <code>null</code>.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    Template node() throws IOException {
+      byte kind = in.readByte();
+      switch (kind) {
+        case NULL:
+          return null;
+        case EMPTY:
+          return Template.EMPTY;
+        case LIST:
+          return list();
+        case TEXT:
+          return text();
+        case VAR:
+        case VAR_DECORATOR:
+          return var(kind);
+        case BLOCK:
+        case BLOCK_DECORATOR:
+        case IF_BLOCK:
+        case WITH_BLOCK:
+          return block(kind);
+        case PARTIAL:
+          return partial();
+        default:
+          throw new IOException("Corrupted template snapshot: " + source);
+      }
+    }
+
+    /**
+     * Read a template list.
+     *
+     * @return A template list.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Template list() throws IOException {
+      int line = in.readInt();
+      int column = in.readInt();
+      boolean linked = in.readBoolean();
+      int size = in.readInt();
+      TemplateList list = new TemplateList(handlebars);
+      position(list, line, column);
+      for (int i = 0; i < size; i++) {
+        list.add(node());
+      }
+      if (linked) {
+        list.link();
+      }
+      return list;
+    }
+
+    /**
+     * Read a text node.
+     *
+     * @return A text node.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Template text() throws IOException {
+      int line = in.readInt();
+      int column = in.readInt();
+      String text = string();
+      String escapeChar = string();
+      return position(new Text(handlebars, text, escapeChar), line, column);
+    }
+
+    /**
+     * Read a variable node.
+     *
+     * @param kind Node kind.
+     * @return A variable node.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Variable var(final byte kind) throws IOException {
+      int line = in.readInt();
+      int column = in.readInt();
+      String name = string();
+      TagType type = TagType.valueOf(string());
+      List<Param> params = params();
+      Map<String, Param> hash = hash();
+      String text = string();
+      String startDelimiter = string();
+      String endDelimiter = string();
+      Variable var;
+      if (kind == VAR_DECORATOR) {
+        var = new VarDecorator(handlebars, name, type, params, hash, in.readBoolean(), text);
+      } else {
+        var = new Variable(handlebars, name, type, params, hash, text);
+      }
+      var.startDelimiter(startDelimiter).endDelimiter(endDelimiter);
+      position(var, line, column);
+      return var;
+    }
+
+    /**
+     * Read a block node.
+     *
+     * @param kind Node kind.
+     * @return A block node.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Block block(final byte kind) throws IOException {
+      int line = in.readInt();
+      int column = in.readInt();
+      String name = string();
+      boolean inverted = in.readBoolean();
+      String type = string();
+      List<Param> params = params();
+      Map<String, Param> hash = hash();
+      int size = in.readInt();
+      List<String> blockParams = size == 0 ? Collections.emptyList() : new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        blockParams.add(string());
+      }
+      String text = string();
+      String startDelimiter = string();
+      String endDelimiter = string();
+      Block block;
+      switch (kind) {
+        case BLOCK_DECORATOR:
+          block =
+              new BlockDecorator(
+                  handlebars, name, inverted, params, hash, blockParams, in.readBoolean(), text);
+          break;
+        case IF_BLOCK:
+          block = new IfBlock(handlebars, name, type, params, in.readBoolean(), text);
+          break;
+        case WITH_BLOCK:
+          block = new WithBlock(handlebars, name, type, params, text);
+          break;
+        default:
+          block = new Block(handlebars, name, inverted, type, params, hash, blockParams, text);
+          break;
+      }
+      block.startDelimiter(startDelimiter).endDelimiter(endDelimiter);
+      position(block, line, column);
+      Template body = node();
+      if (body != null) {
+        block.body(body);
+      }
+      String inverseLabel = string();
+      if (inverseLabel != null) {
+        block.inverse(inverseLabel, node());
+      }
+      return block;
+    }
+
+    /**
+     * Read a partial node.
+     *
+     * @return A partial node.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Template partial() throws IOException {
+      int line = in.readInt();
+      int column = in.readInt();
+      Template path = node();
+      String context = string();
+      Map<String, Param> hash = hash();
+      String text = string();
+      boolean decorate = in.readBoolean();
+      Template fn = node();
+      String indent = string();
+      String startDelimiter = string();
+      String endDelimiter = string();
+      Partial partial =
+          new Partial(handlebars, path, context, hash, text)
+              .setDecorate(decorate)
+              .setPartial(fn)
+              .startDelimiter(startDelimiter)
+              .endDelimiter(endDelimiter)
+              .indent(indent);
+      position(partial, line, column);
+      if (handlebars.inlinePartials()
+          && !decorate
+          && path instanceof Text
+          && context == null
+          && hash.isEmpty()) {
+        return InlinedPartial.inline(handlebars, partial, path.text(), indent);
+      }
+      return partial;
+    }
+
+    /**
+     * Read a param list.
+     *
+     * @return A param list.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private List<Param> params() throws IOException {
+      int size = in.readInt();
+      if (size == 0) {
+        return Collections.emptyList();
+      }
+      List<Param> params = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        params.add(param());
+      }
+      return params;
+    }
+
+    /**
+     * Read a hash.
+     *
+     * @return A hash.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Map<String, Param> hash() throws IOException {
+      int size = in.readInt();
+      if (size == 0) {
+        return Collections.emptyMap();
+      }
+      Map<String, Param> hash = new LinkedHashMap<>();
+      for (int i = 0; i < size; i++) {
+        String name = string();
+        hash.put(name, param());
+      }
+      return hash;
+    }
+
+    /**
+     * Read a param.
+     *
+     * @return A param.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private Param param() throws IOException {
+      byte kind = in.readByte();
+      switch (kind) {
+        case STR_PARAM:
+          return new StrParam(string());
+        case REF_PARAM:
+          String text = string();
+          return new RefParam(
+              text, PathCompiler.compileNew(text, handlebars.parentScopeResolution()));
+        case VAR_PARAM:
+          Template fn = node();
+          if (!(fn instanceof Variable)) {
+            throw new IOException("Corrupted template snapshot: " + source);
+          }
+          return new VarParam((Variable) fn);
+        case INT_PARAM:
+          return new DefParam(in.readInt());
+        case DOUBLE_PARAM:
+          return new DefParam(in.readDouble());
+        case BOOLEAN_PARAM:
+          return new DefParam(in.readBoolean());
+        default:
+          throw new IOException("Corrupted template snapshot: " + source);
+      }
+    }
+
+    /**
+     * Set filename and position of a node.
+     *
+     * @param template The node.
+     * @param line The line.
+     * @param column The column.
+     * @return The node.
+     */
+    private BaseTemplate position(final BaseTemplate template, final int line, final int column) {
+      return template.filename(source.filename()).position(line, column);
+    }
+
+    /**
+     * Read a string.
+     *
+     * @return A string or <code>null</code>.
+     * @throws IOException If the input fails or is corrupted.
+     */
+    private String string() throws IOException {
+      int length = in.readInt();
+      if (length < 0) {
+        return null;
+      }
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+}
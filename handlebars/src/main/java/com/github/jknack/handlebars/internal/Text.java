@@ -5,8 +5,11 @@
  */
 package com.github.jknack.handlebars.internal;
 
+import static org.apache.commons.lang3.Validate.notNull;
+
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.Charset;
 
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
@@ -20,11 +23,20 @@ import com.github.jknack.handlebars.Handlebars;
 class Text extends BaseTemplate {
 
   /** The plain text. Required. */
-  private final StringBuilder text;
+  private String text;
 
   /** The escape's char or empty. */
   private final String escapeChar;
 
+  /** Text appended while parsing, until {@link #join()} or <code>null</code>. */
+  private StringBuilder joined;
+
+  /** The charset of {@link #bytes}. */
+  private final Charset charset;
+
+  /** The plain text encoded with {@link #charset}, created on first byte output. */
+  private volatile byte[] bytes;
+
   /**
    * Creates a new {@link Text}.
    *
@@ -34,8 +46,9 @@ class Text extends BaseTemplate {
    */
   Text(final Handlebars handlebars, final String text, final String escapeChar) {
     super(handlebars);
-    this.text = new StringBuilder(text);
+    this.text = notNull(text, "The text is required.");
     this.escapeChar = escapeChar;
+    this.charset = handlebars.getCharset();
   }
 
   /**
@@ -50,23 +63,69 @@ class Text extends BaseTemplate {
 
   @Override
   public String text() {
-    return escapeChar + text.toString();
+    return escapeChar + text;
+  }
+
+  /**
+   * The escape char or empty.
+   *
+   * @return The escape char or empty.
+   */
+  String escapeChar() {
+    return escapeChar;
   }
 
   @Override
   protected void merge(final Context scope, final Writer writer) throws IOException {
-    writer.write(text.toString());
+    write(writer);
   }
 
   /**
-   * Merges the content of the given {@link Text} instance into this instance.
+   * Write the text content, without escape char. Pre-encoded bytes are used when the writer
+   * is (or writes straight into) a {@link ByteWriter} with the same charset. The text is encoded
+   * on first use, so only byte output pays for the encoded copy.
+   *
+   * @param writer The writer.
+   * @throws IOException If the output fails.
+   */
+  void write(final Writer writer) throws IOException {
+    Writer target = writer instanceof SlotWriter ? ((SlotWriter) writer).current() : writer;
+    if (target instanceof ByteWriter) {
+      ByteWriter out = (ByteWriter) target;
+      if (out.charset().equals(charset)) {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+          bytes = text.getBytes(charset);
+          this.bytes = bytes;
+        }
+        out.write(bytes);
+        return;
+      }
+    }
+    writer.write(text);
+  }
+
+  /**
+   * Merges the content of the given {@link Text} instance into this instance. Call {@link #join()}
+   * once done.
    *
    * @param other the {@link Text} instance to merge with this instance;
    *               if null or contains no text, no action is taken
    */
   public void append(final Text other) {
     if (other != null && other.text != null) {
-      this.text.append(other.text);
+      if (joined == null) {
+        joined = new StringBuilder(text);
+      }
+      joined.append(other.text);
+    }
+  }
+
+  /** Finish merging text appended with {@link #append(Text)}. */
+  void join() {
+    if (joined != null) {
+      text = joined.toString();
+      joined = null;
     }
   }
 }
@@ -54,6 +54,15 @@ public class VarDecorator extends Variable {
     this.root = root;
   }
 
+  /**
+   * True, if this is top level decorator.
+   *
+   * @return True, if this is top level decorator.
+   */
+  boolean root() {
+    return root;
+  }
+
   @Override
   protected void postInit() {
     this.decorator = handlebars.decorator(name);
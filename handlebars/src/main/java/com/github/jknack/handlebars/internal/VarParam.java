@@ -6,6 +6,7 @@
 package com.github.jknack.handlebars.internal;
 
 import java.io.IOException;
+import java.util.concurrent.CompletionStage;
 
 import com.github.jknack.handlebars.Context;
 
@@ -31,7 +32,11 @@ public class VarParam implements Param {
 
   @Override
   public Object apply(final Context context) throws IOException {
-    return this.fn.value(context, new FastStringWriter());
+    Object value = this.fn.value(context, new FastStringWriter());
+    if (value instanceof CompletionStage) {
+      return SlotWriter.join((CompletionStage<?>) value);
+    }
+    return value;
   }
 
   @Override
@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.EscapingStrategy;
@@ -90,7 +91,7 @@ class Variable extends HelperResolver {
       final String source) {
     super(handlebars);
     this.name = name.trim();
-    this.path = PathCompiler.compile(name, handlebars.parentScopeResolution());
+    this.path = PathCompiler.compileNew(name, handlebars.parentScopeResolution());
     this.type = type;
     this.emptyVar = empty(this);
     params(params);
@@ -120,8 +121,16 @@ class Variable extends HelperResolver {
   @Override
   protected void merge(final Context scope, final Writer writer) throws IOException {
     Object value = value(scope, writer);
+    if (value instanceof CompletionStage) {
+      CompletionStage<?> pending = (CompletionStage<?>) value;
+      if (writer instanceof SlotWriter) {
+        ((SlotWriter) writer).reserve(this, pending, it -> formatAndEscape(it, formatter));
+        return;
+      }
+      value = SlotWriter.join(pending);
+    }
     if (value != null) {
-      writer.append(formatAndEscape(value, formatter));
+      formatAndEscape(value, formatter, writer);
     }
   }
 
@@ -158,7 +167,7 @@ class Variable extends HelperResolver {
               BPARAMS,
               writer);
       options.data(Context.PARAM_SIZE, this.params.size());
-      return helper.apply(determineContext(scope), options);
+      return call(helper, determineContext(scope), options);
     } else {
       Object value = scope.get(path);
       if (value == null) {
@@ -176,7 +185,7 @@ class Variable extends HelperResolver {
                   BPARAMS,
                   writer);
           options.data(Context.PARAM_SIZE, this.params.size());
-          value = missing.apply(determineContext(scope), options);
+          value = call(missing, determineContext(scope), options);
         }
       }
       if (value instanceof Lambda) {
@@ -235,6 +244,26 @@ class Variable extends HelperResolver {
     return escapedString;
   }
 
+  /**
+   * Format and escape a var (if need it) and write the result to the writer.
+   *
+   * @param value The variable's value.
+   * @param formatter Formatter to use.
+   * @param writer The writer.
+   * @throws IOException If something goes wrong.
+   */
+  protected void formatAndEscape(
+      final Object value, final Formatter.Chain formatter, final Writer writer)
+      throws IOException {
+    Object formatted = formatter.format(value);
+    String formattedString = formatted.toString();
+    if (formatted instanceof Handlebars.SafeString) {
+      writer.append(formattedString);
+    } else {
+      escapingStrategy.escape(formattedString, writer);
+    }
+  }
+
   @Override
   public String text() {
     return source;
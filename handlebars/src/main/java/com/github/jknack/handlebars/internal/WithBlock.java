@@ -0,0 +1,78 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.helper.WithHelper;
+
+/**
+ * A linked version of the built-in {@link WithHelper} block. The selected branch is written
+ * straight to the output using the new scope.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+class WithBlock extends Block {
+
+  /**
+   * Creates a new {@link WithBlock}.
+   *
+   * @param handlebars The handlebars object.
+   * @param name The block's name.
+   * @param type Block type: <code>#</code> or <code>else</code>.
+   * @param params The parameter list. Must have a single parameter.
+   * @param source The block source.
+   */
+  WithBlock(
+      final Handlebars handlebars,
+      final String name,
+      final String type,
+      final List<Param> params,
+      final String source) {
+    super(
+        handlebars,
+        name,
+        false,
+        type,
+        params,
+        Collections.emptyMap(),
+        Collections.emptyList(),
+        source);
+  }
+
+  @Override
+  protected void merge(final Context context, final Writer writer) throws IOException {
+    Object value = transform(params.get(0).apply(context));
+    Template template = Handlebars.Utils.isEmpty(value, false) ? inverse : body;
+    if (template != null) {
+      template.apply(wrap(context, value), writer);
+    }
+  }
+
+  /**
+   * Creates a new scope for the given value, unless the value is the current scope.
+   *
+   * @param context The current scope.
+   * @param value The new scope value.
+   * @return A scope for the given value.
+   */
+  private static Context wrap(final Context context, final Object value) {
+    if (value == context.model() || value == context) {
+      return context;
+    }
+    if (value instanceof Context) {
+      return (Context) value;
+    }
+    return Context.newContext(context, value);
+  }
+}
@@ -8,6 +8,8 @@ package com.github.jknack.handlebars.internal.path;
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.PathExpression;
 import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.internal.CompositeValueResolver;
+import com.github.jknack.handlebars.internal.InlineCache;
 
 /**
  * Resolve property paths.
@@ -23,6 +25,9 @@ public class PropertyPath implements PathExpression {
   /** True, if we want to restrict lookup to current scope. */
   private boolean local;
 
+  /** Remember how this property was resolved per context class. */
+  private final InlineCache cache = new InlineCache();
+
   /**
    * A new {@link PropertyPath}.
    *
@@ -37,7 +42,13 @@ public class PropertyPath implements PathExpression {
   @Override
   public Object eval(
       final ValueResolver resolver, final Context ctx, final Object data, final Chain chain) {
-    return chain.next(resolver, ctx, resolver.resolve(data, name));
+    Object value;
+    if (resolver instanceof CompositeValueResolver) {
+      value = ((CompositeValueResolver) resolver).resolve(data, name, cache);
+    } else {
+      value = resolver.resolve(data, name);
+    }
+    return chain.next(resolver, ctx, value);
   }
 
   @Override
@@ -0,0 +1,176 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.io;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Find the templates available from a {@link TemplateLoader}. Supported loaders are:
+ *
+ * <ul>
+ *   <li>{@link FileTemplateLoader}: every file under the base directory with the loader suffix.
+ *   <li>{@link ClassPathTemplateLoader}: every resource under the prefix with the loader suffix,
+ *       from directories and jar files. Jar files are scanned only when the prefix isn't the
+ *       classpath root.
+ *   <li>{@link CompositeTemplateLoader}: the templates of all the delegates.
+ * </ul>
+ *
+ * Other loaders have no templates.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public final class TemplateScanner {
+
+  /** The logging system. */
+  private static final Logger logger = LoggerFactory.getLogger(TemplateScanner.class);
+
+  /** Not used. */
+  private TemplateScanner() {}
+
+  /**
+   * Find the templates available from a {@link TemplateLoader}.
+   *
+   * @param loader The template loader. Required.
+   * @return Template locations, like the ones accepted by {@link TemplateLoader#sourceAt(String)}.
+   * @throws IOException If a directory or jar file can't be read.
+   */
+  public static Set<String> scan(final TemplateLoader loader) throws IOException {
+    notNull(loader, "The loader is required.");
+    Set<String> locations = new TreeSet<>();
+    scan(loader, locations);
+    return locations;
+  }
+
+  /**
+   * Find the templates available from a {@link TemplateLoader}.
+   *
+   * @param loader The template loader.
+   * @param locations Template locations.
+   * @throws IOException If a directory or jar file can't be read.
+   */
+  private static void scan(final TemplateLoader loader, final Set<String> locations)
+      throws IOException {
+    if (loader instanceof FileTemplateLoader) {
+      Path basedir = Paths.get(loader.getPrefix());
+      if (Files.isDirectory(basedir)) {
+        directory(basedir, loader.getSuffix(), locations);
+      }
+    } else if (loader instanceof ClassPathTemplateLoader) {
+      classpath(loader, locations);
+    } else if (loader instanceof CompositeTemplateLoader) {
+      for (TemplateLoader delegate : ((CompositeTemplateLoader) loader).getDelegates()) {
+        scan(delegate, locations);
+      }
+    } else {
+      logger.debug("Unable to list templates of: {}", loader);
+    }
+  }
+
+  /**
+   * Find templates in the classpath.
+   *
+   * @param loader The classpath template loader.
+   * @param locations Template locations.
+   * @throws IOException If a directory or jar file can't be read.
+   */
+  private static void classpath(final TemplateLoader loader, final Set<String> locations)
+      throws IOException {
+    String prefix = loader.getPrefix();
+    String dir = prefix.replaceAll("^/+|/+$", "");
+    ClassLoader classLoader = loader.getClass().getClassLoader();
+    Enumeration<URL> resources = classLoader.getResources(dir);
+    while (resources.hasMoreElements()) {
+      URL resource = resources.nextElement();
+      if ("file".equals(resource.getProtocol())) {
+        try {
+          directory(Paths.get(resource.toURI()), loader.getSuffix(), locations);
+        } catch (URISyntaxException ex) {
+          logger.debug("Unable to list templates of: {}", resource, ex);
+        }
+      } else if (!dir.isEmpty()) {
+        URLConnection connection = resource.openConnection();
+        if (connection instanceof JarURLConnection) {
+          connection.setUseCaches(false);
+          try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+            jar(jar, dir + "/", loader.getSuffix(), locations);
+          }
+        } else {
+          logger.debug("Unable to list templates of: {}", resource);
+        }
+      }
+    }
+  }
+
+  /**
+   * Find templates in a directory.
+   *
+   * @param basedir The base directory.
+   * @param suffix The template suffix.
+   * @param locations Template locations.
+   * @throws IOException If the directory can't be read.
+   */
+  private static void directory(
+      final Path basedir, final String suffix, final Set<String> locations) throws IOException {
+    try (Stream<Path> files = Files.walk(basedir)) {
+      files
+          .filter(Files::isRegularFile)
+          .map(file -> basedir.relativize(file).toString().replace('\\', '/'))
+          .forEach(path -> add(path, suffix, locations));
+    }
+  }
+
+  /**
+   * Find templates in a jar file.
+   *
+   * @param jar The jar file.
+   * @param dir The directory inside the jar file, ends with <code>/</code>.
+   * @param suffix The template suffix.
+   * @param locations Template locations.
+   */
+  private static void jar(
+      final JarFile jar, final String dir, final String suffix, final Set<String> locations) {
+    Enumeration<JarEntry> entries = jar.entries();
+    while (entries.hasMoreElements()) {
+      JarEntry entry = entries.nextElement();
+      String name = entry.getName();
+      if (!entry.isDirectory() && name.startsWith(dir)) {
+        add(name.substring(dir.length()), suffix, locations);
+      }
+    }
+  }
+
+  /**
+   * Add a template location if the path ends with the template suffix.
+   *
+   * @param path The template path, relative to the loader prefix.
+   * @param suffix The template suffix.
+   * @param locations Template locations.
+   */
+  private static void add(final String path, final String suffix, final Set<String> locations) {
+    if (path.endsWith(suffix) && path.length() > suffix.length()) {
+      locations.add(path.substring(0, path.length() - suffix.length()));
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of times (in nanoseconds). Times are counted in power of two buckets, so
+ * percentiles are approximations: the reported value is the upper bound of the bucket (never
+ * greater than {@link #max()}), at most twice the real value.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public final class Histogram {
+
+  /** Number of buckets, one per power of two. */
+  private static final int BUCKETS = Long.SIZE;
+
+  /** Buckets, the bucket <code>i</code> counts times in <code>[2^i, 2^(i+1))</code>. */
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  /** Number of recorded times. */
+  private final LongAdder count = new LongAdder();
+
+  /** Sum of recorded times. */
+  private final LongAdder total = new LongAdder();
+
+  /** Max recorded time. */
+  private final AtomicLong max = new AtomicLong();
+
+  /** Creates a new {@link Histogram}. */
+  Histogram() {}
+
+  /**
+   * Record a time.
+   *
+   * @param nanos Time in nanoseconds.
+   */
+  void record(final long nanos) {
+    long value = Math.max(0, nanos);
+    buckets.incrementAndGet(bucket(value));
+    count.increment();
+    total.add(value);
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * Number of recorded times.
+   *
+   * @return Number of recorded times.
+   */
+  public long count() {
+    return count.sum();
+  }
+
+  /**
+   * Sum of recorded times.
+   *
+   * @return Sum of recorded times, in nanoseconds.
+   */
+  public long total() {
+    return total.sum();
+  }
+
+  /**
+   * Max recorded time.
+   *
+   * @return Max recorded time, in nanoseconds.
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Mean time.
+   *
+   * @return Mean time, in nanoseconds. Zero when empty.
+   */
+  public double mean() {
+    long count = count();
+    return count == 0 ? 0 : (double) total() / count;
+  }
+
+  /**
+   * Approximated percentile.
+   *
+   * @param percentile A percentile, like <code>0.5</code> or <code>0.99</code>. Must be in (0, 1].
+   * @return The percentile time, in nanoseconds. Zero when empty.
+   */
+  public long percentile(final double percentile) {
+    isTrue(
+        percentile > 0 && percentile <= 1, "Percentile must be in (0, 1], found: %s", percentile);
+    long count = count();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile * count);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        long upper = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        return Math.min(upper, max());
+      }
+    }
+    return max();
+  }
+
+  /**
+   * Bucket of a time.
+   *
+   * @param nanos A time, in nanoseconds.
+   * @return The bucket.
+   */
+  private static int bucket(final long nanos) {
+    return nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        Locale.ROOT,
+        "count=%d, total=%s, mean=%s, p50=%s, p99=%s, max=%s",
+        count(),
+        format(total()),
+        format(mean()),
+        format(percentile(0.5)),
+        format(percentile(0.99)),
+        format(max()));
+  }
+
+  /**
+   * Format a time in milliseconds.
+   *
+   * @param nanos A time, in nanoseconds.
+   * @return A formatted time.
+   */
+  private static String format(final double nanos) {
+    return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000);
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.jknack.handlebars.RenderListener;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+/**
+ * A {@link RenderListener} that keeps in memory a {@link Histogram} of compile and render times
+ * per template, partial and helper, plus template cache counters. Usage:
+ *
+ * <pre>
+ * HistogramRenderListener metrics = new HistogramRenderListener();
+ * Handlebars handlebars = new Handlebars().with(metrics);
+ * ...
+ * Histogram header = metrics.partials().get("header");
+ * System.out.println(header.percentile(0.99));
+ * </pre>
+ *
+ * The {@link #toString()} method prints a report, sorted by total time. This class is
+ * thread-safe.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+public class HistogramRenderListener implements RenderListener {
+
+  /** Compile times per template filename. */
+  private final Map<String, Histogram> compiles = new ConcurrentHashMap<>();
+
+  /** Render times per template filename. */
+  private final Map<String, Histogram> renders = new ConcurrentHashMap<>();
+
+  /** Render times per partial name. */
+  private final Map<String, Histogram> partials = new ConcurrentHashMap<>();
+
+  /** Call times per helper name. */
+  private final Map<String, Histogram> helpers = new ConcurrentHashMap<>();
+
+  /** Template cache counters. */
+  private final Map<CacheStatus, LongAdder> cache = new EnumMap<>(CacheStatus.class);
+
+  /** Creates a new {@link HistogramRenderListener}. */
+  public HistogramRenderListener() {
+    for (CacheStatus status : CacheStatus.values()) {
+      cache.put(status, new LongAdder());
+    }
+  }
+
+  @Override
+  public void compiled(final TemplateSource source, final CacheStatus status, final long nanos) {
+    cache.get(status).increment();
+    histogram(compiles, source.filename()).record(nanos);
+  }
+
+  @Override
+  public void renderEnd(final String filename, final long nanos) {
+    histogram(renders, filename).record(nanos);
+  }
+
+  @Override
+  public void partialExit(final String name, final long nanos) {
+    histogram(partials, name).record(nanos);
+  }
+
+  @Override
+  public void helper(final String name, final long nanos) {
+    histogram(helpers, name).record(nanos);
+  }
+
+  /**
+   * Compile times per template filename. Cache hits are included.
+   *
+   * @return Compile times per template filename.
+   */
+  public Map<String, Histogram> compiles() {
+    return Collections.unmodifiableMap(compiles);
+  }
+
+  /**
+   * Render times per template filename.
+   *
+   * @return Render times per template filename.
+   */
+  public Map<String, Histogram> renders() {
+    return Collections.unmodifiableMap(renders);
+  }
+
+  /**
+   * Render times per partial name.
+   *
+   * @return Render times per partial name.
+   */
+  public Map<String, Histogram> partials() {
+    return Collections.unmodifiableMap(partials);
+  }
+
+  /**
+   * Call times per helper name.
+   *
+   * @return Call times per helper name.
+   */
+  public Map<String, Histogram> helpers() {
+    return Collections.unmodifiableMap(helpers);
+  }
+
+  /**
+   * Number of template cache lookups with the given result.
+   *
+   * @param status The cache lookup result.
+   * @return Number of template cache lookups with the given result.
+   */
+  public long cache(final CacheStatus status) {
+    return cache.get(status).sum();
+  }
+
+  /** Remove all the recorded times and counters. */
+  public void reset() {
+    compiles.clear();
+    renders.clear();
+    partials.clear();
+    helpers.clear();
+    cache.values().forEach(LongAdder::reset);
+  }
+
+  /**
+   * Find or create a histogram.
+   *
+   * @param histograms Histograms.
+   * @param name The histogram name.
+   * @return A histogram.
+   */
+  private static Histogram histogram(final Map<String, Histogram> histograms, final String name) {
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+    return histogram;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buffer = new StringBuilder();
+    buffer.append("cache: ");
+    for (CacheStatus status : CacheStatus.values()) {
+      buffer.append(status.name().toLowerCase(Locale.ROOT)).append('=');
+      buffer.append(cache(status)).append(' ');
+    }
+    buffer.setLength(buffer.length() - 1);
+    buffer.append('\n');
+    report(buffer, "compiles", compiles);
+    report(buffer, "renders", renders);
+    report(buffer, "partials", partials);
+    report(buffer, "helpers", helpers);
+    return buffer.toString();
+  }
+
+  /**
+   * Append histograms to a report, sorted by total time.
+   *
+   * @param buffer The report.
+   * @param title The section title.
+   * @param histograms Histograms.
+   */
+  private static void report(
+      final StringBuilder buffer, final String title, final Map<String, Histogram> histograms) {
+    buffer.append(title).append(":\n");
+    histograms.entrySet().stream()
+        .sorted(
+            Comparator.comparingLong(
+                    (Map.Entry<String, Histogram> entry) -> entry.getValue().total())
+                .reversed())
+        .forEach(
+            entry ->
+                buffer
+                    .append("  ")
+                    .append(entry.getKey())
+                    .append(": ")
+                    .append(entry.getValue())
+                    .append('\n'));
+  }
+}
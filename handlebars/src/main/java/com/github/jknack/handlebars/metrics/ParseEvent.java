@@ -0,0 +1,41 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted when a template is parsed. Enabled through the standard JFR
+ * settings with the <code>com.github.jknack.handlebars.Parse</code> name.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@Name("com.github.jknack.handlebars.Parse")
+@Label("Template Parse")
+@Category("Handlebars")
+@Description("Lexing and parsing of a template source")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+
+  /** The template filename. */
+  @Label("Filename")
+  private String filename;
+
+  /**
+   * Creates a new {@link ParseEvent}.
+   *
+   * @param filename The template filename.
+   */
+  public ParseEvent(final String filename) {
+    this.filename = filename;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted when a partial is rendered. Enabled through the standard JFR
+ * settings with the <code>com.github.jknack.handlebars.Partial</code> name.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@Name("com.github.jknack.handlebars.Partial")
+@Label("Partial Render")
+@Category("Handlebars")
+@Description("Rendering of a partial, including nested partials and helpers")
+@StackTrace(false)
+public final class PartialEvent extends Event {
+
+  /** The partial name. */
+  @Label("Partial")
+  private String partial;
+
+  /** The caller filename. */
+  @Label("Caller")
+  private String caller;
+
+  /**
+   * Creates a new {@link PartialEvent}.
+   *
+   * @param partial The partial name.
+   * @param caller The caller filename.
+   */
+  public PartialEvent(final String partial, final String caller) {
+    this.partial = partial;
+    this.caller = caller;
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted when a template is rendered. Partials are reported as {@link
+ * PartialEvent}. Enabled through the standard JFR settings with the <code>
+ * com.github.jknack.handlebars.Render</code> name.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@Name("com.github.jknack.handlebars.Render")
+@Label("Template Render")
+@Category("Handlebars")
+@Description("Rendering of a template, including partials and helpers")
+@StackTrace(false)
+public final class RenderEvent extends Event {
+
+  /** The template filename. */
+  @Label("Filename")
+  private String filename;
+
+  /**
+   * Creates a new {@link RenderEvent}.
+   *
+   * @param filename The template filename.
+   */
+  public RenderEvent(final String filename) {
+    this.filename = filename;
+  }
+}
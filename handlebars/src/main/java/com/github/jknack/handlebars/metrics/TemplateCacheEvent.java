@@ -0,0 +1,55 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import com.github.jknack.handlebars.RenderListener;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted on template cache lookups. Enabled through the standard JFR
+ * settings with the <code>com.github.jknack.handlebars.TemplateCache</code> name.
+ *
+ * @author edgar
+ * @since 4.5.5
+ */
+@Name("com.github.jknack.handlebars.TemplateCache")
+@Label("Template Cache")
+@Category("Handlebars")
+@Description("Template cache lookup, including parsing on cache miss or reload")
+@StackTrace(false)
+public final class TemplateCacheEvent extends Event {
+
+  /** The template filename. */
+  @Label("Filename")
+  private String filename;
+
+  /** The lookup result: HIT, MISS or RELOAD. */
+  @Label("Result")
+  private String result;
+
+  /**
+   * Creates a new {@link TemplateCacheEvent}.
+   *
+   * @param filename The template filename.
+   */
+  public TemplateCacheEvent(final String filename) {
+    this.filename = filename;
+  }
+
+  /**
+   * Set the lookup result.
+   *
+   * @param result The lookup result.
+   */
+  public void result(final RenderListener.CacheStatus result) {
+    this.result = result.name();
+  }
+}
@@ -5,8 +5,10 @@ module com.github.jknack.handlebars {
   exports com.github.jknack.handlebars.cache;
   exports com.github.jknack.handlebars.context;
   exports com.github.jknack.handlebars.helper;
+  exports com.github.jknack.handlebars.metrics;
 
   requires java.scripting;
+  requires static jdk.jfr;
   requires org.slf4j;
   requires org.apache.commons.lang3;
   requires org.apache.commons.text;
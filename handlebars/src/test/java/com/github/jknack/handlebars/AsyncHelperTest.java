@@ -0,0 +1,167 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AsyncHelperTest {
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void start() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Creates a helper that completes once all the calls have been started, so calls must overlap.
+   */
+  private Helper<Object> barrier(final int calls) {
+    CountDownLatch latch = new CountDownLatch(calls);
+    return (context, options) -> {
+      String value = context.toString();
+      return CompletableFuture.supplyAsync(
+          () -> {
+            latch.countDown();
+            try {
+              return latch.await(5, TimeUnit.SECONDS) ? value : "timeout";
+            } catch (InterruptedException x) {
+              return "interrupted";
+            }
+          },
+          executor);
+    };
+  }
+
+  @Test
+  public void concurrentCalls() throws IOException {
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper("service", barrier(8));
+    Template template =
+        handlebars.compileInline(
+            "{{service 1}},{{service 2}},{{service 3}},{{service 4}},"
+                + "{{service 5}},{{service 6}},{{service 7}},{{service 8}}");
+
+    assertEquals("1,2,3,4,5,6,7,8", template.apply(null));
+  }
+
+  @Test
+  public void concurrentCallsInsideEach() throws IOException {
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper("service", barrier(4));
+    Template template =
+        handlebars.compileInline("{{#each items}}[{{@index}}:{{service this}}]{{/each}}");
+
+    assertEquals(
+        "[0:a][1:b][2:c][3:d]", template.apply(Map.of("items", Arrays.asList("a", "b", "c", "d"))));
+  }
+
+  @Test
+  public void resultsAreFormattedAndEscaped() throws IOException {
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper(
+        "async", (context, options) -> CompletableFuture.completedFuture(context));
+    handlebars.registerHelper(
+        "safe",
+        (context, options) ->
+            CompletableFuture.completedFuture(new Handlebars.SafeString("<i>safe</i>")));
+    handlebars.registerHelper(
+        "nothing", (context, options) -> CompletableFuture.completedFuture(null));
+    Template template =
+        handlebars.compileInline("{{async value}}|{{{async value}}}|{{safe}}|{{nothing}}|end");
+
+    assertEquals("&lt;b&gt;|<b>|<i>safe</i>||end", template.apply(Map.of("value", "<b>")));
+  }
+
+  @Test
+  public void outputStream() throws IOException {
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper(
+        "async",
+        (context, options) -> CompletableFuture.supplyAsync(() -> context + "ñ", executor));
+    Template template = handlebars.compileInline("á {{async 1}} é {{async 2}} í");
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    template.write(null, output);
+    assertEquals("á 1ñ é 2ñ í", output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void blockHelper() throws IOException {
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper(
+        "async",
+        (context, options) -> {
+          CharSequence body = options.fn();
+          return CompletableFuture.supplyAsync(() -> "<" + body + ">", executor);
+        });
+    Template template = handlebars.compileInline("{{#async}}{{name}}{{/async}}!");
+
+    assertEquals("<x>!", template.apply(Map.of("name", "x")));
+  }
+
+  @Test
+  public void subexpression() throws IOException {
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper(
+        "async", (context, options) -> CompletableFuture.supplyAsync(() -> "x", executor));
+    handlebars.registerHelper("upper", (context, options) -> context.toString().toUpperCase());
+    Template template = handlebars.compileInline("{{upper (async)}}");
+
+    assertEquals("X", template.apply(null));
+  }
+
+  @Test
+  public void blockingByDefault() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    assertFalse(handlebars.asyncHelpers());
+    handlebars.registerHelper(
+        "async",
+        (context, options) -> CompletableFuture.supplyAsync(() -> context + "!", executor));
+    Template template =
+        handlebars.compileInline("{{async 1}} {{#each items}}{{async this}}{{/each}}");
+
+    assertEquals("1! a!b!", template.apply(Map.of("items", Arrays.asList("a", "b"))));
+  }
+
+  @Test
+  public void failure() throws IOException {
+    IllegalStateException cause = new IllegalStateException("intentional");
+    Handlebars handlebars = new Handlebars().asyncHelpers(true);
+    handlebars.registerHelper(
+        "async", (context, options) -> CompletableFuture.failedFuture(cause));
+    Template template = handlebars.compileInline("line 1\n{{async}}");
+
+    HandlebarsException x = assertThrows(HandlebarsException.class, () -> template.apply(null));
+    assertSame(cause, x.getCause());
+    assertEquals(2, x.getError().line);
+    assertTrue(x.getMessage().contains("intentional"), x.getMessage());
+  }
+}
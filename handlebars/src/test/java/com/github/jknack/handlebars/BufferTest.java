@@ -0,0 +1,73 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+public class BufferTest extends AbstractTest {
+
+  @Test
+  public void nestedEach() throws IOException {
+    shouldCompileTo(
+        "{{#each rows}}[{{#each this}}{{#if @first}}{{else}},{{/if}}{{.}}{{/each}}]{{/each}}",
+        $("rows", asList(asList(1, 2), asList(3), Collections.emptyList())),
+        "[1,2][3][]");
+  }
+
+  @Test
+  public void eachWithBlockParams() throws IOException {
+    shouldCompileTo(
+        "{{#each items as |item i|}}{{i}}:{{item}} {{else}}empty{{/each}}",
+        $("items", asList("a", "b")),
+        "0:a 1:b ");
+    shouldCompileTo(
+        "{{#each items as |item i|}}{{i}}:{{item}} {{else}}empty{{/each}}",
+        $("items", Collections.emptyList()),
+        "empty");
+  }
+
+  @Test
+  public void userHelperWritesIntoBuffer() throws IOException {
+    Hash helpers =
+        $(
+            "twice",
+            (Helper<Object>)
+                (context, options) -> {
+                  Options.Buffer buffer = options.buffer();
+                  options.fn(context, buffer);
+                  buffer.append("|");
+                  return options.fn(context, buffer);
+                });
+    shouldCompileTo(
+        "{{#twice person}}{{#with this}}{{name}}{{/with}}{{/twice}}",
+        $("person", $("name", "edgar")),
+        helpers,
+        "edgar|edgar");
+  }
+
+  @Test
+  public void inMemoryBuffer() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Template fn = handlebars.compileInline("{{#each this}}{{.}}{{/each}}");
+    Template inverse = handlebars.compileInline("none");
+    Options options =
+        new Options.Builder(handlebars, "test", TagType.SECTION, Context.newContext("x"), fn)
+            .setInverse(inverse)
+            .build();
+    Options.Buffer buffer = options.buffer();
+    assertTrue(buffer instanceof Options.InMemoryBuffer);
+    options.fn(asList("a", "b", "c"), buffer);
+    options.inverse(null, buffer);
+    assertEquals("abcnone", buffer.toString());
+  }
+}
@@ -8,6 +8,7 @@ package com.github.jknack.handlebars;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -203,6 +204,36 @@ public class ContextTest {
     assertEquals("child2", child2.get("this"));
   }
 
+  @Test
+  public void data() {
+    Context root = Context.newContext("root");
+    assertEquals("root", root.data("root"));
+    assertNull(root.data(Context.CALLEE));
+    assertNotNull(root.data(Context.PARTIALS));
+    assertNotNull(root.data(Context.INVOCATION_STACK));
+    assertEquals(1, ((List<?>) root.data(Context.INLINE_PARTIALS)).size());
+
+    Context child = Context.newContext(root, "child");
+    child.data(Context.PARAM_SIZE, 2).data("custom", "value");
+    assertEquals(2, (int) root.data(Context.PARAM_SIZE));
+    assertEquals("value", root.data("custom"));
+    assertEquals("value", child.get("custom"));
+    assertEquals("root", child.get("@root"));
+
+    child.data("custom", null).data(Context.PARAM_SIZE, null);
+    assertNull(root.data("custom"));
+    assertNull(root.data(Context.PARAM_SIZE));
+  }
+
+  @Test
+  public void combineCreatesExtendedContext() {
+    Context root = Context.newContext("root");
+    assertNull(root.get("name"));
+    root.combine("name", "value");
+    assertEquals("value", root.get("name"));
+    assertEquals("value", Context.newContext(root, "child").get("name"));
+  }
+
   public void testCombineGenerics() {
 
     Context.newBuilder("blah").combine(new HashMap<String, String>());
@@ -0,0 +1,111 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class EachIterationTest extends AbstractTest {
+
+  @Test
+  public void loopVariables() throws IOException {
+    shouldCompileTo(
+        "{{#each this}}{{@index}}{{@key}}{{@first}}{{@last}}"
+            + "{{@odd}}{{@even}}{{@index_1}}|{{/each}}",
+        asList("a", "b", "c"),
+        "00firsteven1|11odd2|22lasteven3|");
+  }
+
+  @Test
+  public void base() throws IOException {
+    shouldCompileTo(
+        "{{#each this base=1}}{{@index}}{{@first}}{{@even}},{{/each}}",
+        asList("a", "b"),
+        "1first,2even,");
+  }
+
+  @Test
+  public void propertyVariables() throws IOException {
+    Map<String, Object> hash = new LinkedHashMap<>();
+    hash.put("a", 1);
+    hash.put("b", 2);
+    shouldCompileTo(
+        "{{#each this}}{{@key}}={{.}}:{{@index}}{{@first}}{{@last}}{{@odd}}{{@index_1}},{{/each}}",
+        hash,
+        "a=1:0first,b=2:1last,");
+  }
+
+  @Test
+  public void parentAccess() throws IOException {
+    shouldCompileTo(
+        "{{#each rows}}{{#each this}}{{../name}}{{@../index}}{{@index}}{{.}} {{/each}}{{/each}}",
+        $("rows", asList(asList("a", "b"), asList("c")), "name", "r"),
+        "r00a r01b r10c ");
+  }
+
+  @Test
+  public void blockParams() throws IOException {
+    shouldCompileTo(
+        "{{#each rows as |row i|}}{{#each row as |cell j|}}{{i}}.{{j}}={{cell}} {{/each}}{{/each}}",
+        $("rows", asList(asList("a", "b"), asList("c"))),
+        "0.0=a 0.1=b 1.0=c ");
+  }
+
+  @Test
+  public void combinedValuesDontLeakIntoNextElement() throws IOException {
+    Hash helpers =
+        $(
+            "mark",
+            (Helper<Object>)
+                (context, options) -> {
+                  options.context.combine("marked", context);
+                  return null;
+                });
+    shouldCompileTo(
+        "{{#each this}}{{#if @first}}{{mark .}}{{/if}}[{{marked}}]{{/each}}",
+        asList("a", "b"),
+        helpers,
+        "[a][]");
+  }
+
+  @Test
+  public void partialsSeeLoopVariables() throws IOException {
+    shouldCompileToWithPartials(
+        "{{#each this}}{{> item}}{{/each}}",
+        asList($("name", "a"), $("name", "b")),
+        $("item", "{{@index}}:{{name}}{{#if @last}}.{{/if}} "),
+        "0:a 1:b. ");
+  }
+
+  @Test
+  public void snapshot() throws IOException {
+    List<Context> kept = new ArrayList<>();
+    Handlebars handlebars = new Handlebars();
+    handlebars.registerHelper(
+        "keep",
+        (context, options) -> {
+          kept.add(options.context.snapshot());
+          return null;
+        });
+    handlebars
+        .compileInline("{{#each items}}{{keep}}{{#with this}}{{keep}}{{/with}}{{/each}}")
+        .apply($("items", asList($("name", "a"), $("name", "b"), $("name", "c"))));
+
+    List<String> values = new ArrayList<>();
+    for (Context context : kept) {
+      values.add(context.get("name") + "/" + context.get("@index"));
+    }
+    assertEquals(asList("a/0", "a/0", "b/1", "b/1", "c/2", "c/2"), values);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class EscapingStrategyTest {
+
+  @Test
+  public void noEscapeReturnsSameValue() {
+    String value = "nothing to escape here";
+    assertSame(value, EscapingStrategy.HTML_ENTITY.escape(value));
+  }
+
+  @Test
+  public void escape() throws IOException {
+    String[][] samples = {
+      {"<a href=\"x\">", "&lt;a href&#x3D;&quot;x&quot;&gt;"},
+      {"&", "&amp;"},
+      {"'`", "&#x27;&#x60;"},
+      {"a < b", "a &lt; b"},
+      {"áé 😀 <", "áé 😀 &lt;"},
+      {"", ""}
+    };
+    for (String[] sample : samples) {
+      assertEquals(sample[1], EscapingStrategy.HTML_ENTITY.escape(sample[0]).toString());
+      StringBuilder out = new StringBuilder();
+      EscapingStrategy.HTML_ENTITY.escape(sample[0], out);
+      assertEquals(sample[1], out.toString());
+    }
+    assertEquals("a=b", EscapingStrategy.HBS3.escape("a=b"));
+  }
+
+  @Test
+  public void safeString() throws IOException {
+    Handlebars.SafeString safe = new Handlebars.SafeString("<b>");
+    assertEquals("<b>", EscapingStrategy.HTML_ENTITY.escape(safe).toString());
+    StringBuilder out = new StringBuilder();
+    EscapingStrategy.HTML_ENTITY.escape(safe, out);
+    assertEquals("<b>", out.toString());
+  }
+
+  @Test
+  public void multiCharacterKeys() throws IOException {
+    EscapingStrategy strategy = new EscapingStrategy.Hbs(Map.of("ab", "[ab]", "<", "&lt;"));
+    assertEquals("x[ab]&lt;b", strategy.escape("xab<b").toString());
+    StringBuilder out = new StringBuilder();
+    strategy.escape("xab<b", out);
+    assertEquals("x[ab]&lt;b", out.toString());
+  }
+
+  @Test
+  public void defaultEscapeToAppendable() throws IOException {
+    StringBuilder out = new StringBuilder();
+    EscapingStrategy.XML.escape("<&>", out);
+    assertEquals("&lt;&amp;&gt;", out.toString());
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.helper.FlushHelper;
+
+public class FlushHelperTest {
+
+  /** Record the content written before each flush. */
+  static class FlushWriter extends StringWriter {
+    List<String> flushes = new ArrayList<>();
+
+    @Override
+    public void flush() {
+      flushes.add(toString());
+    }
+  }
+
+  @Test
+  public void flushPoints() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("<head></head>{{flush}}<body>{{name}}</body>");
+
+    FlushWriter writer = new FlushWriter();
+    Context context = FlushHelper.enable(Context.newContext(Map.of("name", "x")));
+    template.apply(context, writer);
+    assertEquals("<head></head><body>x</body>", writer.toString());
+    assertEquals(Arrays.asList("<head></head>"), writer.flushes);
+  }
+
+  @Test
+  public void noFlushByDefault() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("<head></head>{{flush}}<body>{{name}}</body>");
+
+    FlushWriter writer = new FlushWriter();
+    template.apply(Context.newContext(Map.of("name", "x")), writer);
+    assertEquals("<head></head><body>x</body>", writer.toString());
+    assertEquals(Arrays.asList(), writer.flushes);
+
+    assertEquals("<head></head><body>x</body>", template.apply(Map.of("name", "x")));
+  }
+
+  @Test
+  public void flushAttributeIsNotHidden() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    assertEquals("now", handlebars.compileInline("{{flush}}").apply(Map.of("flush", "now")));
+  }
+
+  @Test
+  public void flushSectionIsNotHidden() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("{{#flush}}[{{this}}]{{/flush}}");
+
+    assertEquals("[a][b]", template.apply(Map.of("flush", Arrays.asList("a", "b"))));
+    assertEquals("", template.apply(Map.of("flush", false)));
+    assertEquals("", template.apply(Map.of()));
+  }
+
+  @Test
+  public void flushSection() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("<head></head>{{#flush}}<body></body>{{/flush}}");
+
+    FlushWriter writer = new FlushWriter();
+    template.apply(FlushHelper.enable(Context.newContext(null)), writer);
+    assertEquals("<head></head><body></body>", writer.toString());
+    assertEquals(Arrays.asList("<head></head>"), writer.flushes);
+  }
+
+  @Test
+  public void layoutInlinePartials() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("layout", "<title>{{> title}}</title>{{> @partial-block}}");
+    loader.define("page", "{{#> layout}}{{#*inline \"title\"}}T{{/inline}}body{{/layout}}");
+    Handlebars handlebars = new Handlebars(loader);
+
+    FlushWriter writer = new FlushWriter();
+    handlebars.compile("page").apply(FlushHelper.enable(Context.newContext(null)), writer);
+    assertEquals("<title>T</title>body", writer.toString());
+    // the block was pre-evaluated: no flush before the partial block
+    assertEquals(Arrays.asList(), writer.flushes);
+  }
+
+  @Test
+  public void noPartialBlockPreEvaluation() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("layout", "<head>{{title}}</head><body>{{> @partial-block}}</body>");
+    loader.define("page", "{{#> layout}}{{slow}}{{/layout}}");
+    Handlebars handlebars = new Handlebars(loader).preEvaluatePartialBlocks(false);
+    FlushWriter writer = new FlushWriter();
+    List<String> calls = new ArrayList<>();
+    handlebars.registerHelper(
+        "slow",
+        (context, options) -> {
+          calls.add(writer.toString());
+          return "x";
+        });
+
+    Context context = FlushHelper.enable(Context.newContext(Map.of("title", "t")));
+    handlebars.compile("page").apply(context, writer);
+    assertEquals("<head>t</head><body>x</body>", writer.toString());
+    assertEquals(Arrays.asList("<head>t</head><body>"), writer.flushes);
+    // the block runs once, after the layout prefix has been flushed
+    assertEquals(Arrays.asList("<head>t</head><body>"), calls);
+  }
+
+  @Test
+  public void flushAfterLayoutPrefix() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("layout", "<head>{{title}}</head><body>{{> @partial-block}}</body>");
+    loader.define("page", "{{#> layout}}{{name}}{{flush}}!{{/layout}}");
+    Handlebars handlebars = new Handlebars(loader).preEvaluatePartialBlocks(false);
+
+    FlushWriter writer = new FlushWriter();
+    Context context = FlushHelper.enable(Context.newContext(Map.of("title", "t", "name", "x")));
+    handlebars.compile("page").apply(context, writer);
+    assertEquals("<head>t</head><body>x!</body>", writer.toString());
+    assertEquals(Arrays.asList("<head>t</head><body>", "<head>t</head><body>x"), writer.flushes);
+  }
+
+  @Test
+  public void flushOutputStream() throws IOException {
+    List<String> flushes = new ArrayList<>();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStream output =
+        new OutputStream() {
+          @Override
+          public void write(final int b) {
+            bytes.write(b);
+          }
+
+          @Override
+          public void flush() {
+            flushes.add(bytes.toString());
+          }
+        };
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("<head></head>{{flush}}<body>{{name}}</body>");
+
+    template.write(FlushHelper.enable(Context.newContext(Map.of("name", "x"))), output);
+    assertEquals("<head></head><body>x</body>", bytes.toString());
+    assertEquals(Arrays.asList("<head></head>"), flushes);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.cache.HighConcurrencyTemplateCache;
+import com.github.jknack.handlebars.cache.TemplateCache;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+public class PartialCacheTest {
+
+  static class CountingLoader extends MapTemplateLoader {
+    List<String> calls = new ArrayList<>();
+
+    @Override
+    public TemplateSource sourceAt(final String uri) throws FileNotFoundException {
+      calls.add(uri);
+      return super.sourceAt(uri);
+    }
+  }
+
+  @Test
+  public void partialsAreResolvedOnce() throws IOException {
+    partialsAreResolvedOnce(new ConcurrentMapTemplateCache());
+    partialsAreResolvedOnce(new HighConcurrencyTemplateCache());
+  }
+
+  private void partialsAreResolvedOnce(final TemplateCache cache) throws IOException {
+    CountingLoader loader = new CountingLoader();
+    loader.define("a", "A{{name}}").define("b", "B");
+    Handlebars handlebars = new Handlebars(loader).with(cache);
+    Template template = handlebars.compileInline("{{> a}}{{> (lookup . 'which')}}");
+    for (int i = 0; i < 3; i++) {
+      assertEquals("AxB", template.apply(AbstractTest.$("name", "x", "which", "b")));
+    }
+    assertEquals(List.of("a", "b"), loader.calls);
+  }
+
+  @Test
+  public void evictReloadsPartials() throws IOException {
+    CountingLoader loader = new CountingLoader();
+    loader.define("a", "A");
+    TemplateCache cache = new ConcurrentMapTemplateCache();
+    Handlebars handlebars = new Handlebars(loader).with(cache);
+    Template template = handlebars.compileInline("{{> a}}");
+    assertEquals("A", template.apply(null));
+
+    loader.define("a", "A2");
+    assertEquals("A", template.apply(null));
+
+    cache.evict(loader.sourceAt("a"));
+    loader.calls.clear();
+    assertEquals("A2", template.apply(null));
+    assertEquals(List.of("a"), loader.calls);
+
+    loader.define("a", "A3");
+    cache.clear();
+    assertEquals("A3", template.apply(null));
+  }
+
+  @Test
+  public void reloadAlwaysUsesLoader() throws IOException {
+    CountingLoader loader = new CountingLoader();
+    loader.define("a", "A");
+    Handlebars handlebars =
+        new Handlebars(loader).with(new ConcurrentMapTemplateCache().setReload(true));
+    Template template = handlebars.compileInline("{{> a}}");
+    assertEquals("A", template.apply(null));
+    loader.define("a", "A2");
+    assertEquals("A2", template.apply(null));
+    assertEquals(List.of("a", "a"), loader.calls);
+  }
+
+  @Test
+  public void nullCacheAlwaysUsesLoader() throws IOException {
+    CountingLoader loader = new CountingLoader();
+    loader.define("a", "A");
+    Template template = new Handlebars(loader).compileInline("{{> a}}");
+    assertEquals("A", template.apply(null));
+    assertEquals("A", template.apply(null));
+    assertEquals(List.of("a", "a"), loader.calls);
+  }
+
+  @Test
+  public void infiniteLoopIsDetected() throws IOException {
+    CountingLoader loader = new CountingLoader();
+    loader.define("a", "{{#if loop}}{{> a}}{{/if}}");
+    Handlebars handlebars = new Handlebars(loader).with(new ConcurrentMapTemplateCache());
+    Template template = handlebars.compileInline("{{> a}}");
+    assertEquals("", template.apply(null));
+    try {
+      template.apply(AbstractTest.$("loop", true));
+      fail("infinite loop expected");
+    } catch (HandlebarsException ex) {
+      assertTrue(ex.getMessage().contains("infinite loop detected"));
+    }
+  }
+}
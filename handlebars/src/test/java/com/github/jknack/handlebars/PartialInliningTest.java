@@ -0,0 +1,149 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.PartialCacheTest.CountingLoader;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.cache.TemplateCache;
+
+public class PartialInliningTest {
+
+  private CountingLoader loader = new CountingLoader();
+
+  private TemplateCache cache = new ConcurrentMapTemplateCache();
+
+  private Handlebars handlebars = new Handlebars(loader).with(cache).inlinePartials(true);
+
+  @Test
+  public void inlineAtCompileTime() throws IOException {
+    loader.define("layout", "<{{> header}}|{{> footer}}>").define("header", "H:{{title}}");
+    loader.define("footer", "F:{{#each items}}{{> item}}{{/each}}");
+    loader.define("item", "{{@index}}{{name}}{{#if @last}}.{{/if}}");
+    Template template = handlebars.compileInline("{{> layout}}");
+    loader.calls.clear();
+    Object model =
+        AbstractTest.$(
+            "title",
+            "t",
+            "items",
+            asList(AbstractTest.$("name", "a"), AbstractTest.$("name", "b")));
+    for (int i = 0; i < 3; i++) {
+      assertEquals("<H:t|F:0a1b.>", template.apply(model));
+    }
+    assertEquals(List.of(), loader.calls);
+    assertEquals(runtime("{{> layout}}", model), template.apply(model));
+  }
+
+  @Test
+  public void indent() throws IOException {
+    loader.define("p", "a\nb\n");
+    for (String input : List.of("x\n  {{> p}}\ny", "x\n  {{> p}}", "  {{> p}}\n{{> p}}")) {
+      assertEquals(runtime(input, null), handlebars.compileInline(input).apply(null));
+    }
+  }
+
+  @Test
+  public void changedPartialIsInlinedAgain() throws IOException {
+    loader.define("p", "v1");
+    Template template = handlebars.compileInline("[{{> p}}]");
+    assertEquals("[v1]", template.apply(null));
+
+    loader.define("p", "v2");
+    assertEquals("[v1]", template.apply(null));
+
+    cache.evict(loader.sourceAt("p"));
+    assertEquals("[v2]", template.apply(null));
+  }
+
+  @Test
+  public void unrelatedEvictionKeepsInlinedPartial() throws IOException {
+    loader.define("p", "P").define("q", "Q");
+    Template template = handlebars.compileInline("[{{> p}}]");
+    assertEquals("[P]", template.apply(null));
+
+    cache.evict(loader.sourceAt("q"));
+    loader.calls.clear();
+    assertEquals("[P]", template.apply(null));
+    assertEquals(List.of(), loader.calls);
+  }
+
+  @Test
+  public void partialContext() throws IOException {
+    loader.define("p/item", "[{{@index}}:{{this}}:{{../title}}:{{size}}:{{@root.title}}]");
+    Object model =
+        AbstractTest.$(
+            "title",
+            "T",
+            "size",
+            "S",
+            "items",
+            asList("a", "b"),
+            "obj",
+            AbstractTest.$("title", "O"));
+    for (String input :
+        List.of(
+            "{{> p/item}}",
+            "{{#each items}}{{> p/item}}{{/each}}",
+            "{{#with obj}}{{> p/item}}{{/with}}",
+            "{{#each items}}{{#with ../obj}}{{> p/item}}{{/with}}{{/each}}")) {
+      assertEquals(runtime(input, model), handlebars.compileInline(input).apply(model), input);
+    }
+  }
+
+  @Test
+  public void inlinePartialsWin() throws IOException {
+    loader.define("p", "loader");
+    Template template = handlebars.compileInline("{{#*inline \"p\"}}inline{{/inline}}{{> p}}");
+    assertEquals("inline", template.apply(null));
+  }
+
+  @Test
+  public void recursivePartial() throws IOException {
+    loader.define("node", "{{name}}({{#each children}}{{> node}}{{/each}})");
+    handlebars.setInfiniteLoops(true);
+    Template template = handlebars.compile("node");
+    assertEquals("a(b()c(d()))", template.apply(node("a", node("b"), node("c", node("d")))));
+  }
+
+  private static Object node(final String name, final Object... children) {
+    return AbstractTest.$("name", name, "children", asList(children));
+  }
+
+  @Test
+  public void notInlinable() throws IOException {
+    loader.define("block", "[{{> @partial-block}}]");
+    loader.define("defs", "{{#*inline \"x\"}}X{{/inline}}{{> x}}");
+    loader.define("hash", "{{v}}");
+    Template template =
+        handlebars.compileInline("{{#> block}}b{{/block}}{{> defs}}{{> hash v=1}}");
+    assertEquals("[b]X1", template.apply(null));
+    assertEquals(
+        runtime("{{> defs}}{{> x}}", null),
+        handlebars.compileInline("{{> defs}}{{> x}}").apply(null));
+  }
+
+  private String runtime(final String input, final Object model) throws IOException {
+    return new Handlebars(loader).compileInline(input).apply(model);
+  }
+
+  @Test
+  public void disabledWithoutVersionedCache() throws IOException {
+    loader.define("p", "P");
+    Handlebars handlebars = new Handlebars(loader).inlinePartials(true);
+    Template template = handlebars.compileInline("{{> p}}");
+    loader.calls.clear();
+    assertEquals("P", template.apply(null));
+    assertEquals(List.of("p"), loader.calls);
+  }
+}
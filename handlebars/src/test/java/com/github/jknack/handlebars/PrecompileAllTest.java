@@ -0,0 +1,98 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.io.FileTemplateLoader;
+import com.github.jknack.handlebars.io.TemplateLoader;
+
+public class PrecompileAllTest {
+
+  @TempDir Path basedir;
+
+  @Test
+  public void precompileIntoCache() throws IOException {
+    write("home.hbs", "{{> partials/header}}home");
+    write("partials/header.hbs", "header");
+    write("broken.hbs", "{{#if}}");
+    write("notes.txt", "not a template");
+
+    TemplateLoader loader = new FileTemplateLoader(basedir.toFile());
+    Handlebars handlebars = new Handlebars(loader).with(new ConcurrentMapTemplateCache());
+    PrecompileReport report = handlebars.precompileAll(loader, location -> true);
+
+    assertEquals(List.of("home", "partials/header"), report.templates());
+    assertTrue(report.hasFailures());
+    assertEquals(List.of("broken"), List.copyOf(report.failures().keySet()));
+    assertNotNull(report.elapsed());
+    assertTrue(report.toString().contains("broken"), report.toString());
+
+    // served from cache: the parser is never called
+    for (String location : report.templates()) {
+      assertNotNull(
+          handlebars
+              .getCache()
+              .get(
+                  loader.sourceAt(location),
+                  source -> {
+                    throw new AssertionError("Not cached: " + source);
+                  }));
+    }
+    assertEquals("headerhome", handlebars.compile("home").apply(null));
+  }
+
+  @Test
+  public void filterAndCustomPool() throws IOException {
+    write("home.hbs", "home");
+    write("partials/header.hbs", "header");
+
+    TemplateLoader loader = new FileTemplateLoader(basedir.toFile());
+    Handlebars handlebars = new Handlebars(loader).with(new ConcurrentMapTemplateCache());
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      PrecompileReport report =
+          handlebars.precompileAll(loader, location -> location.startsWith("partials/"), pool);
+      assertEquals(List.of("partials/header"), report.templates());
+      assertFalse(report.hasFailures());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void nullCacheKeepsNothing() throws IOException {
+    write("home.hbs", "home");
+
+    TemplateLoader loader = new FileTemplateLoader(basedir.toFile());
+    Handlebars handlebars = new Handlebars(loader);
+    PrecompileReport report = handlebars.precompileAll(loader, location -> true);
+
+    assertEquals(List.of("home"), report.templates());
+    assertNull(handlebars.getCache().getIfPresent(loader.sourceAt("home")));
+  }
+
+  private void write(final String path, final String content) throws IOException {
+    Path file = basedir.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -100,6 +100,53 @@ public class ReflectiveHelperTest extends AbstractTest {
     return join(new Object[] {l, d, f, c, b, s}, ", ");
   }
 
+  @Test
+  public void testWideningParams() throws IOException {
+    shouldCompileTo("{{widening this 1 2 3}}", "x", "x:1:2.0:3");
+  }
+
+  public String widening(
+      final Object context, final long l, final double d, final Integer i) {
+    return context + ":" + l + ":" + d + ":" + i;
+  }
+
+  @Test
+  public void testArgumentTypeMismatch() throws IOException {
+    try {
+      shouldCompileTo("{{helperWithParams \"string\" true \"4\"}}", $, "");
+      fail("A type mismatch is expected");
+    } catch (HandlebarsException ex) {
+      assertTrue(ex.getCause() instanceof IllegalArgumentException);
+    }
+    try {
+      shouldCompileTo("{{helperWithParams \"string\" true}}", $, "");
+      fail("A type mismatch is expected");
+    } catch (HandlebarsException ex) {
+      assertTrue(ex.getCause() instanceof IllegalArgumentException);
+    }
+  }
+
+  @Test
+  public void testHelperNullPointerException() throws IOException {
+    try {
+      shouldCompileTo("{{npe}}", $, "");
+      fail("A null pointer exception is expected");
+    } catch (HandlebarsException ex) {
+      assertTrue(ex.getCause() instanceof NullPointerException);
+    }
+  }
+
+  public static String npe() {
+    throw new NullPointerException();
+  }
+
+  @Test
+  public void testVoidHelper() throws IOException {
+    shouldCompileTo("[{{voidHelper}}]", $, "[]");
+  }
+
+  public static void voidHelper() {}
+
   @Test
   public void testRuntimeException() throws IOException {
     try {
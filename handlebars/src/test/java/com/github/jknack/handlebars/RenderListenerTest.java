@@ -0,0 +1,228 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.RenderListener.CacheStatus;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.io.TemplateSource;
+import com.github.jknack.handlebars.metrics.Histogram;
+import com.github.jknack.handlebars.metrics.HistogramRenderListener;
+
+public class RenderListenerTest {
+
+  static class EventListener implements RenderListener {
+    List<String> events = new ArrayList<>();
+
+    @Override
+    public void compiled(final TemplateSource source, final CacheStatus status, final long nanos) {
+      events.add("compiled:" + source.filename() + ":" + status);
+    }
+
+    @Override
+    public void renderStart(final String filename) {
+      events.add("start:" + filename);
+    }
+
+    @Override
+    public void renderEnd(final String filename, final long nanos) {
+      events.add("end:" + filename);
+    }
+
+    @Override
+    public void partialEnter(final String name) {
+      events.add("enter:" + name);
+    }
+
+    @Override
+    public void partialExit(final String name, final long nanos) {
+      events.add("exit:" + name);
+    }
+
+    @Override
+    public void helper(final String name, final long nanos) {
+      events.add("helper:" + name);
+    }
+  }
+
+  @Test
+  public void defaultListenerIsNoop() {
+    assertSame(RenderListener.NOOP, new Handlebars().getRenderListener());
+  }
+
+  @Test
+  public void events() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("page", "{{#each items}}{{> item}}{{/each}}");
+    loader.define("item", "{{upper this}}");
+    EventListener listener = new EventListener();
+    Handlebars handlebars =
+        new Handlebars(loader)
+            .with(new ConcurrentMapTemplateCache())
+            .with(listener)
+            .registerHelper("upper", (context, options) -> context.toString().toUpperCase());
+
+    Template page = handlebars.compile("page");
+    assertEquals("AB", page.apply(Map.of("items", Arrays.asList("a", "b"))));
+    assertEquals(
+        Arrays.asList(
+            "compiled:/page.hbs:MISS",
+            "start:/page.hbs",
+            "compiled:/item.hbs:MISS",
+            "enter:item",
+            "helper:upper",
+            "exit:item",
+            "enter:item",
+            "helper:upper",
+            "exit:item",
+            "helper:each",
+            "end:/page.hbs"),
+        listener.events);
+
+    listener.events.clear();
+    handlebars.compile("page");
+    assertEquals(Arrays.asList("compiled:/page.hbs:HIT"), listener.events);
+  }
+
+  @Test
+  public void renderEndOnError() throws IOException {
+    EventListener listener = new EventListener();
+    Handlebars handlebars =
+        new Handlebars()
+            .with(listener)
+            .registerHelper(
+                "fail",
+                (context, options) -> {
+                  throw new IllegalStateException("intentional");
+                });
+
+    Template template = handlebars.compileInline("{{fail}}");
+    assertThrows(HandlebarsException.class, () -> template.apply(null));
+    String filename = template.filename();
+    assertEquals(
+        Arrays.asList(
+            "compiled:" + filename + ":MISS",
+            "start:" + filename,
+            "helper:fail",
+            "end:" + filename),
+        listener.events);
+  }
+
+  @Test
+  public void reload() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("page", "v1");
+    EventListener listener = new EventListener();
+    Handlebars handlebars =
+        new Handlebars(loader)
+            .with(new ConcurrentMapTemplateCache().setReload(true))
+            .with(listener);
+
+    assertEquals("v1", handlebars.compile("page").apply(null));
+    assertEquals("v1", handlebars.compile("page").apply(null));
+    loader.define("page", "v2");
+    assertEquals("v2", handlebars.compile("page").apply(null));
+    assertEquals(
+        Arrays.asList(
+            "compiled:/page.hbs:MISS",
+            "start:/page.hbs",
+            "end:/page.hbs",
+            "compiled:/page.hbs:HIT",
+            "start:/page.hbs",
+            "end:/page.hbs",
+            "compiled:/page.hbs:RELOAD",
+            "start:/page.hbs",
+            "end:/page.hbs"),
+        listener.events);
+  }
+
+  @Test
+  public void reloadAfterInlineTemplates() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("page", "v1");
+    EventListener listener = new EventListener();
+    Handlebars handlebars =
+        new Handlebars(loader)
+            .with(new ConcurrentMapTemplateCache().setReload(true))
+            .with(listener);
+
+    handlebars.compile("page");
+    // inline templates aren't tracked, so they don't push the page out
+    for (int i = 0; i < 2000; i++) {
+      handlebars.compileInline("inline " + i);
+    }
+    loader.define("page", "v2");
+    listener.events.clear();
+    handlebars.compile("page");
+    assertEquals(Arrays.asList("compiled:/page.hbs:RELOAD"), listener.events);
+  }
+
+  @Test
+  public void inlinedPartials() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("page", "{{> item}}");
+    loader.define("item", "item");
+    EventListener listener = new EventListener();
+    Handlebars handlebars =
+        new Handlebars(loader)
+            .with(new ConcurrentMapTemplateCache())
+            .inlinePartials(true)
+            .with(listener);
+
+    Template page = handlebars.compile("page");
+    listener.events.clear();
+    assertEquals("item", page.apply(null));
+    assertEquals(
+        Arrays.asList("start:/page.hbs", "enter:item", "exit:item", "end:/page.hbs"),
+        listener.events);
+  }
+
+  @Test
+  public void histogram() throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("page", "{{#each items}}{{> item}}{{/each}}");
+    loader.define("item", "{{this}}");
+    HistogramRenderListener metrics = new HistogramRenderListener();
+    Handlebars handlebars =
+        new Handlebars(loader).with(new ConcurrentMapTemplateCache()).with(metrics);
+
+    for (int i = 0; i < 10; i++) {
+      handlebars.compile("page").apply(Map.of("items", Arrays.asList(1, 2, 3)));
+    }
+
+    assertEquals(2, metrics.cache(CacheStatus.MISS));
+    assertEquals(9, metrics.cache(CacheStatus.HIT));
+    assertEquals(0, metrics.cache(CacheStatus.RELOAD));
+    assertEquals(10, metrics.renders().get("/page.hbs").count());
+    assertNull(metrics.renders().get("/item.hbs"));
+    assertEquals(30, metrics.partials().get("item").count());
+    assertEquals(10, metrics.helpers().get("each").count());
+
+    Histogram page = metrics.renders().get("/page.hbs");
+    assertTrue(page.total() > 0);
+    assertTrue(page.percentile(0.5) <= page.percentile(0.99));
+    assertTrue(page.percentile(0.99) <= page.max());
+    assertTrue(page.mean() <= page.max());
+    assertTrue(metrics.toString().contains("/page.hbs: count=10"), metrics.toString());
+
+    metrics.reset();
+    assertEquals(0, metrics.cache(CacheStatus.HIT));
+    assertTrue(metrics.renders().isEmpty());
+  }
+}
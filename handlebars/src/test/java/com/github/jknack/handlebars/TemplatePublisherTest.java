@@ -0,0 +1,256 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TemplatePublisherTest {
+
+  /** Collect chunks and terminal signals. */
+  static class ChunkSubscriber implements Flow.Subscriber<ByteBuffer> {
+    final long initialRequest;
+
+    Flow.Subscription subscription;
+
+    final List<String> chunks = Collections.synchronizedList(new ArrayList<>());
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    final CountDownLatch firstChunk = new CountDownLatch(1);
+
+    final CountDownLatch done = new CountDownLatch(1);
+
+    volatile boolean completed;
+
+    volatile Throwable error;
+
+    ChunkSubscriber(final long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(initialRequest);
+    }
+
+    @Override
+    public void onNext(final ByteBuffer item) {
+      byte[] chunk = new byte[item.remaining()];
+      item.get(chunk);
+      synchronized (bytes) {
+        bytes.write(chunk, 0, chunk.length);
+      }
+      chunks.add(new String(chunk, StandardCharsets.UTF_8));
+      firstChunk.countDown();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      done.countDown();
+    }
+
+    String await() throws InterruptedException {
+      assertTrue(done.await(10, TimeUnit.SECONDS), "Timeout");
+      synchronized (bytes) {
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+      }
+    }
+  }
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void start() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void publish() throws Exception {
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("{{#each items}}{{this}} ñ {{/each}}");
+    List<Integer> items = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      items.add(i);
+    }
+    Map<String, Object> model = Map.of("items", items);
+
+    ChunkSubscriber subscriber = new ChunkSubscriber(Long.MAX_VALUE);
+    template.publisher(model, executor).subscribe(subscriber);
+
+    assertEquals(template.apply(model), subscriber.await());
+    assertTrue(subscriber.completed);
+    assertNull(subscriber.error);
+    assertTrue(subscriber.chunks.size() > 1);
+  }
+
+  @Test
+  public void backpressure() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    Handlebars handlebars =
+        new Handlebars()
+            .registerHelper(
+                "item",
+                (context, options) -> {
+                  calls.incrementAndGet();
+                  return StringUtils.repeat('x', 1000);
+                });
+    Template template = handlebars.compileInline("{{#each items}}{{item}}{{/each}}");
+    Map<String, Object> model = Map.of("items", Collections.nCopies(1000, 1));
+
+    ChunkSubscriber subscriber = new ChunkSubscriber(1);
+    template.publisher(model, executor).subscribe(subscriber);
+
+    assertTrue(subscriber.firstChunk.await(10, TimeUnit.SECONDS));
+    Thread.sleep(100);
+    // rendering is waiting for demand: one chunk sent, one buffered plus the writer buffer
+    assertEquals(1, subscriber.chunks.size());
+    assertTrue(calls.get() < 30, "Rendering didn't stop: " + calls.get());
+
+    subscriber.subscription.cancel();
+    assertFalse(subscriber.done.await(100, TimeUnit.MILLISECONDS));
+    assertFalse(subscriber.completed);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void flushChunks() throws Exception {
+    Handlebars handlebars = new Handlebars();
+    Template template = handlebars.compileInline("<head></head>{{flush}}<body>{{name}}</body>");
+
+    ChunkSubscriber chunks = new ChunkSubscriber(Long.MAX_VALUE);
+    template.publisher(Map.of("name", "x"), executor, true).subscribe(chunks);
+
+    assertEquals("<head></head><body>x</body>", chunks.await());
+    assertEquals(Arrays.asList("<head></head>", "<body>x</body>"), chunks.chunks);
+
+    ChunkSubscriber noFlush = new ChunkSubscriber(Long.MAX_VALUE);
+    template.publisher(Map.of("name", "x"), executor).subscribe(noFlush);
+    noFlush.await();
+    assertEquals(Arrays.asList("<head></head><body>x</body>"), noFlush.chunks);
+  }
+
+  @Test
+  public void concurrentSubscriptions() throws Exception {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("layout", "<head></head>{{> @partial-block}}");
+    loader.define("row", "[{{this}}]");
+    loader.define(
+        "page",
+        "{{#> layout}}{{#*inline \"cell\"}}<{{this}}>{{/inline}}"
+            + "{{#each items}}{{> row}}{{> cell}}{{flush}}{{/each}}{{/layout}}");
+    Template template = new Handlebars(loader).preEvaluatePartialBlocks(false).compile("page");
+    List<Integer> items = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      items.add(i);
+    }
+    Map<String, Object> model = Map.of("items", items);
+    String expected = template.apply(model);
+    Flow.Publisher<ByteBuffer> publisher = template.publisher(model, executor, true);
+
+    List<ChunkSubscriber> subscribers = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      ChunkSubscriber subscriber = new ChunkSubscriber(Long.MAX_VALUE);
+      subscribers.add(subscriber);
+      publisher.subscribe(subscriber);
+    }
+    for (ChunkSubscriber subscriber : subscribers) {
+      assertEquals(expected, subscriber.await());
+      assertNull(subscriber.error);
+      assertEquals(201, subscriber.chunks.size());
+    }
+  }
+
+  @Test
+  public void contextIsNotAModel() throws IOException {
+    Template template = new Handlebars().compileInline("text");
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> template.publisher(Context.newContext(null), executor));
+  }
+
+  @Test
+  public void renderError() throws Exception {
+    Handlebars handlebars =
+        new Handlebars()
+            .registerHelper(
+                "fail",
+                (context, options) -> {
+                  throw new IllegalStateException("intentional");
+                });
+    Template template = handlebars.compileInline("before{{fail}}");
+
+    ChunkSubscriber subscriber = new ChunkSubscriber(Long.MAX_VALUE);
+    template.publisher(null, executor).subscribe(subscriber);
+    subscriber.await();
+
+    assertFalse(subscriber.completed);
+    assertTrue(subscriber.error instanceof HandlebarsException, String.valueOf(subscriber.error));
+  }
+
+  @Test
+  public void illegalRequest() throws Exception {
+    Template template = new Handlebars().compileInline("text");
+
+    ChunkSubscriber subscriber = new ChunkSubscriber(0);
+    template.publisher(null, executor).subscribe(subscriber);
+    assertEquals("", subscriber.await());
+
+    assertFalse(subscriber.completed);
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void resubscribe() throws IOException, InterruptedException {
+    Template template = new Handlebars().compileInline("Hello {{this}}!");
+    Flow.Publisher<ByteBuffer> publisher = template.publisher("world", executor);
+
+    for (int i = 0; i < 2; i++) {
+      ChunkSubscriber subscriber = new ChunkSubscriber(1);
+      publisher.subscribe(subscriber);
+      assertEquals("Hello world!", subscriber.await());
+      assertTrue(subscriber.completed);
+    }
+  }
+}
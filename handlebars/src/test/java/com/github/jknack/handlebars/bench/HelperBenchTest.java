@@ -0,0 +1,65 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.bench;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Helper;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.bench.Bench.Unit;
+
+public class HelperBenchTest {
+
+  public static String url(final String path, final String query) {
+    return path + "?q=" + query;
+  }
+
+  @BeforeEach
+  public void setup() {
+    assumeTrue(Boolean.valueOf(System.getProperty("run.bench")));
+  }
+
+  @Test
+  public void methodHelper() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    handlebars.registerHelpers(HelperBenchTest.class);
+    render("method helper", handlebars);
+  }
+
+  @Test
+  public void lambdaHelper() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    handlebars.registerHelper(
+        "url", (Helper<String>) (path, options) -> url(path, options.param(0)));
+    render("lambda helper", handlebars);
+  }
+
+  private void render(final String label, final Handlebars handlebars) throws IOException {
+    final Object model = new Object[] {"/search", "handlebars"};
+    final String source = "{{#each this}}{{url this 'x'}}{{/each}}";
+    final Template loop = handlebars.compileInline(source);
+    new Bench()
+        .run(
+            new Unit() {
+
+              @Override
+              public void run() throws IOException {
+                loop.apply(model);
+              }
+
+              @Override
+              public String toString() {
+                return label;
+              }
+            });
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.bench;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.bench.Bench.Unit;
+import com.github.jknack.handlebars.context.FieldValueResolver;
+import com.github.jknack.handlebars.context.JavaBeanValueResolver;
+
+public class ValueResolverBenchTest {
+
+  public static class Person {
+    public String name = "edgar";
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  /** Reflective (pre method handle) path. */
+  private static class ReflectiveJavaBeanValueResolver extends JavaBeanValueResolver {
+    @Override
+    protected Function<Object, Object> newAccessor(final Method member) {
+      return context -> invokeMember(member, context);
+    }
+  }
+
+  /** Reflective (pre method handle) path. */
+  private static class ReflectiveFieldValueResolver extends FieldValueResolver {
+    @Override
+    protected Function<Object, Object> newAccessor(final FieldWrapper member) {
+      return context -> invokeMember(member, context);
+    }
+  }
+
+  @BeforeEach
+  public void setup() {
+    assumeTrue(Boolean.valueOf(System.getProperty("run.bench")));
+  }
+
+  @Test
+  public void javaBeanReflection() throws IOException {
+    resolve("getName() reflection", new ReflectiveJavaBeanValueResolver());
+  }
+
+  @Test
+  public void javaBeanMethodHandle() throws IOException {
+    resolve("getName() method handle", JavaBeanValueResolver.INSTANCE);
+  }
+
+  @Test
+  public void fieldReflection() throws IOException {
+    resolve("name reflection", new ReflectiveFieldValueResolver());
+  }
+
+  @Test
+  public void fieldMethodHandle() throws IOException {
+    resolve("name method handle", FieldValueResolver.INSTANCE);
+  }
+
+  private void resolve(final String label, final ValueResolver resolver) throws IOException {
+    final Person person = new Person();
+    new Bench()
+        .run(
+            new Unit() {
+
+              @Override
+              public void run() throws IOException {
+                for (int i = 0; i < 1000; i++) {
+                  resolver.resolve(person, "name");
+                }
+              }
+
+              @Override
+              public String toString() {
+                return label;
+              }
+            });
+  }
+}
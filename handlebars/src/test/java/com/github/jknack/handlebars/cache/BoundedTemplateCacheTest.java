@@ -0,0 +1,197 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.HandlebarsException;
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.ForwardingTemplateSource;
+import com.github.jknack.handlebars.io.StringTemplateSource;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+public class BoundedTemplateCacheTest {
+
+  @Test
+  public void get() throws IOException {
+    TemplateSource source = new StringTemplateSource("a", "A");
+    Template template = mock(Template.class);
+    Parser parser = mock(Parser.class);
+    when(parser.parse(source)).thenReturn(template);
+
+    BoundedTemplateCache cache = new BoundedTemplateCache(10);
+    assertSame(template, cache.get(source, parser));
+    assertSame(template, cache.get(source, parser));
+    verify(parser).parse(source);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Parser parser = handlebars.getParserFactory().create(handlebars, "{{", "}}");
+    BoundedTemplateCache cache = new BoundedTemplateCache(2);
+    TemplateSource a = new StringTemplateSource("a", "A");
+    TemplateSource b = new StringTemplateSource("b", "B");
+    TemplateSource c = new StringTemplateSource("c", "C");
+
+    Template ta = cache.get(a, parser);
+    cache.get(b, parser);
+    // a is now the most recently used
+    assertSame(ta, cache.get(a, parser));
+    cache.get(c, parser);
+
+    assertEquals(2, cache.size());
+    assertSame(ta, cache.get(a, parser));
+    assertEquals(2, cache.size());
+    // b was evicted
+    Parser spy = mock(Parser.class);
+    when(spy.parse(b)).thenReturn(mock(Template.class));
+    cache.get(b, spy);
+    verify(spy).parse(b);
+  }
+
+  @Test
+  public void evictionChangesVersion() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Parser parser = handlebars.getParserFactory().create(handlebars, "{{", "}}");
+    BoundedTemplateCache cache = new BoundedTemplateCache(1);
+    TemplateSource a = new StringTemplateSource("a", "A");
+
+    cache.get(a, parser);
+    long version = cache.version();
+    cache.get(a, parser);
+    assertEquals(version, cache.version());
+    // partials resolved for this version must let a go
+    cache.get(new StringTemplateSource("b", "B"), parser);
+    assertNotEquals(version, cache.version());
+    assertNull(cache.getIfPresent(a));
+  }
+
+  @Test
+  public void weight() throws IOException {
+    Handlebars handlebars = new Handlebars();
+    Parser parser = handlebars.getParserFactory().create(handlebars, "{{", "}}");
+    BoundedTemplateCache cache = new BoundedTemplateCache(10, BoundedTemplateCache.SOURCE_LENGTH);
+    cache.get(new StringTemplateSource("a", "12345"), parser);
+    cache.get(new StringTemplateSource("b", "1234"), parser);
+    assertEquals(9, cache.weight());
+    cache.get(new StringTemplateSource("c", "123"), parser);
+    assertEquals(7, cache.weight());
+    assertEquals(2, cache.size());
+
+    cache.evict(new StringTemplateSource("c", "123"));
+    assertEquals(4, cache.weight());
+    cache.clear();
+    assertEquals(0, cache.weight());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void singleFlight() throws Exception {
+    TemplateSource source = new StringTemplateSource("a", "A");
+    Template template = mock(Template.class);
+    CountDownLatch loading = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    Parser parser =
+        s -> {
+          calls.incrementAndGet();
+          try {
+            loading.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          return template;
+        };
+    BoundedTemplateCache cache = new BoundedTemplateCache(10);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Template>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.get(source, parser)));
+      }
+      Thread.sleep(100);
+      loading.countDown();
+      for (Future<Template> result : results) {
+        assertSame(template, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void failedLoadIsNotCached() throws IOException {
+    TemplateSource source = new StringTemplateSource("a", "A");
+    Parser parser = mock(Parser.class);
+    when(parser.parse(source)).thenThrow(new IOException()).thenReturn(mock(Template.class));
+    BoundedTemplateCache cache = new BoundedTemplateCache(10);
+    assertThrows(IOException.class, () -> cache.get(source, parser));
+    cache.get(source, parser);
+    verify(parser, times(2)).parse(source);
+
+    Parser broken = mock(Parser.class);
+    TemplateSource other = new StringTemplateSource("b", "B");
+    when(broken.parse(other)).thenThrow(new HandlebarsException("broken", null));
+    assertThrows(HandlebarsException.class, () -> cache.get(other, broken));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void reload() throws IOException {
+    TemplateSource key = new StringTemplateSource("a", "A");
+    Handlebars handlebars = new Handlebars();
+    Parser parser = handlebars.getParserFactory().create(handlebars, "{{", "}}");
+    BoundedTemplateCache cache = new BoundedTemplateCache(10).setReload(true);
+    assertEquals(-1, cache.version());
+
+    // sources with the same key but a different last modified date
+    TemplateSource s1 = new ForwardingSource(key, 1L);
+    TemplateSource s2 = new ForwardingSource(key, 2L);
+    Template t1 = cache.get(s1, parser);
+    assertSame(t1, cache.get(s1, parser));
+    assertNotSame(t1, cache.get(s2, parser));
+    assertEquals(1, cache.size());
+  }
+
+  private static class ForwardingSource extends ForwardingTemplateSource {
+    private final long lastModified;
+
+    ForwardingSource(final TemplateSource source, final long lastModified) {
+      super(source);
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public long lastModified() {
+      return lastModified;
+    }
+  }
+}
@@ -6,6 +6,8 @@
 package com.github.jknack.handlebars.cache;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
@@ -58,6 +60,20 @@ public class ConcurrentMapTemplateCacheTest {
     verify(parser).parse(source);
   }
 
+  @Test
+  public void getIfPresent() throws IOException {
+    ConcurrentMapTemplateCache cache = new ConcurrentMapTemplateCache();
+    TemplateSource source =
+        new URLTemplateSource("/template.hbs", getClass().getResource("/template.hbs"));
+    Template template = mock(Template.class);
+
+    assertNull(cache.getIfPresent(source));
+    cache.get(source, it -> template);
+    assertSame(template, cache.getIfPresent(source));
+    cache.evict(source);
+    assertNull(cache.getIfPresent(source));
+  }
+
   @Test
   public void getAndReload() throws IOException, InterruptedException {
     ConcurrentMap<TemplateSource, Pair<TemplateSource, Template>> cache = new ConcurrentHashMap<>();
@@ -0,0 +1,104 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import com.github.jknack.handlebars.io.CompositeTemplateLoader;
+import com.github.jknack.handlebars.io.FileTemplateLoader;
+import com.github.jknack.handlebars.io.TemplateLoader;
+
+public class FileWatchTemplateCacheTest {
+
+  @TempDir Path basedir;
+
+  @Test
+  public void reloadModifiedTemplate() throws Exception {
+    write("home.hbs", "v1");
+    TemplateLoader loader = new FileTemplateLoader(basedir.toFile());
+    try (FileWatchTemplateCache cache =
+        new FileWatchTemplateCache(new ConcurrentMapTemplateCache(), loader)) {
+      Handlebars handlebars = new Handlebars(loader).with(cache);
+      Template template = handlebars.compile("home");
+      assertEquals("v1", template.apply(null));
+      assertSame(template, handlebars.compile("home"));
+
+      write("home.hbs", "v2");
+      await(() -> handlebars.compile("home").apply(null).equals("v2"));
+    }
+  }
+
+  @Test
+  public void reloadPartialOfCachedTemplate() throws Exception {
+    write("layout.hbs", "<{{> partials/p}}>");
+    Files.createDirectories(basedir.resolve("partials"));
+    write("partials/p.hbs", "v1");
+    TemplateLoader loader = new FileTemplateLoader(basedir.toFile());
+    try (FileWatchTemplateCache cache =
+        new FileWatchTemplateCache(new ConcurrentMapTemplateCache(), loader)) {
+      Handlebars handlebars = new Handlebars(loader).with(cache);
+      Template layout = handlebars.compile("layout");
+      assertEquals("<v1>", layout.apply(null));
+
+      write("partials/p.hbs", "v2");
+      await(() -> layout.apply(null).equals("<v2>"));
+    }
+  }
+
+  @Test
+  public void newFileInNewDirectory() throws Exception {
+    TemplateLoader loader =
+        new CompositeTemplateLoader(
+            new ClassPathTemplateLoader(), new FileTemplateLoader(basedir.toFile()));
+    try (FileWatchTemplateCache cache =
+        new FileWatchTemplateCache(new ConcurrentMapTemplateCache(), loader)) {
+      Handlebars handlebars = new Handlebars(loader).with(cache);
+      Files.createDirectories(basedir.resolve("dir"));
+      write("dir/home.hbs", "v1");
+      assertEquals("v1", handlebars.compile("dir/home").apply(null));
+
+      write("dir/home.hbs", "v2");
+      await(() -> handlebars.compile("dir/home").apply(null).equals("v2"));
+    }
+  }
+
+  @Test
+  public void fileLoaderIsRequired() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new FileWatchTemplateCache(
+                new ConcurrentMapTemplateCache(), new ClassPathTemplateLoader()));
+  }
+
+  private void write(final String path, final String content) throws IOException {
+    Files.write(basedir.resolve(path), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void await(final Callable<Boolean> condition) throws Exception {
+    long timeout = System.currentTimeMillis() + 30_000;
+    while (!condition.call()) {
+      if (System.currentTimeMillis() > timeout) {
+        throw new AssertionError("Timeout waiting for file change");
+      }
+      Thread.sleep(50);
+    }
+  }
+}
@@ -5,8 +5,13 @@
  */
 package com.github.jknack.handlebars.context;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.jupiter.api.Test;
 
 public class MethodValueResolverTest {
@@ -34,4 +39,48 @@ public class MethodValueResolverTest {
         IllegalStateException.class,
         () -> new MethodValueResolver().resolve(new ExceptionalBean(), "getCE"));
   }
+
+  public static class Bean {
+    private String secret = "field";
+
+    public String getName() {
+      return "name";
+    }
+
+    public boolean isActive() {
+      return true;
+    }
+
+    public int count() {
+      return 7;
+    }
+  }
+
+  @Test
+  public void resolveWithAccessors() {
+    Bean bean = new Bean();
+    for (int i = 0; i < 2; i++) {
+      assertEquals("name", JavaBeanValueResolver.INSTANCE.resolve(bean, "name"));
+      assertEquals(true, JavaBeanValueResolver.INSTANCE.resolve(bean, "active"));
+      assertEquals(7, MethodValueResolver.INSTANCE.resolve(bean, "count"));
+      assertEquals("field", FieldValueResolver.INSTANCE.resolve(bean, "secret"));
+      assertEquals(3, FieldValueResolver.INSTANCE.resolve(new int[3], "length"));
+      assertEquals(
+          2,
+          MethodValueResolver.INSTANCE.resolve(
+              Collections.unmodifiableList(Arrays.asList(1, 2)), "size"));
+    }
+  }
+
+  @Test
+  public void overriddenInvokeMemberIsUsed() {
+    MethodValueResolver resolver =
+        new JavaBeanValueResolver() {
+          @Override
+          protected Object invokeMember(final Method member, final Object context) {
+            return "custom:" + super.invokeMember(member, context);
+          }
+        };
+    assertEquals("custom:name", resolver.resolve(new Bean(), "name"));
+  }
 }
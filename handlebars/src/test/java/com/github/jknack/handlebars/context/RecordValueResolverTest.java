@@ -0,0 +1,90 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.ValueResolver;
+
+public class RecordValueResolverTest {
+
+  public sealed interface Shape permits Circle, Square {}
+
+  public record Circle(String name, double radius) implements Shape {}
+
+  public record Square(String name, double side) implements Shape {
+    public String label() {
+      return "[" + name + "]";
+    }
+  }
+
+  private record Secret(String value) {}
+
+  public record Empty() {}
+
+  public record Point(String x) {
+    public String getX() {
+      return "getter";
+    }
+  }
+
+  @Test
+  public void resolve() {
+    Circle circle = new Circle("c", 1.5);
+    assertEquals("c", RecordValueResolver.INSTANCE.resolve(circle, "name"));
+    assertEquals(1.5, RecordValueResolver.INSTANCE.resolve(circle, "radius"));
+    assertEquals("s", RecordValueResolver.INSTANCE.resolve(new Secret("s"), "value"));
+    assertNull(RecordValueResolver.INSTANCE.resolve(new Circle(null, 0), "name"));
+    assertSame(ValueResolver.UNRESOLVED, RecordValueResolver.INSTANCE.resolve(circle, "side"));
+    assertSame(ValueResolver.UNRESOLVED, RecordValueResolver.INSTANCE.resolve("x", "bytes"));
+    assertSame(ValueResolver.UNRESOLVED, RecordValueResolver.INSTANCE.resolve(new Empty(), "x"));
+  }
+
+  @Test
+  public void propertySet() {
+    List<String> properties = new ArrayList<>();
+    for (Entry<String, Object> entry :
+        RecordValueResolver.INSTANCE.propertySet(new Square("s", 2.0))) {
+      properties.add(entry.getKey() + "=" + entry.getValue());
+    }
+    assertEquals(List.of("name=s", "side=2.0"), properties);
+    assertEquals(2, RecordValueResolver.INSTANCE.propertySet(new Square("s", 2.0)).size());
+    assertTrue(RecordValueResolver.INSTANCE.propertySet(new Empty()).isEmpty());
+    assertTrue(RecordValueResolver.INSTANCE.propertySet(new Object()).isEmpty());
+  }
+
+  @Test
+  public void defaultResolvers() throws IOException {
+    assertTrue(ValueResolver.defaultValueResolvers().contains(RecordValueResolver.INSTANCE));
+    Template template =
+        new Handlebars()
+            .compileInline("{{#each this}}{{name}}{{radius}}{{side}}{{label}};{{/each}}");
+    List<Shape> shapes = List.of(new Circle("c", 1.0), new Square("s", 2.0), new Circle("d", 3.0));
+    for (int i = 0; i < 2; i++) {
+      assertEquals("c1.0;s2.0[s];d3.0;", template.apply(shapes));
+    }
+  }
+
+  @Test
+  public void gettersWin() throws IOException {
+    Template template = new Handlebars().compileInline("{{x}}");
+    for (int i = 0; i < 2; i++) {
+      assertEquals("getter", template.apply(new Point("component")));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.AbstractTest;
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.LinkingParserFactory;
+import com.github.jknack.handlebars.Template;
+
+public class ByteWriterTest {
+
+  @Test
+  public void writeCharsAndBytes() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteWriter writer = new ByteWriter(out, StandardCharsets.UTF_8);
+    writer.write("ñ ");
+    writer.write("über".getBytes(StandardCharsets.UTF_8));
+    writer.write('!');
+    writer.drain();
+    assertEquals("ñ über!", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void surrogatePairAcrossWrites() throws IOException {
+    String smile = "😀";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteWriter writer = new ByteWriter(out, StandardCharsets.UTF_8);
+    writer.write(smile.charAt(0));
+    writer.write(smile.charAt(1));
+    writer.drain();
+    assertEquals(smile, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void largeOutput() throws IOException {
+    String text = StringUtils.repeat("á", 10000);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteWriter writer = new ByteWriter(out, StandardCharsets.UTF_8);
+    writer.write(text);
+    writer.write(text.getBytes(StandardCharsets.UTF_8));
+    writer.flush();
+    assertEquals(text + text, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void applyToOutputStream() throws IOException {
+    Template template = new Handlebars().compileInline("Olá {{name}} 😀{{#if ok}} ñ{{/if}}");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    template.write(Context.newContext(AbstractTest.$("name", "Zoë", "ok", true)), out);
+    assertEquals("Olá Zoë 😀 ñ", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void applyToOutputStreamWithCharset() throws IOException {
+    Handlebars handlebars =
+        new Handlebars().with(new LinkingParserFactory()).setCharset(StandardCharsets.ISO_8859_1);
+    Template template = handlebars.compileInline("Olá {{name}}");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    template.write(AbstractTest.$("name", "Zoë"), out);
+    assertEquals("Olá Zoë", out.toString(StandardCharsets.ISO_8859_1));
+  }
+}
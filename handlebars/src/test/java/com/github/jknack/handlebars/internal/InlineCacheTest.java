@@ -0,0 +1,121 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.Context;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.context.FieldValueResolver;
+import com.github.jknack.handlebars.context.JavaBeanValueResolver;
+import com.github.jknack.handlebars.context.MapValueResolver;
+
+public class InlineCacheTest {
+
+  public static class A {
+    public String getName() {
+      return "a";
+    }
+  }
+
+  public static class B {
+    public String getName() {
+      return "b";
+    }
+  }
+
+  public static class C {
+    public String name = "c";
+  }
+
+  public static class D {
+    public String getName() {
+      return null;
+    }
+  }
+
+  public static class E {}
+
+  @Test
+  public void polymorphic() throws IOException {
+    Template template = new Handlebars().compileInline("{{name}}");
+    Map<String, Object> map = new HashMap<>();
+    map.put("name", "map");
+    for (int i = 0; i < 2; i++) {
+      assertEquals("a", template.apply(new A()));
+      assertEquals("b", template.apply(new B()));
+      assertEquals("map", template.apply(map));
+      assertEquals("", template.apply(new D()));
+      assertEquals("", template.apply(new E()));
+      // megamorphic
+      assertEquals("a", template.apply(new A()));
+      assertEquals("", template.apply(new C()));
+    }
+  }
+
+  @Test
+  public void resolversChange() throws IOException {
+    Template template = new Handlebars().compileInline("{{name}}");
+    assertEquals("", template.apply(new C()));
+    Context context =
+        Context.newBuilder(new C()).resolver(FieldValueResolver.INSTANCE).build();
+    assertEquals("c", template.apply(context));
+    assertEquals("", template.apply(new C()));
+  }
+
+  @Test
+  public void mapFallbackToNextResolver() throws IOException {
+    Template template = new Handlebars().compileInline("{{name}}:{{empty}}");
+    Map<String, Object> map = new HashMap<>();
+    map.put("name", "map");
+    Context context =
+        Context.newBuilder(map)
+            .resolver(MapValueResolver.INSTANCE, JavaBeanValueResolver.INSTANCE)
+            .build();
+    assertEquals("map:false", template.apply(context));
+    map.put("empty", "full");
+    assertEquals("map:full", template.apply(context));
+  }
+
+  @Test
+  public void customResolverIsNotCached() throws IOException {
+    ValueResolver counter =
+        new ValueResolver() {
+          int count;
+
+          @Override
+          public Object resolve(final Object context, final String name) {
+            return "name".equals(name) ? ++count : UNRESOLVED;
+          }
+
+          @Override
+          public Object resolve(final Object context) {
+            return UNRESOLVED;
+          }
+
+          @Override
+          public Set<Entry<String, Object>> propertySet(final Object context) {
+            return Set.of();
+          }
+        };
+    Template template = new Handlebars().compileInline("{{name}}");
+    for (int i = 1; i <= 3; i++) {
+      Context context =
+          Context.newBuilder(new A()).resolver(counter, JavaBeanValueResolver.INSTANCE).build();
+      assertEquals(String.valueOf(i), template.apply(context));
+    }
+  }
+}
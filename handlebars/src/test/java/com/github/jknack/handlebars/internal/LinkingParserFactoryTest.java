@@ -0,0 +1,108 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.AbstractTest;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.LinkingParserFactory;
+import com.github.jknack.handlebars.TagType;
+import com.github.jknack.handlebars.Template;
+
+public class LinkingParserFactoryTest extends AbstractTest {
+
+  @Override
+  protected void configure(final Handlebars handlebars) {
+    handlebars.with(new LinkingParserFactory());
+  }
+
+  @Test
+  public void text() throws IOException {
+    shouldCompileTo("Hello {{! comment }}World{{!-- other --}}!", $, "Hello World!");
+    shouldCompileTo("{{!-- only comment --}}", $, "");
+  }
+
+  @Test
+  public void variables() throws IOException {
+    shouldCompileTo(
+        "<b>{{name}}</b> {{{html}}} {{&html}}",
+        $("name", "<a>", "html", "<i>"),
+        "<b>&lt;a&gt;</b> <i> <i>");
+  }
+
+  @Test
+  public void ifBlock() throws IOException {
+    shouldCompileTo("{{#if value}}true{{else}}false{{/if}}", $("value", "x"), "true");
+    shouldCompileTo("{{#if value}}true{{else}}false{{/if}}", $("value", ""), "false");
+    shouldCompileTo("{{#if value}}true{{else}}false{{/if}}", $("value", 0), "false");
+    shouldCompileTo("{{#if value}}true{{else}}false{{/if}}", $("value", asList(1)), "true");
+    shouldCompileTo(
+        "{{#if value}}true{{else}}false{{/if}}", $("value", Collections.emptyList()), "false");
+    shouldCompileTo("{{#if value}}true{{/if}}", $("value", new Object[0]), "");
+    shouldCompileTo("{{#if value includeZero=true}}true{{/if}}", $("value", 0), "true");
+  }
+
+  @Test
+  public void elseIfChain() throws IOException {
+    String template = "{{#if a}}a{{else if b}}b{{else unless c}}!c{{else}}else{{/if}}";
+    shouldCompileTo(template, $("a", true), "a");
+    shouldCompileTo(template, $("b", true), "b");
+    shouldCompileTo(template, $("c", false), "!c");
+    shouldCompileTo(template, $("c", true), "else");
+  }
+
+  @Test
+  public void unlessBlock() throws IOException {
+    shouldCompileTo("{{#unless value}}empty{{else}}{{value}}{{/unless}}", $("value", ""), "empty");
+    shouldCompileTo("{{#unless value}}empty{{else}}{{value}}{{/unless}}", $("value", "v"), "v");
+  }
+
+  @Test
+  public void withBlock() throws IOException {
+    shouldCompileTo(
+        "{{#with person}}{{first}} {{last}} of {{../company}}{{/with}}",
+        $("person", $("first", "Alan", "last", "Johnson"), "company", "ACME"),
+        "Alan Johnson of ACME");
+    shouldCompileTo(
+        "{{#with person}}{{first}}{{else}}nobody{{/with}}", $("person", null), "nobody");
+    shouldCompileTo(
+        "{{#with person as |p|}}{{p.first}}{{/with}}",
+        $("person", $("first", "Alan")),
+        "Alan");
+  }
+
+  @Test
+  public void nestedBlocks() throws IOException {
+    shouldCompileTo(
+        "{{#each items}}{{#if @first}}[{{/if}}{{#with this}}{{name}}{{/with}}{{#unless @last}},"
+            + "{{else}}]{{/unless}}{{/each}}",
+        $("items", asList($("name", "a"), $("name", "b"), $("name", "c"))),
+        "[a,b,c]");
+  }
+
+  @Test
+  public void overriddenHelperIsNotLinked() throws IOException {
+    Handlebars handlebars = new Handlebars().with(new LinkingParserFactory());
+    handlebars.registerHelper("if", (context, options) -> "custom if");
+    Template template = handlebars.compileInline("{{#if value}}true{{/if}}");
+    assertEquals("custom if", template.apply($("value", true)));
+  }
+
+  @Test
+  public void linkedTemplates() throws IOException {
+    Template template = compile("{{#if a}}{{#with b}}{{c}}{{/with}}{{/if}}");
+    assertEquals("{{#if a}}{{#with b}}{{c}}{{/with}}{{/if}}", template.text());
+    assertEquals(asList("b", "a"), template.collectReferenceParameters());
+    assertEquals(asList("c"), template.collect(TagType.VAR));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ScriptEnginePoolTest {
+
+  @Test
+  public void createOnDemand() {
+    AtomicInteger ids = new AtomicInteger();
+    ScriptEnginePool<Integer> pool = new ScriptEnginePool<>(4, ids::incrementAndGet);
+    assertEquals(0, pool.created());
+
+    assertEquals(Integer.valueOf(1), pool.<Integer>apply(engine -> engine));
+    // idle engines are reused
+    assertEquals(Integer.valueOf(1), pool.<Integer>apply(engine -> engine));
+    assertEquals(1, pool.created());
+  }
+
+  @Test
+  public void prestart() {
+    AtomicInteger ids = new AtomicInteger();
+    ScriptEnginePool<Integer> pool = new ScriptEnginePool<>(3, ids::incrementAndGet);
+    assertEquals(3, pool.prestart());
+    assertEquals(3, pool.created());
+    // full pool: nothing to create
+    assertEquals(0, pool.prestart());
+
+    assertEquals(Integer.valueOf(1), pool.<Integer>apply(engine -> engine));
+    assertEquals(3, pool.created());
+
+    // a bigger pool creates the missing engines only
+    pool.setSize(5);
+    assertEquals(2, pool.prestart());
+    assertEquals(5, ids.get());
+  }
+
+  @Test
+  public void reentrant() {
+    ScriptEnginePool<Object> pool = new ScriptEnginePool<>(1, Object::new);
+    Object engine =
+        pool.apply(
+            outer ->
+                pool.apply(
+                    inner -> {
+                      assertSame(outer, inner);
+                      return inner;
+                    }));
+    assertSame(engine, pool.apply(e -> e));
+    assertEquals(1, pool.created());
+  }
+
+  @Test
+  public void boundedSize() throws Exception {
+    int threads = 8;
+    AtomicInteger ids = new AtomicInteger();
+    ScriptEnginePool<Integer> pool = new ScriptEnginePool<>(2, ids::incrementAndGet);
+    AtomicInteger busy = new AtomicInteger();
+    AtomicInteger maxBusy = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return pool.apply(
+                      engine -> {
+                        maxBusy.accumulateAndGet(busy.incrementAndGet(), Math::max);
+                        Thread.sleep(20);
+                        busy.decrementAndGet();
+                        return engine;
+                      });
+                }));
+      }
+      start.countDown();
+      for (Future<Integer> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(2, pool.created());
+    assertEquals(2, maxBusy.get());
+  }
+
+  @Test
+  public void factoryFailure() {
+    AtomicInteger calls = new AtomicInteger();
+    ScriptEnginePool<Object> pool =
+        new ScriptEnginePool<>(
+            1,
+            () -> {
+              if (calls.incrementAndGet() == 1) {
+                throw new IOException("boom");
+              }
+              return new Object();
+            });
+    assertThrows(IOException.class, () -> pool.apply(engine -> engine));
+    // the failed engine doesn't count
+    pool.apply(engine -> engine);
+    assertEquals(1, pool.created());
+  }
+
+  @Test
+  public void invalidSize() {
+    assertThrows(IllegalArgumentException.class, () -> new ScriptEnginePool<>(0, Object::new));
+  }
+}
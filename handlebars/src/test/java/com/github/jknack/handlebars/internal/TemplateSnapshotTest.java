@@ -0,0 +1,222 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.LinkingParserFactory;
+import com.github.jknack.handlebars.MapTemplateLoader;
+import com.github.jknack.handlebars.Parser;
+import com.github.jknack.handlebars.ParserFactory;
+import com.github.jknack.handlebars.TagType;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.SnapshotParserFactory;
+import com.github.jknack.handlebars.io.StringTemplateSource;
+import com.github.jknack.handlebars.io.TemplateSource;
+
+public class TemplateSnapshotTest {
+
+  private static final String[] TEMPLATES = {
+    "plain text",
+    "Hello {{name}}! {{{html}}} {{&html}} \\{{escaped}}",
+    "{{#if active}}on{{else if name}}{{name}}{{else}}off{{/if}}",
+    "{{^empty}}nothing{{/empty}}{{#unless active}}no{{/unless}}",
+    "{{#each items as |item i|}}{{i}}={{item.name}}{{#unless @last}},{{/unless}}{{/each}}",
+    "{{#with user}}{{name}}{{/with}}",
+    "{{lookup . 'name'}} {{lookup this \"name\"}} {{eq 1 1}} {{eq 1.5 1.5}} {{eq true false}}",
+    "{{#each items}}{{#if (eq name 'b')}}[{{name}}]{{/if}}{{/each}}",
+    "{{> partial}}|{{> partial user}}|{{> partial name='hash'}}|{{> (lookup . 'which')}}",
+    "{{#> layout}}body{{/layout}}",
+    "{{#*inline \"inl\"}}inline {{name}}{{/inline}}{{> inl}}",
+    "  {{~name~}}  \n{{! comment }}{{!-- long comment --}}after",
+    "{{=<% %>=}}<% name %> <%#items%><% name %><%/items%>",
+    "{{{{raw}}}}{{not-parsed}}{{{{/raw}}}}",
+    "{{#each items}}\n  {{name}}\n{{/each}}\n",
+  };
+
+  @Test
+  public void roundTrip() throws IOException {
+    for (boolean compile : new boolean[] {false, true}) {
+      Handlebars handlebars = handlebars(compile);
+      for (String input : TEMPLATES) {
+        TemplateSource source = new StringTemplateSource("snapshot.hbs", input);
+        Template parsed = handlebars.compile(source);
+        Template loaded = reload(handlebars, source, parsed);
+        assertEquals(parsed.text(), loaded.text(), input);
+        assertEquals(parsed.apply(model()), loaded.apply(model()), input);
+        assertEquals(
+            parsed.collect(TagType.VAR, TagType.SECTION, TagType.TRIPLE_VAR),
+            loaded.collect(TagType.VAR, TagType.SECTION, TagType.TRIPLE_VAR),
+            input);
+      }
+    }
+  }
+
+  @Test
+  public void positions() throws IOException {
+    Handlebars handlebars = handlebars(false);
+    TemplateSource source =
+        new StringTemplateSource("snapshot.hbs", "line\n  {{#if x}}{{y}}{{/if}}");
+    Template parsed = handlebars.compile(source);
+    Template loaded = reload(handlebars, source, parsed);
+    TemplateList list = (TemplateList) ((ForwardingTemplate) loaded).delegate();
+    List<Template> nodes = new ArrayList<>();
+    list.forEach(nodes::add);
+    Template block = nodes.get(1);
+    assertEquals("snapshot.hbs", block.filename());
+    assertEquals(2, block.position()[0]);
+    assertEquals(5, block.position()[1]);
+  }
+
+  @Test
+  public void rejectOtherVersions() throws IOException {
+    Handlebars handlebars = handlebars(false);
+    TemplateSource source = new StringTemplateSource("snapshot.hbs", "{{name}}");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TemplateSnapshot.write(handlebars.compile(source), out);
+    byte[] bytes = out.toByteArray();
+    bytes[7] += 1;
+    assertThrows(
+        IOException.class,
+        () -> TemplateSnapshot.read(handlebars, source, new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  public void parserFactoryUsesSnapshots(@TempDir final Path dir) throws IOException {
+    List<String> parsed = new ArrayList<>();
+    ParserFactory counting =
+        (handlebars, start, end) -> {
+          Parser parser = new HbsParserFactory().create(handlebars, start, end);
+          return source -> {
+            parsed.add(source.filename());
+            return parser.parse(source);
+          };
+        };
+
+    Handlebars h1 = handlebars(false).with(new SnapshotParserFactory(counting, dir));
+    assertEquals("Hello a", h1.compileInline("Hello {{name}}").apply(model()));
+    assertEquals(1, parsed.size());
+    assertEquals(1, Files.list(dir).count());
+
+    // a new handlebars object (a new process) loads the snapshot
+    Handlebars h2 = handlebars(false).with(new SnapshotParserFactory(counting, dir));
+    assertEquals("Hello a", h2.compileInline("Hello {{name}}").apply(model()));
+    assertEquals(1, parsed.size());
+
+    // content changed: parse again
+    assertEquals("Bye a", h2.compileInline("Bye {{name}}").apply(model()));
+    assertEquals(2, parsed.size());
+
+    // corrupted snapshots are ignored
+    try (var files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.write(file, new byte[] {1, 2, 3});
+      }
+    }
+    Handlebars h3 = handlebars(false).with(new SnapshotParserFactory(counting, dir));
+    assertEquals("Hello a", h3.compileInline("Hello {{name}}").apply(model()));
+    assertEquals(3, parsed.size());
+  }
+
+  @Test
+  public void classpathSnapshots() throws Exception {
+    List<String> parsed = new ArrayList<>();
+    ParserFactory counting =
+        (handlebars, start, end) -> {
+          Parser parser = new HbsParserFactory().create(handlebars, start, end);
+          return source -> {
+            parsed.add(source.filename());
+            return parser.parse(source);
+          };
+        };
+    // generate snapshots at "build time" into the test classpath
+    Path root = Paths.get(getClass().getResource("/").toURI());
+    Path dir = Files.createTempDirectory(root, "snapshots");
+    try {
+      Handlebars build = handlebars(false).with(new SnapshotParserFactory(counting, dir));
+      build.compileInline("Hello {{name}}");
+      assertEquals(1, parsed.size());
+
+      SnapshotParserFactory factory =
+          SnapshotParserFactory.classpath(counting, dir.getFileName().toString());
+      Handlebars handlebars = handlebars(false).with(factory);
+      String snapshot = factory.snapshotName(handlebars, "{{", "}}", "Hello {{name}}");
+      assertTrue(Files.exists(dir.resolve(snapshot)));
+      assertEquals("Hello a", handlebars.compileInline("Hello {{name}}").apply(model()));
+      assertEquals(1, parsed.size());
+
+      // no snapshot: parse, nothing is saved
+      assertEquals("Bye a", handlebars.compileInline("Bye {{name}}").apply(model()));
+      assertEquals(2, parsed.size());
+      assertEquals(1, Files.list(dir).count());
+    } finally {
+      try (var files = Files.list(dir)) {
+        for (Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(dir);
+    }
+  }
+
+  private static Template reload(
+      final Handlebars handlebars, final TemplateSource source, final Template template)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TemplateSnapshot.write(template, out);
+    return TemplateSnapshot.read(handlebars, source, new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  private static Handlebars handlebars(final boolean compile) {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("partial", "<{{name}}>");
+    loader.define("other", "other");
+    loader.define("layout", "[{{> @partial-block}}]");
+    Handlebars handlebars = new Handlebars(loader);
+    handlebars.registerHelper("eq", (a, options) -> a.equals(options.param(0)));
+    handlebars.registerHelper("raw", (context, options) -> options.fn());
+    if (compile) {
+      handlebars.with(new LinkingParserFactory());
+    }
+    return handlebars;
+  }
+
+  private static Map<String, Object> model() {
+    Map<String, Object> user = new HashMap<>();
+    user.put("name", "u");
+    List<Map<String, Object>> items = new ArrayList<>();
+    for (String name : new String[] {"a", "b"}) {
+      Map<String, Object> item = new HashMap<>();
+      item.put("name", name);
+      items.add(item);
+    }
+    Map<String, Object> model = new HashMap<>();
+    model.put("name", "a");
+    model.put("html", "<b>");
+    model.put("active", false);
+    model.put("items", items);
+    model.put("user", user);
+    model.put("which", "other");
+    return model;
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TemplateScannerTest {
+
+  @Test
+  public void fileLoader() throws IOException {
+    assertEquals(
+        Set.of("about", "base", "footer", "header", "home"),
+        TemplateScanner.scan(new FileTemplateLoader("src/test/resources/inheritance")));
+  }
+
+  @Test
+  public void classpathLoader() throws IOException {
+    assertEquals(
+        Set.of("about", "base", "footer", "header", "home"),
+        TemplateScanner.scan(new ClassPathTemplateLoader("/inheritance")));
+  }
+
+  @Test
+  public void classpathLoaderFromJar() throws IOException {
+    Set<String> locations =
+        TemplateScanner.scan(new ClassPathTemplateLoader("/org/junit/jupiter/api", ".class"));
+    assertTrue(locations.contains("Test"), locations.toString());
+    assertTrue(locations.contains("io/TempDir"), locations.toString());
+  }
+
+  @Test
+  public void compositeLoader() throws IOException {
+    assertEquals(
+        Set.of("a", "about", "b_inline", "base", "footer", "header", "home"),
+        TemplateScanner.scan(
+            new CompositeTemplateLoader(
+                new ClassPathTemplateLoader("/inheritance"),
+                new FileTemplateLoader("src/test/resources/hbs507"))));
+  }
+}
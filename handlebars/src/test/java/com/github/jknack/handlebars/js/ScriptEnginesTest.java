@@ -0,0 +1,159 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.js;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+
+public class ScriptEnginesTest {
+
+  @Test
+  public void concurrentPrecompile() throws Exception {
+    Handlebars handlebars = new Handlebars().scriptEngines(4);
+    assertEquals(4, handlebars.scriptEngines());
+    String expected = handlebars.precompileInline("Hi {{name}}!");
+
+    List<String> results = concurrently(8, () -> handlebars.precompileInline("Hi {{name}}!"));
+    for (String result : results) {
+      assertEquals(expected, result);
+    }
+  }
+
+  @Test
+  public void prestart() throws Exception {
+    Handlebars handlebars = new Handlebars().scriptEngines(2);
+    assertEquals(2, handlebars.prestartScriptEngines());
+    assertEquals(0, handlebars.prestartScriptEngines());
+
+    String expected = new Handlebars().precompileInline("Hi {{name}}!");
+    List<String> results = concurrently(4, () -> handlebars.precompileInline("Hi {{name}}!"));
+    for (String result : results) {
+      assertEquals(expected, result);
+    }
+  }
+
+  @Test
+  public void concurrentHelpers() throws Exception {
+    Handlebars handlebars = new Handlebars().scriptEngines(4);
+    handlebars.registerHelpers(
+        "helpers.js",
+        "Handlebars.registerHelper('upper', function(s) { return s.toUpperCase(); });\n"
+            + "Handlebars.registerHelper('wrap', function(s, options) {"
+            + " return '[' + options.fn(this) + ']'; });");
+    // registered after engines were created: every engine must see it
+    handlebars.registerHelpers(
+        "more.js",
+        "const suffix = '!';\n"
+            + "Handlebars.registerHelper('bang', function(s) { return s + suffix; });");
+
+    List<String> results =
+        concurrently(
+            16,
+            () ->
+                handlebars
+                    .compileInline("{{#wrap .}}{{upper .}}{{bang .}}{{/wrap}}")
+                    .apply("js"));
+    for (String result : results) {
+      assertEquals("[JSjs!]", result);
+    }
+  }
+
+  @Test
+  public void javaHelperMustOverrideScriptHelper() throws Exception {
+    Handlebars handlebars = new Handlebars();
+    handlebars.registerHelpers(
+        "helpers.js", "Handlebars.registerHelper('h', function() { return 'js'; });");
+    handlebars.registerHelper("h", (context, options) -> "java");
+    handlebars.registerHelpers(
+        "other.js", "Handlebars.registerHelper('o', function() { return 'o'; });");
+
+    assertEquals("java o", handlebars.compileInline("{{h}} {{o}}").apply(null));
+  }
+
+  @Test
+  public void invalidScriptMustNotBreakOtherHelpers() throws Exception {
+    Handlebars handlebars = new Handlebars();
+    handlebars.registerHelpers(
+        "helpers.js", "Handlebars.registerHelper('h', function() { return 'js'; });");
+    assertThrows(Exception.class, () -> handlebars.registerHelpers("bad.js", "this is not js"));
+
+    assertEquals("js", handlebars.compileInline("{{h}}").apply(null));
+  }
+
+  @Test
+  public void invalidScriptMustNotBreakConcurrentHelpers() throws Exception {
+    Handlebars handlebars = new Handlebars().scriptEngines(4);
+    handlebars.registerHelpers(
+        "helpers.js", "Handlebars.registerHelper('h', function() { return 'js'; });");
+    Template template = handlebars.compileInline("{{h}}");
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  int renders = 0;
+                  while (!done.get()) {
+                    assertEquals("js", template.apply(null));
+                    renders += 1;
+                  }
+                  return renders;
+                }));
+      }
+      for (int i = 0; i < 20; i++) {
+        assertThrows(
+            Exception.class,
+            () ->
+                handlebars.registerHelpers(
+                    "bad.js",
+                    "Handlebars.registerHelper('b', function() { return 'b'; });\n"
+                        + "notDefined();"));
+      }
+      done.set(true);
+      for (Future<Integer> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      done.set(true);
+      executor.shutdownNow();
+    }
+    assertNull(handlebars.helper("b"));
+  }
+
+  private static <T> List<T> concurrently(final int n, final Callable<T> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(n);
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < n * 4; i++) {
+        futures.add(executor.submit(task));
+      }
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get(60, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
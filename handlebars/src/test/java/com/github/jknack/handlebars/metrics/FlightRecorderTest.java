@@ -0,0 +1,92 @@
+/*
+ * Handlebars.java: https://github.com/jknack/handlebars.java
+ * Apache License Version 2.0 http://www.apache.org/licenses/LICENSE-2.0
+ * Copyright (c) 2012 Edgar Espina
+ */
+package com.github.jknack.handlebars.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.MapTemplateLoader;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
+import com.github.jknack.handlebars.internal.JfrEvents;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderTest {
+
+  @Test
+  public void events(@TempDir final Path dir) throws IOException {
+    MapTemplateLoader loader = new MapTemplateLoader();
+    loader.define("page", "{{#each items}}{{> item}}{{/each}}");
+    loader.define("item", "{{this}}");
+    Handlebars handlebars = new Handlebars(loader).with(new ConcurrentMapTemplateCache());
+
+    // compiled before recording: render events are still reported
+    Template page = handlebars.compile("page");
+
+    Path file = dir.resolve("handlebars.jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : Arrays.asList("Parse", "TemplateCache", "Render", "Partial")) {
+        recording.enable("com.github.jknack.handlebars." + name).withThreshold(null);
+      }
+      recording.start();
+      assertEquals("12", page.apply(Map.of("items", Arrays.asList(1, 2))));
+      handlebars.compile("page");
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<String> events = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      String type = event.getEventType().getName();
+      if (type.startsWith("com.github.jknack.handlebars.")) {
+        StringBuilder line = new StringBuilder(type.substring(type.lastIndexOf('.') + 1));
+        event.getFields().stream()
+            .filter(field -> field.getTypeName().equals(String.class.getName()))
+            .forEach(field -> line.append(':').append(event.getString(field.getName())));
+        events.add(line.toString());
+      }
+    }
+    events.sort(null);
+    assertEquals(
+        Arrays.asList(
+            "Parse:/item.hbs",
+            "Partial:item:/page.hbs",
+            "Partial:item:/page.hbs",
+            "Render:/page.hbs",
+            "TemplateCache:/item.hbs:MISS",
+            "TemplateCache:/page.hbs:HIT"),
+        events);
+  }
+
+  @Test
+  public void disabled() throws IOException {
+    assertEquals(false, new RenderEvent("x").isEnabled());
+    assertEquals(false, new ParseEvent("x").isEnabled());
+    assertEquals(false, new PartialEvent("x", "y").isEnabled());
+    assertEquals(false, new TemplateCacheEvent("x").isEnabled());
+    assertNull(JfrEvents.beginRender("x"));
+    assertNull(JfrEvents.beginPartial("x", "y"));
+    assertNull(JfrEvents.beginCache("x"));
+    assertNull(JfrEvents.beginParse("x"));
+    assertFalse(JfrEvents.renderEnabled());
+    Handlebars handlebars = new Handlebars();
+    assertEquals("Hi x", handlebars.compileInline("Hi {{this}}").apply("x"));
+  }
+}